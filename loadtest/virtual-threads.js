@@ -0,0 +1,111 @@
+// Platform vs virtual thread comparison for the two hottest endpoints.
+// Run once against each mode with identical settings and compare the summaries:
+//
+//   SPRING_THREADS_VIRTUAL_ENABLED=false  ->  k6 run loadtest/virtual-threads.js
+//   SPRING_THREADS_VIRTUAL_ENABLED=true   ->  k6 run loadtest/virtual-threads.js
+//
+// A login ends the user's previous session, so every VU books as its own user (USERNAME_PREFIX + VU
+// number). Missing users are registered on first use with PASSWORD.
+//
+// Open-model (arrival-rate) scenarios are used so a slower server shows up as latency and dropped
+// iterations instead of silently lowering the request rate.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const EVENT_ID = Number(__ENV.EVENT_ID || 1);
+const SEAT_ID_MIN = Number(__ENV.SEAT_ID_MIN || 1);
+const SEAT_ID_MAX = Number(__ENV.SEAT_ID_MAX || 5000);
+const USERNAME_PREFIX = __ENV.USERNAME_PREFIX || 'loadtest';
+const PASSWORD = __ENV.PASSWORD || 'loadtest123';
+const DURATION = __ENV.DURATION || '2m';
+
+const seatTaken = new Counter('reserve_seat_taken');
+
+export const options = {
+    scenarios: {
+        browse: {
+            executor: 'constant-arrival-rate',
+            exec: 'browse',
+            rate: Number(__ENV.BROWSE_RATE || 800),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+        },
+        reserve: {
+            executor: 'constant-arrival-rate',
+            exec: 'reserve',
+            rate: Number(__ENV.RESERVE_RATE || 200),
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: 100,
+            maxVUs: 1000,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{endpoint:events_public}': ['p(99)<500'],
+        'http_req_duration{endpoint:reserve}': ['p(99)<1000'],
+        'http_req_failed{endpoint:events_public}': ['rate<0.01'],
+        // 401s are not expected statuses, so a broken session shows up here instead of as a "seat taken"
+        'http_req_failed{endpoint:reserve}': ['rate<0.01'],
+    },
+};
+
+export function browse() {
+    const res = http.get(`${BASE_URL}/api/events/public?size=20`, { tags: { endpoint: 'events_public' } });
+    check(res, { 'events 200': (r) => r.status === 200 });
+}
+
+// Each VU keeps its own cookie jar, so it logs in once and reuses the session afterwards
+let loggedIn = false;
+
+function login(username) {
+    return http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username: username, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+}
+
+function ensureLoggedIn() {
+    const username = `${USERNAME_PREFIX}${__VU}`;
+    let res = login(username);
+    if (res.status === 400) {
+        http.post(`${BASE_URL}/api/auth/register`,
+            JSON.stringify({ username: username, password: PASSWORD, email: `${username}@loadtest.local`,
+                fullName: `Load Test ${__VU}` }),
+            { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'register' } });
+        res = login(username);
+    }
+    return check(res, { 'login 200': (r) => r.status === 200 });
+}
+
+export function reserve() {
+    if (!loggedIn) {
+        loggedIn = ensureLoggedIn();
+        if (!loggedIn) {
+            return;
+        }
+    }
+
+    const seatId = SEAT_ID_MIN + Math.floor(Math.random() * (SEAT_ID_MAX - SEAT_ID_MIN + 1));
+    const res = http.post(`${BASE_URL}/api/bookings/reserve`,
+        JSON.stringify({ eventId: EVENT_ID, seatId: seatId }),
+        {
+            headers: { 'Content-Type': 'application/json' },
+            tags: { endpoint: 'reserve' },
+            // A seat lost to another VU is a valid business outcome, not a transport failure
+            responseCallback: http.expectedStatuses(200, 201, 400, 409),
+        });
+    if (res.status === 400 || res.status === 409) {
+        seatTaken.add(1);
+    }
+    if (res.status === 401) {
+        loggedIn = false;
+    }
+    check(res, {
+        'reserve answered': (r) => r.status < 500,
+        'reserve authenticated': (r) => r.status !== 401,
+    });
+}
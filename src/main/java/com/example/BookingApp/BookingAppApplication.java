@@ -2,10 +2,12 @@ package com.example.BookingApp;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 @SpringBootApplication
 @EnableRedisHttpSession(maxInactiveIntervalInSeconds = 1800)
+@EnableScheduling
 public class BookingAppApplication {
 
 	public static void main(String[] args) {
@@ -1,36 +1,73 @@
 package com.example.BookingApp.audit;
 
-import lombok.extern.slf4j.Slf4j;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entityenums.AuditEventType;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDateTime;
-
+/**
+ * Denetim olaylarının giriş noktası. Kayıtlar {@link AuditPipeline} üzerinden arka planda yazılır; çağıran
+ * thread'de zaman biçimlendirme ya da G/Ç yapılmaz.
+ * <p>
+ * Rezervasyon ve ödeme geçişleri transaction commit edildikten sonra eklenir; geri alınan bir geçiş denetim
+ * kaydı bırakmaz. Değerler çağrı anında okunur, commit sonrasında lazy ilişkilere dokunulmaz.
+ */
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class AuditLogger {
-    
+
+    private final AuditPipeline auditPipeline;
+
     public void logSuccessfulLogin(Long userId, String username, String sessionId) {
-        log.info("AUDIT: Successful login - User ID: {}, Username: {}, Session: {}, Time: {}", 
-                userId, username, sessionId, LocalDateTime.now());
+        auditPipeline.append(AuditEventType.LOGIN_SUCCEEDED, userId, username, sessionId, null, null, null);
     }
-    
+
     public void logFailedLogin(String username, String reason, String clientInfo) {
-        log.warn("AUDIT: Failed login - Username: {}, Reason: {}, Client: {}, Time: {}", 
-                username, reason, clientInfo, LocalDateTime.now());
+        auditPipeline.append(AuditEventType.LOGIN_FAILED, null, username, null, null, clientInfo, reason);
     }
-    
+
     public void logSuccessfulRegistration(Long userId, String username) {
-        log.info("AUDIT: Successful registration - User ID: {}, Username: {}, Time: {}", 
-                userId, username, LocalDateTime.now());
+        auditPipeline.append(AuditEventType.REGISTRATION_SUCCEEDED, userId, username, null, null, null, null);
     }
-    
+
     public void logFailedRegistration(String username, String reason) {
-        log.warn("AUDIT: Failed registration - Username: {}, Reason: {}, Time: {}", 
-                username, reason, LocalDateTime.now());
+        auditPipeline.append(AuditEventType.REGISTRATION_FAILED, null, username, null, null, null, reason);
     }
-    
+
     public void logLogout(Long userId, String sessionId) {
-        log.info("AUDIT: User logout - User ID: {}, Session: {}, Time: {}", 
-                userId, sessionId, LocalDateTime.now());
+        auditPipeline.append(AuditEventType.LOGOUT, userId, null, sessionId, null, null, null);
+    }
+
+    public void logBookingTransition(AuditEventType type, Booking booking) {
+        Long userId = booking.getUser() != null ? booking.getUser().getId() : null;
+        String bookingReference = booking.getBookingReference();
+        String detail = booking.getGroupReference();
+        afterCommit(() -> auditPipeline.append(type, userId, null, null, bookingReference, null, detail));
+    }
+
+    public void logPaymentTransition(AuditEventType type, Payment payment) {
+        Booking booking = payment.getBooking();
+        Long userId = booking.getUser() != null ? booking.getUser().getId() : null;
+        String bookingReference = booking.getBookingReference();
+        String detail = payment.getGatewayResponse() != null
+                ? payment.getPaymentReference() + " " + payment.getGatewayResponse()
+                : payment.getPaymentReference();
+        afterCommit(() -> auditPipeline.append(type, userId, null, null, bookingReference, null, detail));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.example.BookingApp.audit;
+
+/**
+ * Halka tampon doluyken yeni kayda ne olacağı.
+ */
+public enum AuditOverflowPolicy {
+    /** Kayıt atılır ve booking.audit.dropped sayacı artar; çağıran hiç beklemez. */
+    DROP,
+    /** Çağıran yer açılana kadar (en fazla booking.audit.block-timeout-ms) bekler, sonra kayıt atılır. */
+    BLOCK,
+    /** Kayıt çağıranın thread'inde doğrudan uygulama loguna yazılır; kalıcı hedeflere ulaşmaz. */
+    LOG
+}
@@ -0,0 +1,183 @@
+package com.example.BookingApp.audit;
+
+import com.example.BookingApp.entityenums.AuditEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Denetim kayıtlarını istek thread'inden ayırır.
+ * <p>
+ * {@link #append} kaydı {@link AuditRingBuffer}'a koyar ve döner: kilit, G/Ç ya da biçimlendirme yoktur. Tek bir
+ * "audit-writer" thread'i tamponu {@code batch-size}'lık partiler halinde boşaltır ve her partiyi tüm
+ * {@link AuditSink}'lere yazar. Tampon doluysa davranışı {@link AuditOverflowPolicy} belirler. Bir hedef hata
+ * verirse o parti o hedef için kaybolur (booking.audit.sink.failures), diğer hedefler etkilenmez. Parti en az bir
+ * hedefe yazıldıysa booking.audit.written, hiçbirine yazılamadıysa booking.audit.lost sayılır.
+ */
+@Component
+@Slf4j
+public class AuditPipeline {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
+    private final AuditRingBuffer buffer;
+    private final List<AuditSink> sinks;
+    private final MeterRegistry meterRegistry;
+    private final AuditOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long pollIntervalNanos;
+    private final AuditRecord[] batch;
+    private final Timer enqueueTimer;
+    private final Counter droppedCounter;
+    private final Counter overflowLoggedCounter;
+    private final Counter writtenCounter;
+    private final Counter lostCounter;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditPipeline(List<AuditSink> sinks,
+                         MeterRegistry meterRegistry,
+                         @Value("${booking.audit.buffer-capacity:8192}") int capacity,
+                         @Value("${booking.audit.batch-size:256}") int batchSize,
+                         @Value("${booking.audit.overflow-policy:DROP}") AuditOverflowPolicy overflowPolicy,
+                         @Value("${booking.audit.block-timeout-ms:50}") long blockTimeoutMillis,
+                         @Value("${booking.audit.poll-interval-ms:10}") long pollIntervalMillis,
+                         @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.buffer = new AuditRingBuffer(capacity);
+        this.sinks = List.copyOf(sinks);
+        this.meterRegistry = meterRegistry;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        this.batch = new AuditRecord[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = new AuditRecord();
+        }
+
+        this.enqueueTimer = Timer.builder("booking.audit.enqueue")
+                .description("Time spent by callers to hand a record to the audit buffer")
+                .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("booking.audit.dropped");
+        this.overflowLoggedCounter = meterRegistry.counter("booking.audit.overflow_logged");
+        this.writtenCounter = meterRegistry.counter("booking.audit.written");
+        this.lostCounter = meterRegistry.counter("booking.audit.lost");
+        Gauge.builder("booking.audit.buffer_size", buffer, AuditRingBuffer::size).register(meterRegistry);
+
+        // Sanal thread'ler her zaman daemon'dır; boşta beklerken taşıyıcı thread tutmaz
+        this.writer = virtualThreads
+                ? Thread.ofVirtual().name("audit-writer").unstarted(this::consume)
+                : Thread.ofPlatform().name("audit-writer").daemon(true).unstarted(this::consume);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (sinks.isEmpty()) {
+            log.warn("No audit sinks are enabled; audit records will only be logged");
+        }
+        writer.start();
+    }
+
+    public void append(AuditEventType type, Long userId, String username, String sessionId,
+                       String bookingReference, String client, String detail) {
+        long start = System.nanoTime();
+        long sequence = buffer.tryClaim();
+        if (sequence < 0) {
+            sequence = claimOnOverflow(start);
+        }
+        if (sequence >= 0) {
+            buffer.slot(sequence).set(type, System.currentTimeMillis(), userId, username, sessionId,
+                    bookingReference, client, detail);
+            buffer.publish(sequence);
+        } else if (overflowPolicy == AuditOverflowPolicy.LOG) {
+            overflowLoggedCounter.increment();
+            log.warn("AUDIT: {} - User ID: {}, Username: {}, Session: {}, Booking: {}, Client: {}, Detail: {}",
+                    type, userId, username, sessionId, bookingReference, client, detail);
+        } else {
+            droppedCounter.increment();
+        }
+        enqueueTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private long claimOnOverflow(long start) {
+        if (overflowPolicy != AuditOverflowPolicy.BLOCK) {
+            return -1L;
+        }
+        long sequence;
+        while ((sequence = buffer.tryClaim()) < 0) {
+            if (System.nanoTime() - start >= blockTimeoutNanos || !running) {
+                return -1L;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return sequence;
+    }
+
+    private void consume() {
+        while (running) {
+            int count = buffer.drainTo(batch);
+            if (count == 0) {
+                LockSupport.parkNanos(pollIntervalNanos);
+            } else {
+                writeBatch(count);
+            }
+        }
+        // Kapanışta tamponda kalanlar
+        int count;
+        while ((count = buffer.drainTo(batch)) > 0) {
+            writeBatch(count);
+        }
+    }
+
+    private void writeBatch(int count) {
+        // Hedef yoksa kayıtlar loga yazılır; bu da yazılmış sayılır
+        boolean accepted = sinks.isEmpty();
+        if (sinks.isEmpty()) {
+            for (int i = 0; i < count; i++) {
+                AuditRecord record = batch[i];
+                log.info("AUDIT: {} - User ID: {}, Username: {}, Session: {}, Booking: {}, Client: {}, Detail: {}",
+                        record.getType(), record.getUserId(), record.getUsername(), record.getSessionId(),
+                        record.getBookingReference(), record.getClient(), record.getDetail());
+            }
+        }
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(batch, count);
+                accepted = true;
+            } catch (Exception e) {
+                meterRegistry.counter("booking.audit.sink.failures", "sink", sink.name()).increment(count);
+                log.error("Audit sink {} failed to write {} records: {}", sink.name(), count, e.getMessage(), e);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            batch[i].clear();
+        }
+        if (accepted) {
+            writtenCounter.increment(count);
+        } else {
+            lostCounter.increment(count);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sinks.forEach(AuditSink::close);
+    }
+}
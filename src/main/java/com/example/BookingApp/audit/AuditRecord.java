@@ -0,0 +1,73 @@
+package com.example.BookingApp.audit;
+
+import com.example.BookingApp.entityenums.AuditEventType;
+
+/**
+ * Halka tampondaki sabit düzenli denetim kaydı. Nesneler bir kez ayrılır ve yeniden kullanılır; alanlar yalnızca
+ * çağıranın zaten elinde olan değerleri (sayılar, String referansları) tutar, biçimlendirme tüketicide yapılır.
+ */
+public final class AuditRecord {
+
+    private AuditEventType type;
+    private long timestampMillis;
+    private Long userId;
+    private String username;
+    private String sessionId;
+    private String bookingReference;
+    private String client;
+    private String detail;
+
+    void set(AuditEventType type, long timestampMillis, Long userId, String username,
+             String sessionId, String bookingReference, String client, String detail) {
+        this.type = type;
+        this.timestampMillis = timestampMillis;
+        this.userId = userId;
+        this.username = username;
+        this.sessionId = sessionId;
+        this.bookingReference = bookingReference;
+        this.client = client;
+        this.detail = detail;
+    }
+
+    void copyFrom(AuditRecord other) {
+        set(other.type, other.timestampMillis, other.userId, other.username,
+                other.sessionId, other.bookingReference, other.client, other.detail);
+    }
+
+    // Referanslar bırakılsın; tampon uzun ömürlü olduğu için aksi halde String'ler tutulmaya devam eder
+    void clear() {
+        set(null, 0L, null, null, null, null, null, null);
+    }
+
+    public AuditEventType getType() {
+        return type;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getBookingReference() {
+        return bookingReference;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.BookingApp.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Çok üreticili, tek tüketicili, kilitsiz sabit kapasiteli halka tampon.
+ * <p>
+ * Üretici bir sıra numarasını CAS ile alır ({@link #tryClaim()}), o sıradaki yuvayı doldurur ve
+ * {@link #publish(long)} ile yayınlar. Tüketici yayınlanmış yuvaları sırayla kendi dizisine kopyalar ve ancak
+ * kopyaladıktan sonra yuvaları üreticilere geri verir. Yuvalar baştan ayrılır; kayıt eklemek nesne ayırmaz.
+ */
+final class AuditRingBuffer {
+
+    private final AuditRecord[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong producerCursor = new AtomicLong();
+    // Yalnızca tüketici yazar; üreticiler doluluk kontrolünde okur
+    private final AtomicLong consumerCursor = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.slots = new AuditRecord[capacity];
+        this.published = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditRecord();
+            published.set(i, -1L);
+        }
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    int size() {
+        return (int) (producerCursor.get() - consumerCursor.get());
+    }
+
+    /**
+     * Bir yuva ayırır; tampon doluysa -1 döner. Dönen sıra numarası mutlaka {@link #publish(long)} edilmelidir.
+     */
+    long tryClaim() {
+        while (true) {
+            long sequence = producerCursor.get();
+            if (sequence - consumerCursor.get() >= slots.length) {
+                return -1L;
+            }
+            if (producerCursor.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    AuditRecord slot(long sequence) {
+        return slots[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * Yayınlanmış kayıtları sırayla {@code target}'a kopyalar ve yuvaları serbest bırakır. Henüz yayınlanmamış
+     * bir yuvada durur; sonraki kayıtlar bir sonraki çağrıda alınır.
+     */
+    int drainTo(AuditRecord[] target) {
+        long next = consumerCursor.get();
+        int count = 0;
+        while (count < target.length) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            target[count++].copyFrom(slots[index]);
+            slots[index].clear();
+            next++;
+        }
+        if (count > 0) {
+            consumerCursor.set(next);
+        }
+        return count;
+    }
+}
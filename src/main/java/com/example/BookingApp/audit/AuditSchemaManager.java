@@ -0,0 +1,169 @@
+package com.example.BookingApp.audit;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * audit_events tablosunu occurred_at üzerinden aylık aralık bölümlü (PostgreSQL) olarak kurar ve bakımını yapar.
+ * <p>
+ * Tablo JPA varlığı değildir; Hibernate şemayı yönetmediği için DDL burada, idempotent olarak çalıştırılır.
+ * Sorgular zaman aralığıyla bölüm budaması yapar; eski aylar DELETE yerine bölüm DROP ile silinir. Tablo yalnızca
+ * eklemeye açıktır: UPDATE ve DELETE bir tetikleyiciyle reddedilir. Bölüm sınırları, occurred_at gibi uygulamanın
+ * saat dilimindedir. Eski sürümden kalan bölümsüz audit_events tablosu audit_events_legacy adıyla kenara alınır.
+ * Şema kurulamazsa {@link JdbcAuditSink} yazmaz.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.audit.jdbc.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AuditSchemaManager {
+
+    static final String TABLE = "audit_events";
+    static final String LEGACY_TABLE = TABLE + "_legacy";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final List<String> SCHEMA_DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "id BIGSERIAL NOT NULL, "
+                    + "event_type VARCHAR(40) NOT NULL, "
+                    + "occurred_at TIMESTAMP NOT NULL, "
+                    + "user_id BIGINT, "
+                    + "username VARCHAR(255), "
+                    + "session_id VARCHAR(255), "
+                    + "booking_reference VARCHAR(64), "
+                    + "client VARCHAR(255), "
+                    + "detail VARCHAR(1000), "
+                    + "PRIMARY KEY (id, occurred_at)"
+                    + ") PARTITION BY RANGE (occurred_at)",
+            // Aralık dışına düşen kayıtlar (ör. saat kayması) kaybolmasın
+            "CREATE TABLE IF NOT EXISTS " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT",
+            "CREATE INDEX IF NOT EXISTS idx_audit_occurred_at ON " + TABLE + " (occurred_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_user_occurred_at ON " + TABLE + " (user_id, occurred_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_audit_booking_occurred_at ON " + TABLE
+                    + " (booking_reference, occurred_at, id)",
+            "CREATE OR REPLACE FUNCTION audit_events_append_only() RETURNS trigger AS $$ "
+                    + "BEGIN RAISE EXCEPTION 'audit_events is append-only'; END; $$ LANGUAGE plpgsql",
+            "DROP TRIGGER IF EXISTS audit_events_append_only ON " + TABLE,
+            "CREATE TRIGGER audit_events_append_only BEFORE UPDATE OR DELETE ON " + TABLE
+                    + " FOR EACH ROW EXECUTE FUNCTION audit_events_append_only()");
+
+    private static final String PARTITIONED_CHECK_SQL =
+            "SELECT COUNT(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                    + "WHERE c.relname = ? AND pg_table_is_visible(c.oid)";
+    private static final String TABLE_EXISTS_SQL = "SELECT to_regclass(?) IS NOT NULL";
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                    + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+    private volatile boolean ready;
+
+    public AuditSchemaManager(JdbcTemplate jdbcTemplate,
+                              @Value("${booking.audit.partitions-ahead:2}") int partitionsAhead,
+                              @Value("${booking.audit.retention-months:0}") int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionsAhead = partitionsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        try {
+            if (existsWithoutPartitions() && !renameLegacyTable()) {
+                return;
+            }
+            SCHEMA_DDL.forEach(jdbcTemplate::execute);
+            ready = true;
+            maintainPartitions();
+        } catch (DataAccessException e) {
+            log.error("Failed to initialize {} schema: {}", TABLE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Bu ay ve sonraki {@code partitions-ahead} ay için bölüm oluşturur; saklama süresi tanımlıysa
+     * daha eski bölümleri siler. Varsayılan bölümdeki kayıtlar saklama dışıdır.
+     */
+    @Scheduled(cron = "${booking.audit.partition-cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!ready) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        try {
+            for (int i = 0; i <= partitionsAhead; i++) {
+                createPartition(current.plusMonths(i));
+            }
+            if (retentionMonths > 0) {
+                dropPartitionsBefore(current.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to maintain {} partitions: {}", TABLE, e.getMessage(), e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Eski sürümün düz tablosu bölümlü tabloya dönüştürülemez; kayıtları korunarak yeniden adlandırılır
+    private boolean renameLegacyTable() {
+        if (exists(LEGACY_TABLE)) {
+            log.error("Table {} is not partitioned and {} already exists; migrate or drop one of them so the "
+                    + "partitioned audit table can be created", TABLE, LEGACY_TABLE);
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        // Yeni tablonun birincil anahtarı ve dizisi aynı adları kullanır
+        jdbcTemplate.execute("ALTER INDEX IF EXISTS " + TABLE + "_pkey RENAME TO " + LEGACY_TABLE + "_pkey");
+        jdbcTemplate.execute("ALTER SEQUENCE IF EXISTS " + TABLE + "_id_seq RENAME TO " + LEGACY_TABLE + "_id_seq");
+        log.warn("Renamed unpartitioned table {} to {}; its records are not served by the audit API",
+                TABLE, LEGACY_TABLE);
+        return true;
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Boolean.class, table));
+    }
+
+    private boolean existsWithoutPartitions() {
+        if (!exists(TABLE)) {
+            return false;
+        }
+        Integer partitioned = jdbcTemplate.queryForObject(PARTITIONED_CHECK_SQL, Integer.class, TABLE);
+        return partitioned == null || partitioned == 0;
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF " + TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void dropPartitionsBefore(YearMonth oldestKept) {
+        String oldestName = partitionName(oldestKept);
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, TABLE);
+        for (String partition : partitions) {
+            // audit_events_yyyy_MM adları sözlük sırasında da kronolojiktir
+            if (partition.matches(TABLE + "_\\d{4}_\\d{2}") && partition.compareTo(oldestName) < 0) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped audit partition {} (retention {} months)", partition, retentionMonths);
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.BookingApp.audit;
+
+/**
+ * Denetim kayıtlarının kalıcı hedefi. Yalnızca tüketici thread'inden, partiler halinde çağrılır.
+ */
+public interface AuditSink {
+    
+    String name();
+    
+    /**
+     * {@code records[0..count)} kayıtlarını yazar. Dizi ve kayıtlar çağrıdan sonra yeniden kullanılır;
+     * referans tutulmamalıdır.
+     */
+    void write(AuditRecord[] records, int count) throws Exception;
+    
+    default void close() {
+    }
+}
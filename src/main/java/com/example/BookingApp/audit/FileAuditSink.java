@@ -0,0 +1,111 @@
+package com.example.BookingApp.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Denetim kayıtlarını günlük dönen dosyalara (audit-yyyy-MM-dd.log, UTC) sekmeyle ayrılmış satırlar olarak ekler.
+ * Her parti sonunda dosya flush edilir.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.audit.file.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class FileAuditSink implements AuditSink {
+
+    private final Path directory;
+    private final StringBuilder line = new StringBuilder(256);
+    private Writer writer;
+    private LocalDate currentDate;
+
+    public FileAuditSink(@Value("${booking.audit.file.directory:logs/audit}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void write(AuditRecord[] records, int count) throws IOException {
+        try {
+            for (int i = 0; i < count; i++) {
+                AuditRecord record = records[i];
+                Instant timestamp = Instant.ofEpochMilli(record.getTimestampMillis());
+                LocalDate date = LocalDate.ofInstant(timestamp, ZoneOffset.UTC);
+                if (writer == null || !date.equals(currentDate)) {
+                    roll(date);
+                }
+                format(record, timestamp);
+                writer.append(line);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            // Bir sonraki parti dosyayı yeniden açar
+            close();
+            throw e;
+        }
+    }
+
+    private void roll(LocalDate date) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        Path file = directory.resolve("audit-" + date + ".log");
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        currentDate = date;
+    }
+
+    private void format(AuditRecord record, Instant timestamp) {
+        line.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(timestamp, line);
+        line.append('\t').append(record.getType());
+        appendField(record.getUserId() == null ? null : record.getUserId().toString());
+        appendField(record.getUsername());
+        appendField(record.getSessionId());
+        appendField(record.getBookingReference());
+        appendField(record.getClient());
+        appendField(record.getDetail());
+        line.append('\n');
+    }
+
+    // Kullanıcıdan gelen değerler (ör. kullanıcı adı) satır ya da alan ayırıcı içeremez
+    private void appendField(String value) {
+        line.append('\t');
+        if (value == null) {
+            line.append('-');
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            line.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit file: {}", e.getMessage());
+        }
+        writer = null;
+        currentDate = null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.BookingApp.audit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Denetim kayıtlarını audit_events tablosuna parti başına tek JDBC batch INSERT ile yazar. JPA kullanılmaz;
+ * kayıtlar yönetilen nesneye dönüştürülmez. Tablo {@link AuditSchemaManager} tarafından kurulur; kurulamadıysa
+ * her parti hata olarak sayılır.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.audit.jdbc.enabled", havingValue = "true", matchIfMissing = true)
+public class JdbcAuditSink implements AuditSink {
+
+    static final String INSERT_SQL = "INSERT INTO audit_events "
+            + "(event_type, occurred_at, user_id, username, session_id, booking_reference, client, detail) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_REFERENCE_LENGTH = 64;
+    private static final int MAX_DETAIL_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditSchemaManager schemaManager;
+
+    // Şema yöneticisi, ilk yazımdan önce tablonun kurulmuş olması için bağımlılık olarak alınır
+    public JdbcAuditSink(JdbcTemplate jdbcTemplate, AuditSchemaManager schemaManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schemaManager = schemaManager;
+    }
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public void write(AuditRecord[] records, int count) {
+        if (!schemaManager.isReady()) {
+            throw new IllegalStateException(AuditSchemaManager.TABLE + " schema is not initialized");
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditRecord record = records[i];
+                ps.setString(1, record.getType().name());
+                ps.setTimestamp(2, new Timestamp(record.getTimestampMillis()));
+                ps.setObject(3, record.getUserId(), Types.BIGINT);
+                ps.setString(4, truncate(record.getUsername(), MAX_TEXT_LENGTH));
+                ps.setString(5, truncate(record.getSessionId(), MAX_TEXT_LENGTH));
+                ps.setString(6, truncate(record.getBookingReference(), MAX_REFERENCE_LENGTH));
+                ps.setString(7, truncate(record.getClient(), MAX_TEXT_LENGTH));
+                ps.setString(8, truncate(record.getDetail(), MAX_DETAIL_LENGTH));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
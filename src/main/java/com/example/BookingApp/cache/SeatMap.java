@@ -0,0 +1,129 @@
+package com.example.BookingApp.cache;
+
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bir etkinliğin sürümlü koltuk haritası.
+ * <p>
+ * Yerleşim (numara, bölüm, fiyat, konum) sabittir; durumlar ayrı bir dizide tutulur ve koltuk başına yamalarla
+ * yerinde güncellenir. Her yama sürümü bir artırır; sırası atlanan bir yama boşluk olarak bildirilir ve harita
+ * yeniden yüklenmelidir. Okuyucular sürüm numarasıyla birlikte tutarlı bir anlık görüntü alır.
+ */
+public final class SeatMap {
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    public enum PatchResult {
+        APPLIED, STALE, GAP
+    }
+
+    private final Long eventId;
+    private final SeatResponse[] layout;
+    private final Map<Long, Integer> indexById;
+    private final byte[] statuses;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long version;
+    // Son oluşturulan görüntü; aynı sürümdeki okumalar 40k kaydı yeniden kurmaz
+    private volatile SeatMapResponse snapshot;
+
+    private SeatMap(Long eventId, long version, SeatResponse[] layout) {
+        this.eventId = eventId;
+        this.version = version;
+        this.layout = layout;
+        this.indexById = new HashMap<>(layout.length * 4 / 3 + 1);
+        this.statuses = new byte[layout.length];
+        for (int index = 0; index < layout.length; index++) {
+            indexById.put(layout[index].id(), index);
+            statuses[index] = (byte) layout[index].status().ordinal();
+        }
+    }
+
+    public static SeatMap of(Long eventId, long version, List<SeatResponse> seats) {
+        return new SeatMap(eventId, version, seats.toArray(new SeatResponse[0]));
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long getVersion() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return layout.length;
+    }
+
+    /**
+     * {@code newVersion} sürümündeki yamayı uygular. Bilinmeyen koltuklar atlanır; yerleşim değişiklikleri
+     * yama ile değil haritanın yeniden yüklenmesiyle gelir.
+     */
+    public PatchResult patch(long newVersion, Collection<Long> seatIds, SeatStatus status) {
+        lock.lock();
+        try {
+            if (newVersion <= version) {
+                return PatchResult.STALE;
+            }
+            if (newVersion != version + 1) {
+                return PatchResult.GAP;
+            }
+            for (Long seatId : seatIds) {
+                Integer index = indexById.get(seatId);
+                if (index != null) {
+                    statuses[index] = (byte) status.ordinal();
+                }
+            }
+            version = newVersion;
+            return PatchResult.APPLIED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public SeatMapResponse snapshot() {
+        SeatMapResponse current = snapshot;
+        byte[] copy;
+        long copyVersion;
+        lock.lock();
+        try {
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            copy = statuses.clone();
+            copyVersion = version;
+        } finally {
+            lock.unlock();
+        }
+
+        // Kayıtlar kilit dışında kurulur; yamalar bu sırada beklemez
+        List<SeatResponse> seats = new ArrayList<>(layout.length);
+        for (int index = 0; index < layout.length; index++) {
+            seats.add(withStatus(layout[index], STATUSES[copy[index]]));
+        }
+        current = new SeatMapResponse(eventId, copyVersion, List.copyOf(seats));
+        snapshot = current;
+        return current;
+    }
+
+    static SeatResponse withStatus(SeatResponse seat, SeatStatus status) {
+        if (seat.status() == status) {
+            return seat;
+        }
+        return new SeatResponse(seat.id(), seat.eventId(), seat.seatNumber(), seat.rowNumber(), seat.section(),
+                seat.seatType(), status, seat.price(), seat.xPosition(), seat.yPosition());
+    }
+}
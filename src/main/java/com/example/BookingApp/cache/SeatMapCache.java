@@ -0,0 +1,348 @@
+package com.example.BookingApp.cache;
+
+import com.example.BookingApp.codec.CompactRedisSerializer;
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.repository.SeatRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Etkinlik koltuk haritalarının iki katmanlı, yamalanan önbelleği.
+ * <p>
+ * Redis'te seatmap:&lt;eventId&gt; bir hash'tir: "layout" alanında yükleme anındaki koltuk listesi
+ * ({@link CompactRedisSerializer} ile), "v" alanında sürüm, "s&lt;seatId&gt;" alanlarında sonradan değişen
+ * koltukların durumu. seatmap:&lt;eventId&gt;:version her değişiklikte artar. Düğüm içinde haritalar
+ * {@link SeatMap} olarak Caffeine'de tutulur.
+ * <p>
+ * Koltuk durumu değiştiren transaction commit olunca değişiklik tek Lua betiğiyle Redis hash'ine yazılır, sürüm
+ * artırılır ve yama "seatmap:patch" kanalında yayınlanır; düğümler kendi haritalarını yerinde günceller. Liste
+ * hiçbir zaman bütün olarak silinip yeniden yüklenmez. Sırası atlanan bir yama (kaçırılan mesaj) yalnızca o
+ * düğümdeki haritanın Redis'ten yeniden okunmasına yol açar.
+ */
+@Component
+@Slf4j
+public class SeatMapCache implements MessageListener {
+    
+    static final String PATCH_CHANNEL = "seatmap:patch";
+    private static final String KEY_PREFIX = "seatmap:";
+    private static final String VERSION_SUFFIX = ":version";
+    private static final String LAYOUT_FIELD = "layout";
+    private static final String VERSION_FIELD = "v";
+    private static final String SEAT_FIELD_PREFIX = "s";
+    private static final String WHOLE_MAP = "*";
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    // Sürüm anahtarı haritadan uzun yaşamalı; aksi halde sıfırdan başlayan sürüm yamaları eski sanılır
+    private static final long VERSION_TTL_SECONDS = TimeUnit.DAYS.toSeconds(7);
+    
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+    private static final RedisScript<Long> PATCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/seatmap-patch.lua"), Long.class);
+    private static final RedisScript<Long> STORE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/seatmap-store.lua"), Long.class);
+    private static final RedisScript<Long> INVALIDATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/seatmap-invalidate.lua"), Long.class);
+    
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CompactRedisSerializer layoutSerializer;
+    private final SeatRepository seatRepository;
+    private final SeatMapper seatMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final Cache<Long, SeatMap> local;
+    private final long ttlSeconds;
+    
+    public SeatMapCache(RedisTemplate<String, Object> redisTemplate,
+                        RedisMessageListenerContainer listenerContainer,
+                        CompactRedisSerializer layoutSerializer,
+                        SeatRepository seatRepository,
+                        SeatMapper seatMapper,
+                        SeatInventoryService seatInventoryService,
+                        MeterRegistry meterRegistry,
+                        @Value("${booking.seat-map.local-max-events:200}") long localMaxEvents,
+                        @Value("${booking.seat-map.local-ttl-ms:60000}") long localTtlMillis,
+                        @Value("${booking.seat-map.ttl-seconds:1800}") long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.layoutSerializer = layoutSerializer;
+        this.seatRepository = seatRepository;
+        this.seatMapper = seatMapper;
+        this.seatInventoryService = seatInventoryService;
+        this.ttlSeconds = ttlSeconds;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxEvents)
+                .expireAfterWrite(Duration.ofMillis(localTtlMillis))
+                .recordStats()
+                .build();
+        
+        listenerContainer.addMessageListener(this, new ChannelTopic(PATCH_CHANNEL));
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "seat_maps");
+    }
+    
+    public SeatMapResponse getSeatMap(Long eventId) {
+        // Aynı düğümde eşzamanlı ıskalar tek yüklemede birleşir
+        return local.get(eventId, this::load).snapshot();
+    }
+    
+    /**
+     * Koltukların yeni durumunu, içinde bulunulan transaction commit olduktan sonra haritalara yazar.
+     */
+    public void seatsChanged(Long eventId, Collection<Long> seatIds, SeatStatus status) {
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        PendingChanges pending = pendingChanges();
+        if (pending == null) {
+            patch(eventId, seatIds, status);
+            return;
+        }
+        Map<Long, SeatStatus> statuses = pending.statusesByEvent.computeIfAbsent(eventId, id -> new LinkedHashMap<>());
+        seatIds.forEach(seatId -> statuses.put(seatId, status));
+    }
+    
+    /**
+     * Yerleşim değişti (koltuk eklendi, fiyat değişti) ya da hangi koltukların etkilendiği bilinmiyor; harita
+     * commit sonrası silinir ve bir sonraki okumada yeniden yüklenir.
+     */
+    public void eventSeatsChanged(Long eventId) {
+        PendingChanges pending = pendingChanges();
+        if (pending == null) {
+            invalidate(eventId);
+        } else {
+            pending.invalidatedEvents.add(eventId);
+        }
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = STRING.deserialize(message.getBody());
+        String[] parts = payload != null ? payload.split("\\|", 4) : new String[0];
+        try {
+            Long eventId = Long.valueOf(parts[0]);
+            long version = Long.parseLong(parts[1]);
+            if (WHOLE_MAP.equals(parts[2])) {
+                local.invalidate(eventId);
+                return;
+            }
+            SeatStatus status = SeatStatus.valueOf(parts[2]);
+            List<Long> seatIds = new ArrayList<>();
+            for (String seatId : parts[3].split(",")) {
+                seatIds.add(Long.valueOf(seatId));
+            }
+            applyLocally(eventId, version, seatIds, status);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed seat map patch: {}", payload);
+        }
+    }
+    
+    private void patch(Long eventId, Collection<Long> seatIds, SeatStatus status) {
+        List<String> args = new ArrayList<>(seatIds.size() + 4);
+        args.add(PATCH_CHANNEL);
+        args.add(String.valueOf(eventId));
+        args.add(status.name());
+        args.add(String.valueOf(VERSION_TTL_SECONDS));
+        seatIds.forEach(seatId -> args.add(String.valueOf(seatId)));
+        try {
+            Long version = redisTemplate.execute(PATCH_SCRIPT, STRING, LONG, keys(eventId), args.toArray());
+            if (version != null) {
+                applyLocally(eventId, version, seatIds, status);
+            }
+        } catch (Exception e) {
+            // Redis hash'i TTL sonunda düşer; bu düğüm en azından eski haritayı sunmasın
+            local.invalidate(eventId);
+            log.warn("Failed to patch seat map of event ID: {}: {}", eventId, e.getMessage());
+        }
+    }
+    
+    private void invalidate(Long eventId) {
+        local.invalidate(eventId);
+        try {
+            redisTemplate.execute(INVALIDATE_SCRIPT, STRING, LONG, keys(eventId),
+                    PATCH_CHANNEL, String.valueOf(eventId), String.valueOf(VERSION_TTL_SECONDS));
+        } catch (Exception e) {
+            log.warn("Failed to invalidate seat map of event ID: {}: {}", eventId, e.getMessage());
+        }
+    }
+    
+    private void applyLocally(Long eventId, long version, Collection<Long> seatIds, SeatStatus status) {
+        // Yükleme sürerken gelen yama yükleme bitene kadar bekler, sonra yeni haritaya uygulanır
+        local.asMap().computeIfPresent(eventId, (id, map) -> {
+            SeatMap.PatchResult result = map.patch(version, seatIds, status);
+            if (result == SeatMap.PatchResult.GAP) {
+                log.debug("Seat map of event ID: {} missed a patch (at {}, got {}), reloading",
+                        eventId, map.getVersion(), version);
+                return null;
+            }
+            return map;
+        });
+    }
+    
+    private SeatMap load(Long eventId) {
+        List<SeatResponse> seats = null;
+        long fence = 0;
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            try {
+                SeatMap stored = readStored(eventId);
+                if (stored != null) {
+                    return stored;
+                }
+                fence = currentVersion(eventId);
+            } catch (Exception e) {
+                log.warn("Failed to read seat map of event ID: {} from Redis: {}", eventId, e.getMessage());
+                return SeatMap.of(eventId, 0, loadSeats(eventId));
+            }
+            
+            seats = loadSeats(eventId);
+            if (store(eventId, fence, seats)) {
+                return SeatMap.of(eventId, fence, seats);
+            }
+        }
+        // Sürekli değişen harita; sunulur ama Redis'e yazılmaz, bir sonraki yama boşluk görüp yeniden yükletir
+        log.debug("Seat map of event ID: {} kept changing while loading", eventId);
+        return SeatMap.of(eventId, fence, seats);
+    }
+    
+    private List<SeatResponse> loadSeats(Long eventId) {
+        if (seatInventoryService.isEnabled()) {
+            // Tablo envanterin gerisinde kalabilir; rollback olabilecek rezervasyonlar haritaya yazılmasın
+            return seatInventoryService.getCommittedSeats(eventId);
+        }
+        return seatMapper.toResponseList(
+                seatRepository.findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(eventId));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private SeatMap readStored(Long eventId) {
+        byte[] key = STRING.serialize(KEY_PREFIX + eventId);
+        Map<byte[], byte[]> fields = redisTemplate.execute((RedisCallback<Map<byte[], byte[]>>) connection ->
+                connection.hashCommands().hGetAll(key));
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        
+        List<SeatResponse> layout = null;
+        long version = -1;
+        Map<Long, SeatStatus> overrides = new HashMap<>();
+        for (Map.Entry<byte[], byte[]> field : fields.entrySet()) {
+            String name = STRING.deserialize(field.getKey());
+            if (LAYOUT_FIELD.equals(name)) {
+                layout = (List<SeatResponse>) layoutSerializer.deserialize(field.getValue());
+            } else if (VERSION_FIELD.equals(name)) {
+                version = Long.parseLong(STRING.deserialize(field.getValue()));
+            } else if (name != null && name.startsWith(SEAT_FIELD_PREFIX)) {
+                overrides.put(Long.valueOf(name.substring(SEAT_FIELD_PREFIX.length())),
+                        SeatStatus.valueOf(STRING.deserialize(field.getValue())));
+            }
+        }
+        if (layout == null || version < 0) {
+            return null;
+        }
+        
+        List<SeatResponse> seats = new ArrayList<>(layout.size());
+        for (SeatResponse seat : layout) {
+            SeatStatus status = overrides.get(seat.id());
+            seats.add(status != null ? SeatMap.withStatus(seat, status) : seat);
+        }
+        return SeatMap.of(eventId, version, seats);
+    }
+    
+    private long currentVersion(Long eventId) {
+        byte[] version = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(STRING.serialize(KEY_PREFIX + eventId + VERSION_SUFFIX)));
+        return version == null ? 0 : Long.parseLong(STRING.deserialize(version));
+    }
+    
+    private boolean store(Long eventId, long fence, List<SeatResponse> seats) {
+        byte[] layout = layoutSerializer.serialize(seats);
+        byte[] script = STRING.serialize(STORE_SCRIPT.getScriptAsString());
+        try {
+            Long stored = redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+                            STRING.serialize(KEY_PREFIX + eventId),
+                            STRING.serialize(KEY_PREFIX + eventId + VERSION_SUFFIX),
+                            STRING.serialize(String.valueOf(fence)),
+                            STRING.serialize(String.valueOf(ttlSeconds)),
+                            STRING.serialize(String.valueOf(VERSION_TTL_SECONDS)),
+                            layout));
+            return stored != null && stored == 1;
+        } catch (Exception e) {
+            log.warn("Failed to store seat map of event ID: {}: {}", eventId, e.getMessage());
+            // Redis'e yazılamadı ama yüklenen harita bu düğümde kullanılabilir
+            return true;
+        }
+    }
+    
+    private static List<String> keys(Long eventId) {
+        return List.of(KEY_PREFIX + eventId, KEY_PREFIX + eventId + VERSION_SUFFIX);
+    }
+    
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        // Bir transaction içindeki tüm değişiklikler commit'te etkinlik ve durum başına tek yamada toplanır
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+    
+    private class PendingChanges implements TransactionSynchronization {
+        
+        private final Map<Long, Map<Long, SeatStatus>> statusesByEvent = new LinkedHashMap<>();
+        private final Set<Long> invalidatedEvents = new LinkedHashSet<>();
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SeatMapCache.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            invalidatedEvents.forEach(SeatMapCache.this::invalidate);
+            statusesByEvent.forEach((eventId, statuses) -> {
+                if (invalidatedEvents.contains(eventId)) {
+                    return;
+                }
+                Map<SeatStatus, List<Long>> seatIdsByStatus = new EnumMap<>(SeatStatus.class);
+                statuses.forEach((seatId, seatStatus) ->
+                        seatIdsByStatus.computeIfAbsent(seatStatus, s -> new ArrayList<>()).add(seatId));
+                seatIdsByStatus.forEach((seatStatus, seatIds) -> patch(eventId, seatIds, seatStatus));
+            });
+        }
+    }
+}
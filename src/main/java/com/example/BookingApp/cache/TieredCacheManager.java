@@ -0,0 +1,134 @@
+package com.example.BookingApp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Yerel ayarı tanımlı önbellekleri Caffeine L1 + Redis L2 olarak, diğerlerini doğrudan Redis önbelleği olarak verir.
+ * <p>
+ * Düğümler arası tutarlılık pub/sub silme mesajlarıyla sağlanır. Mesaj kaybolursa (bağlantı kopması vb.) eski
+ * değer en geç L1 TTL'i dolunca düşer; bu yüzden L1 TTL'leri L2 TTL'lerinden kısa tutulmalıdır.
+ */
+public class TieredCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCacheManager.class);
+
+    static final String INVALIDATION_CHANNEL = "cache:invalidate";
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "e";
+    private static final String CLEAR = "c";
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+
+    /**
+     * Bir önbelleğin L1 ayarı.
+     */
+    public record LocalCacheSpec(long maxSize, Duration ttl) {
+    }
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    // Kendi yayınladığımız mesajları ayırt etmek için
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TieredCacheManager(CacheManager remoteCacheManager,
+                              Map<String, LocalCacheSpec> localSpecs,
+                              RedisTemplate<String, Object> redisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> decorate(n, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = STRING.deserialize(message.getBody());
+        String[] parts = payload != null ? payload.split("\\" + SEPARATOR, 4) : new String[0];
+        if (parts.length < 3) {
+            logger.warn("Ignoring malformed cache invalidation message: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0]) || !(caches.get(parts[2]) instanceof TieredCache cache)) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    void publishEvict(String cacheName, String localKey) {
+        publish(String.join(SEPARATOR, nodeId, EVICT, cacheName, localKey));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, CLEAR, cacheName));
+    }
+
+    private Cache decorate(String name, Cache remote) {
+        LocalCacheSpec spec = localSpecs.get(name);
+        if (spec == null) {
+            return remote;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(spec.maxSize())
+                .expireAfterWrite(spec.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, "tier", "l1");
+        return new TieredCache(name, remote, local, this);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(STRING.serialize(INVALIDATION_CHANNEL), STRING.serialize(payload)));
+        } catch (Exception e) {
+            // Diğer düğümler kaydı en geç L1 TTL'i sonunda düşürür
+            logger.warn("Failed to publish cache invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+}
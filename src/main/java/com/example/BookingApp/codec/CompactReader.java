@@ -0,0 +1,125 @@
+package com.example.BookingApp.codec;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * {@link CompactWriter} ile yazılmış veriyi okur; bozuk/eksik veride {@link SerializationException} fırlatır.
+ */
+public final class CompactReader {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public CompactReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed varint");
+    }
+
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > 0xFFFFFFFFL) {
+            throw new SerializationException("Malformed varint");
+        }
+        return (int) value;
+    }
+
+    public long readSignedLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public Long readNullableLong() {
+        return readBoolean() ? readSignedLong() : null;
+    }
+
+    public Integer readNullableInt() {
+        return readBoolean() ? Math.toIntExact(readSignedLong()) : null;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        require(length - 1);
+        String value = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+        position += length - 1;
+        return value;
+    }
+
+    public byte[] readLengthPrefixed() {
+        return readBytes(readVarInt());
+    }
+
+    public <E extends Enum<E>> E readEnum(Class<E> type) {
+        String name = readString();
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    public BigDecimal readDecimal() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int scale = Math.toIntExact(readSignedLong());
+        return new BigDecimal(new BigInteger(readLengthPrefixed()), scale);
+    }
+
+    public LocalDateTime readDateTime() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long epochSecond = readSignedLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, readVarInt(), ZoneOffset.UTC);
+    }
+
+    public byte[] readRemaining() {
+        return readBytes(limit - position);
+    }
+
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    private void require(int length) {
+        if (length < 0 || limit - position < length) {
+            throw new SerializationException("Unexpected end of compact payload");
+        }
+    }
+}
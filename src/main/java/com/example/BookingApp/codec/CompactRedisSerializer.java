@@ -0,0 +1,207 @@
+package com.example.BookingApp.codec;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Oturum ve önbellek değerleri için sürümlü ikili format.
+ * <p>
+ * Başlık: sihirli bayt, format sürümü, bayraklar (bit 0 = deflate ile sıkıştırılmış; bu durumda ardından
+ * sıkıştırılmamış uzunluk gelir). Gövde bir tip etiketi ve değerden oluşur. Kayıtlı codec'i olan tipler
+ * alan adı/sınıf adı taşımadan yazılır; diğer her şey JSON'a düşer. Sihirli baytla başlamayan veri eski
+ * JSON kaydı kabul edilir, böylece geçiş sırasında Redis'te kalan değerler okunmaya devam eder.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final int FORMAT_VERSION = 1;
+
+    // Geçerli UTF-8/JSON hiçbir zaman bu baytla başlamaz
+    private static final byte MAGIC = (byte) 0xC5;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int HEADER_SIZE = 3;
+
+    private static final int TAG_JSON = 0;
+    private static final int TAG_LIST = 1;
+    // 16 altı etiketler formatın kendisine ayrılmıştır
+    private static final int FIRST_RECORD_TAG = 16;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final Map<Class<?>, Integer> tagsByType = new HashMap<>();
+    private final Map<Integer, RecordCodec<?>> codecsByTag = new HashMap<>();
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold bu boyutu (bayt) aşan gövdeler sıkıştırılır; 0 veya negatifse sıkıştırma kapalı
+     */
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        register(16, ResponseCodecs.USER);
+        register(17, ResponseCodecs.VENUE);
+        register(18, ResponseCodecs.SEAT);
+        register(19, ResponseCodecs.EVENT);
+    }
+
+    /**
+     * Yeni bir tip ekler. Etiket kalıcı formatın parçasıdır; bir kez kullanıldıktan sonra başka tipe verilmemelidir.
+     */
+    public final <T> void register(int tag, RecordCodec<T> codec) {
+        if (tag < FIRST_RECORD_TAG || tag > 0xFF) {
+            throw new IllegalArgumentException("Record tags must be between " + FIRST_RECORD_TAG + " and 255");
+        }
+        if (codecsByTag.containsKey(tag) || tagsByType.containsKey(codec.type())) {
+            throw new IllegalArgumentException("Codec already registered for tag " + tag + " or " + codec.type());
+        }
+        codecsByTag.put(tag, codec);
+        tagsByType.put(codec.type(), tag);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        CompactWriter out = new CompactWriter(256);
+        writeHeader(out, 0);
+        writeValue(value, out);
+        byte[] bytes = out.toByteArray();
+
+        int rawLength = bytes.length - HEADER_SIZE;
+        if (compressionThreshold > 0 && rawLength > compressionThreshold) {
+            byte[] deflated = deflate(bytes, HEADER_SIZE, rawLength);
+            if (deflated.length < rawLength) {
+                CompactWriter compressed = new CompactWriter(HEADER_SIZE + 5 + deflated.length);
+                writeHeader(compressed, FLAG_DEFLATED);
+                compressed.writeVarInt(rawLength);
+                compressed.writeBytes(deflated, 0, deflated.length);
+                return compressed.toByteArray();
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated compact payload header");
+        }
+
+        int version = bytes[1] & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new SerializationException("Unsupported compact format version " + version);
+        }
+
+        int flags = bytes[2] & 0xFF;
+        CompactReader in = new CompactReader(bytes, HEADER_SIZE, bytes.length);
+        if ((flags & FLAG_DEFLATED) != 0) {
+            int rawLength = in.readVarInt();
+            byte[] raw = inflate(in.readRemaining(), rawLength);
+            in = new CompactReader(raw, 0, raw.length);
+        }
+        return readValue(in);
+    }
+
+    private void writeValue(Object value, CompactWriter out) {
+        Integer tag = tagsByType.get(value.getClass());
+        if (tag != null) {
+            out.writeByte(tag);
+            writeRecord(codecsByTag.get(tag), value, out);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            out.writeVarInt(list.size());
+            for (Object element : list) {
+                if (element == null) {
+                    out.writeByte(TAG_JSON);
+                    out.writeVarInt(0);
+                } else {
+                    writeValue(element, out);
+                }
+            }
+        } else {
+            out.writeByte(TAG_JSON);
+            out.writeLengthPrefixed(json.serialize(value));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeRecord(RecordCodec<T> codec, Object value, CompactWriter out) {
+        codec.write((T) value, out);
+    }
+
+    private Object readValue(CompactReader in) {
+        int tag = in.readByte();
+        if (tag == TAG_JSON) {
+            byte[] payload = in.readLengthPrefixed();
+            return payload.length == 0 ? null : json.deserialize(payload);
+        }
+        if (tag == TAG_LIST) {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(readValue(in));
+            }
+            return list;
+        }
+        RecordCodec<?> codec = codecsByTag.get(tag);
+        if (codec == null) {
+            throw new SerializationException("Unknown compact type tag " + tag);
+        }
+        return codec.read(in);
+    }
+
+    private static void writeHeader(CompactWriter out, int flags) {
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(flags);
+    }
+
+    private static byte[] deflate(byte[] bytes, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            byte[] raw = new byte[rawLength];
+            int n = inflater.inflate(raw);
+            if (n != rawLength || !inflater.finished()) {
+                throw new SerializationException("Corrupt compressed payload");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
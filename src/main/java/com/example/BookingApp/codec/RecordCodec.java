@@ -0,0 +1,16 @@
+package com.example.BookingApp.codec;
+
+/**
+ * Tek bir tipin {@link CompactRedisSerializer} içindeki ikili gösterimi.
+ * <p>
+ * Alan sırası formatın parçasıdır: alan eklemek/çıkarmak ya da sırayı değiştirmek format sürümünü
+ * ({@link CompactRedisSerializer#FORMAT_VERSION}) artırmayı gerektirir.
+ */
+public interface RecordCodec<T> {
+
+    Class<T> type();
+
+    void write(T value, CompactWriter out);
+
+    T read(CompactReader in);
+}
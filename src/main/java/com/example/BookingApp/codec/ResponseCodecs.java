@@ -0,0 +1,161 @@
+package com.example.BookingApp.codec;
+
+import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.dto.event.response.VenueResponse;
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.entityenums.EventType;
+import com.example.BookingApp.entityenums.Role;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Oturum ve önbellekte tutulan response kayıtlarının codec'leri.
+ */
+final class ResponseCodecs {
+
+    private ResponseCodecs() {
+    }
+
+    static final RecordCodec<UserResponse> USER = new RecordCodec<>() {
+        @Override
+        public Class<UserResponse> type() {
+            return UserResponse.class;
+        }
+
+        @Override
+        public void write(UserResponse value, CompactWriter out) {
+            out.writeNullableLong(value.id());
+            out.writeString(value.username());
+            out.writeString(value.email());
+            out.writeEnum(value.role());
+            out.writeBoolean(value.active());
+        }
+
+        @Override
+        public UserResponse read(CompactReader in) {
+            return new UserResponse(in.readNullableLong(), in.readString(), in.readString(),
+                    in.readEnum(Role.class), in.readBoolean());
+        }
+    };
+
+    static final RecordCodec<VenueResponse> VENUE = new RecordCodec<>() {
+        @Override
+        public Class<VenueResponse> type() {
+            return VenueResponse.class;
+        }
+
+        @Override
+        public void write(VenueResponse value, CompactWriter out) {
+            out.writeNullableLong(value.id());
+            out.writeString(value.name());
+            out.writeString(value.address());
+            out.writeString(value.city());
+            out.writeString(value.country());
+            out.writeNullableInt(value.capacity());
+            out.writeString(value.description());
+            out.writeString(value.imageUrl());
+        }
+
+        @Override
+        public VenueResponse read(CompactReader in) {
+            return new VenueResponse(in.readNullableLong(), in.readString(), in.readString(), in.readString(),
+                    in.readString(), in.readNullableInt(), in.readString(), in.readString());
+        }
+    };
+
+    static final RecordCodec<SeatResponse> SEAT = new RecordCodec<>() {
+        @Override
+        public Class<SeatResponse> type() {
+            return SeatResponse.class;
+        }
+
+        @Override
+        public void write(SeatResponse value, CompactWriter out) {
+            out.writeNullableLong(value.id());
+            out.writeNullableLong(value.eventId());
+            out.writeString(value.seatNumber());
+            out.writeString(value.rowNumber());
+            out.writeString(value.section());
+            out.writeEnum(value.seatType());
+            out.writeEnum(value.status());
+            out.writeDecimal(value.price());
+            out.writeNullableInt(value.xPosition());
+            out.writeNullableInt(value.yPosition());
+        }
+
+        @Override
+        public SeatResponse read(CompactReader in) {
+            return new SeatResponse(in.readNullableLong(), in.readNullableLong(), in.readString(), in.readString(),
+                    in.readString(), in.readEnum(SeatType.class), in.readEnum(SeatStatus.class), in.readDecimal(),
+                    in.readNullableInt(), in.readNullableInt());
+        }
+    };
+
+    static final RecordCodec<EventResponse> EVENT = new RecordCodec<>() {
+        @Override
+        public Class<EventResponse> type() {
+            return EventResponse.class;
+        }
+
+        @Override
+        public void write(EventResponse value, CompactWriter out) {
+            out.writeNullableLong(value.id());
+            out.writeString(value.title());
+            out.writeString(value.description());
+            out.writeEnum(value.eventType());
+            out.writeBoolean(value.venue() != null);
+            if (value.venue() != null) {
+                VENUE.write(value.venue(), out);
+            }
+            out.writeDateTime(value.eventDate());
+            out.writeDateTime(value.eventEndDate());
+            out.writeDateTime(value.bookingStartDate());
+            out.writeDateTime(value.bookingEndDate());
+            out.writeDecimal(value.basePrice());
+            out.writeString(value.imageUrl());
+            out.writeString(value.organizer());
+            out.writeEnum(value.status());
+            writeSeats(value.availableSeats(), out);
+            out.writeSignedLong(value.availableSeatCount());
+            out.writeSignedLong(value.totalSeatCount());
+        }
+
+        @Override
+        public EventResponse read(CompactReader in) {
+            return new EventResponse(in.readNullableLong(), in.readString(), in.readString(),
+                    in.readEnum(EventType.class), in.readBoolean() ? VENUE.read(in) : null,
+                    in.readDateTime(), in.readDateTime(), in.readDateTime(), in.readDateTime(),
+                    in.readDecimal(), in.readString(), in.readString(), in.readEnum(EventStatus.class),
+                    readSeats(in), in.readSignedLong(), in.readSignedLong());
+        }
+    };
+
+    // 0 = null, aksi halde eleman sayısı + 1
+    private static void writeSeats(List<SeatResponse> seats, CompactWriter out) {
+        if (seats == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        out.writeVarInt(seats.size() + 1);
+        for (SeatResponse seat : seats) {
+            SEAT.write(seat, out);
+        }
+    }
+
+    private static List<SeatResponse> readSeats(CompactReader in) {
+        int count = in.readVarInt();
+        if (count == 0) {
+            return null;
+        }
+        List<SeatResponse> seats = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; i++) {
+            seats.add(SEAT.read(in));
+        }
+        return seats;
+    }
+}
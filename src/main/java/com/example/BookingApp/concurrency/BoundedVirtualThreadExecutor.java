@@ -0,0 +1,77 @@
+package com.example.BookingApp.concurrency;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Her görevi yeni bir sanal thread'de çalıştıran, ThreadPoolTaskExecutor ile aynı sınırları koruyan executor.
+ * <p>
+ * Aynı anda en fazla {@code concurrency} görev çalışır, en fazla {@code queueCapacity} görev sırada bekler;
+ * ikisi de doluysa {@link RejectedExecutionException} fırlatılır. Sırada bekleyen görevler bir kuyrukta değil,
+ * izin bekleyen sanal thread'lerdedir ve beklerken taşıyıcı thread tutmazlar. {@link #close()} yeni görevleri
+ * reddeder ve kabul edilmiş görevlerin bitmesini en fazla {@code awaitTerminationSeconds} bekler.
+ */
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private final int capacity;
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final ThreadFactory threadFactory;
+    private final long awaitTerminationSeconds;
+    private volatile boolean closed;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrency, int queueCapacity,
+                                        long awaitTerminationSeconds) {
+        this.capacity = concurrency + queueCapacity;
+        this.admitted = new Semaphore(capacity);
+        // Adil: sırada bekleyenler geliş sırasıyla çalışır
+        this.running = new Semaphore(concurrency, true);
+        this.threadFactory = Thread.ofVirtual().name(threadNamePrefix, 1).factory();
+        this.awaitTerminationSeconds = awaitTerminationSeconds;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        if (!admitted.tryAcquire()) {
+            throw new RejectedExecutionException("Executor is at capacity");
+        }
+        try {
+            threadFactory.newThread(() -> run(task)).start();
+        } catch (RuntimeException | Error e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } finally {
+            admitted.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            // Tüm izinler geri geldiğinde kabul edilmiş görev kalmamıştır
+            if (admitted.tryAcquire(capacity, awaitTerminationSeconds, TimeUnit.SECONDS)) {
+                admitted.release(capacity);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
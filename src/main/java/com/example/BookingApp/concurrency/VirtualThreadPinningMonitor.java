@@ -0,0 +1,137 @@
+package com.example.BookingApp.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sanal thread kipinde taşıyıcı thread'e sabitlenen (pinned) sanal thread'leri raporlar.
+ * <p>
+ * JDK 21'de {@code synchronized} blok ya da native çerçeve içinde bloklayan bir sanal thread taşıyıcısını bırakamaz;
+ * sıcak yolda bu, eşzamanlılığı yeniden taşıyıcı sayısına (çekirdek sayısı) indirir. İzleyici JFR
+ * {@code jdk.VirtualThreadPinned} olaylarını süreç içinden akış olarak okur, her olayı sabitlenmenin gerçekleştiği
+ * uygulama çerçevesiyle etiketleyip booking.threads.virtual.pinned zamanlayıcısına yazar ve her çerçeve için
+ * yığın izini bir kez loglar. Uygulama kodu kilit olarak ReentrantLock kullanır; raporlanan çerçeveler genellikle
+ * kütüphane içindedir.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "booking.threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.example.BookingApp.";
+    private static final int MAX_REPORTED_FRAMES = 256;
+    private static final int LOGGED_STACK_DEPTH = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${booking.threads.pinning-monitor.threshold-ms:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+        } catch (RuntimeException e) {
+            // JFR kapalı ya da desteklenmiyor olabilir; izleme olmadan devam edilir
+            log.warn("Could not start virtual thread pinning monitor: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String frame = pinningFrame(event.getStackTrace());
+        boolean known = reportedFrames.contains(frame);
+        // Etiket kardinalitesi sınırlı kalsın: sınırdan sonra görülen yeni çerçeveler "other" altında toplanır
+        if (!known && reportedFrames.size() < MAX_REPORTED_FRAMES && reportedFrames.add(frame)) {
+            known = true;
+            log.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), frame,
+                    formatStack(event.getStackTrace()));
+        }
+        Timer.builder("booking.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .tag("frame", known ? frame : "other")
+                .register(meterRegistry)
+                .record(event.getDuration());
+    }
+
+    // Önce uygulama çerçevesi; yoksa JDK dışındaki ilk çerçeve (sabitlemeye yol açan kütüphane)
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String firstNonJdk = null;
+        for (RecordedFrame frame : frames) {
+            String className = frame.getMethod().getType().getName();
+            if (className.startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+            if (firstNonJdk == null && !isJdkClass(className)) {
+                firstNonJdk = describe(frame);
+            }
+        }
+        if (firstNonJdk != null) {
+            return firstNonJdk;
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static boolean isJdkClass(String className) {
+        return className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.")
+                || className.startsWith("sun.") || className.startsWith("com.sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder stack = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_STACK_DEPTH); i++) {
+            RecordedFrame frame = frames.get(i);
+            stack.append(System.lineSeparator()).append("\tat ").append(describe(frame))
+                    .append(':').append(frame.getLineNumber());
+        }
+        return stack.toString();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.BookingApp.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.example.BookingApp.concurrency.BoundedVirtualThreadExecutor;
+import com.example.BookingApp.payment.PaymentGatewayClient;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@Slf4j
+public class PaymentConfig {
+
+    private static final int AWAIT_TERMINATION_SECONDS = 30;
+
+    // Ödeme sağlayıcısı çağrıları için ayrı havuz; istek thread'leri ve DB bağlantıları beklemede tutulmaz.
+    // Kuyruk doluysa görev reddedilir ve ödeme hemen FAILED olarak kapatılır.
+    // Sanal thread kipinde aynı sınırlar korunur, yalnızca bekleyen çağrılar platform thread'i tutmaz.
+    // Eşzamanlılığı asıl bu havuz sınırlar; PaymentGatewayClient bulkhead'i daha dar olursa fazlası GATEWAY_BUSY ile düşer.
+    @Bean(name = "paymentGatewayExecutor")
+    public Executor paymentGatewayExecutor(
+            @Value("${booking.payments.gateway-concurrency:32}") int concurrency,
+            @Value("${booking.payments.queue-capacity:1000}") int queueCapacity,
+            @Value("${booking.payments.gateway.max-concurrent-calls:40}") int maxConcurrentCalls,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (maxConcurrentCalls < concurrency) {
+            log.warn("Payment gateway bulkhead ({}) is smaller than gateway-concurrency ({}); "
+                    + "authorizations above the bulkhead will fail as {}", maxConcurrentCalls, concurrency,
+                    PaymentGatewayClient.BULKHEAD_FULL);
+        }
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("payment-gateway-", concurrency, queueCapacity,
+                    AWAIT_TERMINATION_SECONDS);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-gateway-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(AWAIT_TERMINATION_SECONDS);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.BookingApp.config;
 
+import com.example.BookingApp.cache.TieredCacheManager;
+import com.example.BookingApp.cache.TieredCacheManager.LocalCacheSpec;
+import com.example.BookingApp.codec.CompactRedisSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 
 import org.springframework.cache.annotation.EnableCaching;
@@ -9,7 +14,7 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
@@ -26,43 +31,81 @@ public class RedisConfig {
 	//Daha çok doğrudan Redis ile etkileşim için. 
 	//kodun içinde Redis’e key-value şeklinde veri yazmak, okumak, set, hash, list gibi yapılarını kullanmak için.e
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CompactRedisSerializer compactRedisSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(compactRedisSerializer);
+        template.setHashValueSerializer(compactRedisSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
     
     
+    // Oturum ve önbellek değerleri için sürümlü ikili format; eski JSON değerleri okumaya devam eder
+    @Bean
+    public CompactRedisSerializer compactRedisSerializer(
+            @Value("${booking.redis.serializer.compression-threshold-bytes:1024}") int compressionThreshold) {
+        return new CompactRedisSerializer(compressionThreshold);
+    }
+    
+    
+    // Pub/sub dinleyicileri (ör. oturum yakın önbelleğinin düğümler arası silme mesajları)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+    
+    
     //Spring cache abstraction.  
     //@Cacheable, @CachePut, @CacheEvict annotation kullanilirsa, 
     //bunların arkasında bu CacheManager devreye girip Redisi cache deposu olarak kullanıyor.
+    //localCaches'te tanımlı önbelleklerin önünde düğüm içi Caffeine katmanı (L1) bulunur.
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CompactRedisSerializer compactRedisSerializer,
+                                     RedisTemplate<String, Object> redisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${booking.cache.local.enabled:true}") boolean localCachesEnabled) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(compactRedisSerializer));
         
         // Different TTL for different cache types
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         cacheConfigurations.put("events", defaultConfig.entryTtl(Duration.ofHours(1))); // Events cache for 1 hour
         cacheConfigurations.put("bookings", defaultConfig.entryTtl(Duration.ofMinutes(5))); // Bookings cache for 5 minutes
-        cacheConfigurations.put("seats", defaultConfig.entryTtl(Duration.ofMinutes(2))); // Seats cache for 2 minutes
         cacheConfigurations.put("venues", defaultConfig.entryTtl(Duration.ofHours(24))); // Venues cache for 24 hours
         cacheConfigurations.put("statistics", defaultConfig.entryTtl(Duration.ofMinutes(15))); // Stats cache for 15 minutes
         
-        return RedisCacheManager.builder(connectionFactory)
+        // L1 size and TTL per cache; kept shorter than the Redis TTL so a lost invalidation message heals itself.
+        // Seat lists are not here: SeatMapCache patches them per seat instead.
+        Map<String, LocalCacheSpec> localCaches = new HashMap<>();
+        localCaches.put("events", new LocalCacheSpec(1_000, Duration.ofMinutes(5)));
+        localCaches.put("venues", new LocalCacheSpec(1_000, Duration.ofMinutes(30)));
+        localCaches.put("statistics", new LocalCacheSpec(100, Duration.ofMinutes(1)));
+        
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        // Bean olarak kaydedilmediği için başlangıç önbellekleri burada yüklenir
+        redisCacheManager.afterPropertiesSet();
+        if (!localCachesEnabled) {
+            return redisCacheManager;
+        }
+        
+        return new TieredCacheManager(redisCacheManager, localCaches, redisTemplate,
+                redisMessageListenerContainer, meterRegistry);
     }
 }
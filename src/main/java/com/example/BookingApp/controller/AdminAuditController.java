@@ -0,0 +1,40 @@
+package com.example.BookingApp.controller;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.example.BookingApp.dto.audit.AuditEventPageResponse;
+import com.example.BookingApp.entityenums.AuditEventType;
+import com.example.BookingApp.service.AuditTrailService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/audit-events")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminAuditController {
+
+    private final AuditTrailService auditTrailService;
+
+    @GetMapping
+    public ResponseEntity<AuditEventPageResponse> getAuditEvents(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String bookingReference,
+            @RequestParam(required = false) AuditEventType eventType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Audit query - From: {}, To: {}, User: {}, Booking: {}, Type: {}",
+                from, to, userId, bookingReference, eventType);
+
+        AuditEventPageResponse page = auditTrailService.findEvents(
+                from, to, userId, bookingReference, eventType, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+}
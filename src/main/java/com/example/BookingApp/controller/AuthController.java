@@ -5,6 +5,7 @@ import com.example.BookingApp.dto.auth.AuthResponse;
 import com.example.BookingApp.dto.auth.RegisterRequest;
 import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,8 +21,10 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request, HttpSession session) {
-        AuthResponse response = authService.login(request, session);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request, HttpSession session,
+                                              HttpServletRequest httpRequest) {
+        // Proxy arkasında gerçek istemci adresi server.forward-headers-strategy ile X-Forwarded-For'dan gelir
+        AuthResponse response = authService.login(request, session, httpRequest.getRemoteAddr());
         if (response.success()) {
             return ResponseEntity.ok(response);
         } else {
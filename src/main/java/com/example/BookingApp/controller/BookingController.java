@@ -2,12 +2,12 @@ package com.example.BookingApp.controller;
 
 import com.example.BookingApp.dto.booking.BookingCreateRequest;
 import com.example.BookingApp.dto.booking.BookingResponse;
+import com.example.BookingApp.dto.booking.GroupBookingCreateRequest;
+import com.example.BookingApp.dto.booking.GroupBookingResponse;
 import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.exception.BookingException;
-import com.example.BookingApp.exception.UserNotLoggedInException;
-import com.example.BookingApp.service.AuthService;
+import com.example.BookingApp.security.CurrentUser;
 import com.example.BookingApp.service.BookingService;
-import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,27 +26,17 @@ import java.util.Optional;
 public class BookingController {
     
     private final BookingService bookingService;
-    private final AuthService authService;
     
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getUserBookings(HttpSession session) {
-        log.info("Fetching user bookings - Session ID: {}", session.getId());
+    public ResponseEntity<List<BookingResponse>> getUserBookings(@CurrentUser UserResponse currentUser) {
+        log.info("Fetching user bookings - User ID: {}", currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized access attempt to user bookings - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             List<BookingResponse> bookings = bookingService.getUserBookings(currentUser.id());
             log.info("Successfully retrieved {} bookings for user ID: {}", bookings.size(), currentUser.id());
             
             return ResponseEntity.ok(bookings);
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error while fetching bookings: {}", e.getMessage());
-            throw e;
         } catch (BookingException e) {
             log.error("Booking service error while fetching user bookings: {}", e.getMessage());
             throw e;
@@ -57,17 +47,12 @@ public class BookingController {
     }
     
     @PostMapping("/reserve")
-    public ResponseEntity<BookingResponse> createReservation(@Valid @RequestBody BookingCreateRequest request, HttpSession session) {
-        log.info("Creating reservation - Event ID: {}, Seat ID: {}, Session ID: {}", 
-                request.getEventId(), request.getSeatId(), session.getId());
+    public ResponseEntity<BookingResponse> createReservation(@Valid @RequestBody BookingCreateRequest request,
+                                                             @CurrentUser UserResponse currentUser) {
+        log.info("Creating reservation - Event ID: {}, Seat ID: {}, User ID: {}", 
+                request.getEventId(), request.getSeatId(), currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized reservation attempt - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             request.setUserId(currentUser.id());
             BookingResponse createdBooking = bookingService.createReservation(request);
             
@@ -78,9 +63,6 @@ public class BookingController {
             
             return ResponseEntity.ok(createdBooking);
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during reservation: {}", e.getMessage());
-            throw e;
         } catch (BookingException e) {
             log.error("Booking error during reservation - Event ID: {}, Seat ID: {}, Error: {}", 
                     request.getEventId(), request.getSeatId(), e.getMessage());
@@ -92,18 +74,37 @@ public class BookingController {
         }
     }
     
-    @PostMapping("/{bookingId}/confirm")
-    public ResponseEntity<BookingResponse> confirmBooking(@PathVariable Long bookingId, HttpSession session) {
-        log.info("Confirming booking - Booking ID: {}, Session ID: {}", bookingId, session.getId());
+    @PostMapping("/reserve/batch")
+    public ResponseEntity<GroupBookingResponse> createGroupReservation(@Valid @RequestBody GroupBookingCreateRequest request,
+                                                                       @CurrentUser UserResponse currentUser) {
+        log.info("Creating group reservation - Event ID: {}, Seat IDs: {}, User ID: {}", 
+                request.getEventId(), request.getSeatIds(), currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized booking confirmation attempt - Booking ID: {}, Session ID: {}", 
-                        bookingId, session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
+            request.setUserId(currentUser.id());
+            GroupBookingResponse createdGroup = bookingService.createGroupReservation(request);
             
+            log.info("Group reservation created successfully - Reference: {}, Seats: {}, User ID: {}", 
+                    createdGroup.groupReference(), createdGroup.bookings().size(), currentUser.id());
+            
+            return ResponseEntity.ok(createdGroup);
+            
+        } catch (BookingException e) {
+            log.error("Booking error during group reservation - Event ID: {}, Seat IDs: {}, Error: {}", 
+                    request.getEventId(), request.getSeatIds(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error during group reservation - Event ID: {}, Seat IDs: {}, Error: {}", 
+                    request.getEventId(), request.getSeatIds(), e.getMessage(), e);
+            throw new RuntimeException("Failed to create group reservation: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/{bookingId}/confirm")
+    public ResponseEntity<BookingResponse> confirmBooking(@PathVariable Long bookingId, @CurrentUser UserResponse currentUser) {
+        log.info("Confirming booking - Booking ID: {}, User ID: {}", bookingId, currentUser.id());
+        
+        try {
             BookingResponse confirmedBooking = bookingService.confirmBooking(bookingId, currentUser.id());
             
             log.info("Booking confirmed successfully - Booking ID: {}, Reference: {}, User ID: {}", 
@@ -112,9 +113,6 @@ public class BookingController {
             
             return ResponseEntity.ok(confirmedBooking);
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during booking confirmation: {}", e.getMessage());
-            throw e;
         } catch (BookingException e) {
             log.error("Booking error during confirmation - Booking ID: {}, Error: {}", bookingId, e.getMessage());
             throw e;
@@ -126,17 +124,10 @@ public class BookingController {
     }
     
     @DeleteMapping("/{bookingId}")
-    public ResponseEntity<SuccessResponse> cancelBooking(@PathVariable Long bookingId, HttpSession session) {
-        log.info("Cancelling booking - Booking ID: {}, Session ID: {}", bookingId, session.getId());
+    public ResponseEntity<SuccessResponse> cancelBooking(@PathVariable Long bookingId, @CurrentUser UserResponse currentUser) {
+        log.info("Cancelling booking - Booking ID: {}, User ID: {}", bookingId, currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized booking cancellation attempt - Booking ID: {}, Session ID: {}", 
-                        bookingId, session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             bookingService.cancelBooking(bookingId, currentUser.id());
             
             log.info("Booking cancelled successfully - Booking ID: {}, User ID: {}", bookingId, currentUser.id());
@@ -144,9 +135,6 @@ public class BookingController {
             
             return ResponseEntity.ok(new SuccessResponse("Booking cancelled successfully"));
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during booking cancellation: {}", e.getMessage());
-            throw e;
         } catch (BookingException e) {
             log.error("Booking error during cancellation - Booking ID: {}, Error: {}", bookingId, e.getMessage());
             throw e;
@@ -4,10 +4,14 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.dto.event.response.EventPageResponse;
 import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
 import com.example.BookingApp.dto.event.response.SeatResponse;
 import com.example.BookingApp.entityenums.EventType;
 import com.example.BookingApp.exception.EventException;
+import com.example.BookingApp.exception.ValidationException;
 import com.example.BookingApp.service.EventService;
 import com.example.BookingApp.audit.AuditLogger;
 
@@ -27,15 +31,20 @@ public class EventController {
     private final EventService eventService;
 
     @GetMapping("/public")
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
-        log.info("Fetching all active events");
+    public ResponseEntity<EventPageResponse> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("Fetching active events page - Size: {}", size);
         
         try {
-            List<EventResponse> events = eventService.getAllActiveEvents();
-            log.info("Successfully retrieved {} active events", events.size());
+            EventPageResponse page = eventService.getActiveEventsPage(cursor, size);
+            log.info("Successfully retrieved {} active events, hasMore: {}", page.size(), page.hasMore());
             
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(page);
             
+        } catch (ValidationException e) {
+            log.error("Invalid page parameters while fetching all events: {}", e.getMessage());
+            throw e;
         } catch (EventException e) {
             log.error("Event service error while fetching all events: {}", e.getMessage());
             throw e;
@@ -70,15 +79,21 @@ public class EventController {
     }
 
     @GetMapping("/public/type/{eventType}")
-    public ResponseEntity<List<EventResponse>> getEventsByType(@PathVariable EventType eventType) {
+    public ResponseEntity<EventPageResponse> getEventsByType(
+            @PathVariable EventType eventType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching events by type: {}", eventType);
         
         try {
-            List<EventResponse> events = eventService.getEventsByType(eventType);
-            log.info("Successfully retrieved {} events for type: {}", events.size(), eventType);
+            EventPageResponse page = eventService.getEventsByTypePage(eventType, cursor, size);
+            log.info("Successfully retrieved {} events for type: {}", page.size(), eventType);
             
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(page);
             
+        } catch (ValidationException e) {
+            log.error("Invalid page parameters while fetching events by type {}: {}", eventType, e.getMessage());
+            throw e;
         } catch (EventException e) {
             log.error("Event service error while fetching events by type {}: {}", eventType, e.getMessage());
             throw e;
@@ -89,15 +104,21 @@ public class EventController {
     }
 
     @GetMapping("/public/city/{city}")
-    public ResponseEntity<List<EventResponse>> getEventsByCity(@PathVariable String city) {
+    public ResponseEntity<EventPageResponse> getEventsByCity(
+            @PathVariable String city,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         log.info("Fetching events by city: {}", city);
         
         try {
-            List<EventResponse> events = eventService.getEventsByCity(city);
-            log.info("Successfully retrieved {} events for city: {}", events.size(), city);
+            EventPageResponse page = eventService.getEventsByCityPage(city, cursor, size);
+            log.info("Successfully retrieved {} events for city: {}", page.size(), city);
             
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(page);
             
+        } catch (ValidationException e) {
+            log.error("Invalid page parameters while fetching events by city {}: {}", city, e.getMessage());
+            throw e;
         } catch (EventException e) {
             log.error("Event service error while fetching events by city {}: {}", city, e.getMessage());
             throw e;
@@ -162,22 +183,28 @@ public class EventController {
     }
 
     @GetMapping("/public/search/advanced")
-    public ResponseEntity<List<EventResponse>> advancedSearch(
+    public ResponseEntity<EventPageResponse> advancedSearch(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) EventType eventType,
             @RequestParam(required = false) String city,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
 
         log.info("Advanced search - Keyword: {}, Type: {}, City: {}, Start: {}, End: {}", 
                 keyword, eventType, city, startDate, endDate);
         
         try {
-            List<EventResponse> events = eventService.advancedSearch(keyword, eventType, city, startDate, endDate);
-            log.info("Advanced search returned {} events", events.size());
+            EventSearchCriteria criteria = new EventSearchCriteria(keyword, eventType, city, startDate, endDate);
+            EventPageResponse page = eventService.advancedSearch(criteria, cursor, size);
+            log.info("Advanced search returned {} events, hasMore: {}", page.size(), page.hasMore());
             
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(page);
             
+        } catch (ValidationException e) {
+            log.error("Invalid page parameters during advanced search: {}", e.getMessage());
+            throw e;
         } catch (EventException e) {
             log.error("Event service error during advanced search: {}", e.getMessage());
             throw e;
@@ -188,9 +215,11 @@ public class EventController {
     }
 
     @GetMapping("/public/date-range")
-    public ResponseEntity<List<EventResponse>> getEventsByDateRange(
+    public ResponseEntity<EventPageResponse> getEventsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         
         log.info("Fetching events by date range - Start: {}, End: {}", startDate, endDate);
         
@@ -205,14 +234,17 @@ public class EventController {
                 throw new IllegalArgumentException("Start date must be before end date");
             }
             
-            List<EventResponse> events = eventService.getEventsByDateRange(startDate, endDate);
-            log.info("Successfully retrieved {} events for date range {} to {}", events.size(), startDate, endDate);
+            EventPageResponse page = eventService.getEventsByDateRangePage(startDate, endDate, cursor, size);
+            log.info("Successfully retrieved {} events for date range {} to {}", page.size(), startDate, endDate);
             
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(page);
             
         } catch (IllegalArgumentException e) {
             log.error("Invalid date range parameters: {}", e.getMessage());
             throw e;
+        } catch (ValidationException e) {
+            log.error("Invalid page parameters while fetching events by date range: {}", e.getMessage());
+            throw e;
         } catch (EventException e) {
             log.error("Event service error while fetching events by date range: {}", e.getMessage());
             throw e;
@@ -240,4 +272,24 @@ public class EventController {
             throw new RuntimeException("Failed to retrieve available seats: " + e.getMessage());
         }
     }
+
+    @GetMapping("/public/{eventId}/seat-map")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long eventId) {
+        log.info("Fetching seat map for event ID: {}", eventId);
+        
+        try {
+            SeatMapResponse seatMap = eventService.getSeatMap(eventId);
+            log.info("Successfully retrieved seat map for event ID: {} - {} seats, version {}",
+                    eventId, seatMap.seats().size(), seatMap.version());
+            
+            return ResponseEntity.ok(seatMap);
+            
+        } catch (EventException e) {
+            log.error("Event service error while fetching seat map for event ID {}: {}", eventId, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Unexpected error while fetching seat map for event ID {}: {}", eventId, e.getMessage(), e);
+            throw new RuntimeException("Failed to retrieve seat map: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
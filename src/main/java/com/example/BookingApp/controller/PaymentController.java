@@ -0,0 +1,58 @@
+package com.example.BookingApp.controller;
+
+import com.example.BookingApp.dto.event.PaymentDto;
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.security.CurrentUser;
+import com.example.BookingApp.service.PaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentController {
+    
+    private final PaymentService paymentService;
+    
+    // Ödeme PENDING olarak kabul edilir; sonuç Location başlığındaki adresten sorgulanır
+    @PostMapping
+    public ResponseEntity<PaymentDto> processPayment(@Valid @RequestBody PaymentDto request,
+                                                     @CurrentUser UserResponse currentUser) {
+        log.info("Processing payment - Booking ID: {}, User ID: {}", request.getBookingId(), currentUser.id());
+        
+        PaymentDto payment = paymentService.processPayment(request, currentUser);
+        
+        log.info("Payment accepted - Reference: {}, Status: {}, User ID: {}", 
+                payment.getPaymentReference(), payment.getStatus(), currentUser.id());
+        
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/payments/" + payment.getPaymentReference()))
+                .body(payment);
+    }
+    
+    @GetMapping("/{paymentReference}")
+    public ResponseEntity<PaymentDto> getPayment(@PathVariable String paymentReference,
+                                                 @CurrentUser UserResponse currentUser) {
+        return paymentService.getPaymentByReference(paymentReference, currentUser)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/{paymentId}/refund")
+    public ResponseEntity<PaymentDto> refundPayment(@PathVariable Long paymentId, @CurrentUser UserResponse currentUser) {
+        log.info("Refunding payment - Payment ID: {}, User ID: {}", paymentId, currentUser.id());
+        
+        PaymentDto refunded = paymentService.refundPayment(paymentId, currentUser);
+        
+        log.info("Payment refunded - Reference: {}, User ID: {}", refunded.getPaymentReference(), currentUser.id());
+        return ResponseEntity.ok(refunded);
+    }
+}
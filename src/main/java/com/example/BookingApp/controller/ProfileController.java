@@ -6,10 +6,12 @@ import org.springframework.web.bind.annotation.*;
 import com.example.BookingApp.dto.auth.ChangePasswordRequest;
 import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.dto.user.UserUpdateDto;
-import com.example.BookingApp.exception.UserNotLoggedInException;
 import com.example.BookingApp.exception.ValidationException;
+import com.example.BookingApp.security.CurrentUser;
+import com.example.BookingApp.security.CustomUserDetailsConverter;
 import com.example.BookingApp.service.AuthService;
 import com.example.BookingApp.service.UserService;
+import com.example.BookingApp.util.SessionService;
 
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
@@ -25,77 +27,51 @@ public class ProfileController {
 
     private final UserService userService;
     private final AuthService authService;
+    private final SessionService sessionService;
 
     @GetMapping
-    public ResponseEntity<UserResponse> getCurrentUserProfile(HttpSession session) {
-        log.info("Fetching current user profile - Session ID: {}", session.getId());
+    public ResponseEntity<UserResponse> getCurrentUserProfile(@CurrentUser UserResponse currentUser) {
+        log.info("Fetching current user profile - User ID: {}", currentUser.id());
         
-        try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized profile access attempt - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
-            log.info("Successfully retrieved profile for user ID: {}", currentUser.id());
-            
-            return ResponseEntity.ok(currentUser);
-            
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error while fetching profile: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Unexpected error while fetching profile: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to retrieve profile: " + e.getMessage());
-        }
+        // Filtrenin oturumdan çözdüğü kullanıcı; profil güncellemesi oturumdaki kopyayı da yeniler
+        return ResponseEntity.ok(currentUser);
     }
 
     @PutMapping
-    public ResponseEntity<UserResponse> updateProfile(@Valid @RequestBody UserUpdateDto userDto, HttpSession session) {
-        log.info("Updating user profile - Session ID: {}", session.getId());
+    public ResponseEntity<UserResponse> updateProfile(@Valid @RequestBody UserUpdateDto userDto,
+                                                      @CurrentUser UserResponse currentUser, HttpSession session) {
+        log.info("Updating user profile - User ID: {}", currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized profile update attempt - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             UserResponse updatedUser = userService.updateUser(currentUser.id(), userDto);
+            // Sonraki istekler kullanıcıyı oturumdan okur; oturumdaki kopya güncel kalsın
+            sessionService.updateUserInSession(session.getId(), CustomUserDetailsConverter.fromDto(updatedUser));
             
             log.info("Profile updated successfully for user ID: {}", currentUser.id());
             
             return ResponseEntity.ok(updatedUser);
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during profile update: {}", e.getMessage());
-            throw e;
         } catch (ValidationException e) {
             log.error("Validation error during profile update - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage());
+                    currentUser.id(), e.getMessage());
             throw e;
         } catch (RuntimeException e) {
             log.error("Runtime error during profile update - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage());
+                    currentUser.id(), e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("Unexpected error during profile update - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage(), e);
+                    currentUser.id(), e.getMessage(), e);
             throw new RuntimeException("Failed to update profile: " + e.getMessage());
         }
     }
 
     @PostMapping("/change-password")
-    public ResponseEntity<SuccessResponse> changePassword(@Valid @RequestBody ChangePasswordRequest request, HttpSession session) {
-        log.info("Password change request - Session ID: {}", session.getId());
+    public ResponseEntity<SuccessResponse> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                                          @CurrentUser UserResponse currentUser) {
+        log.info("Password change request - User ID: {}", currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized password change attempt - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             if (request.getCurrentPassword() == null || request.getCurrentPassword().trim().isEmpty()) {
                 log.warn("Empty current password provided for user ID: {}", currentUser.id());
                 throw new ValidationException("Current password is required");
@@ -112,35 +88,26 @@ public class ProfileController {
             
             return ResponseEntity.ok(new SuccessResponse("Password changed successfully"));
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during password change: {}", e.getMessage());
-            throw e;
         } catch (ValidationException e) {
             log.error("Validation error during password change - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage());
+                    currentUser.id(), e.getMessage());
             throw e;
         } catch (RuntimeException e) {
             log.error("Runtime error during password change - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage());
+                    currentUser.id(), e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("Unexpected error during password change - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage(), e);
+                    currentUser.id(), e.getMessage(), e);
             throw new RuntimeException("Failed to change password: " + e.getMessage());
         }
     }
 
     @PostMapping("/deactivate")
-    public ResponseEntity<SuccessResponse> deactivateAccount(HttpSession session) {
-        log.info("Account deactivation request - Session ID: {}", session.getId());
+    public ResponseEntity<SuccessResponse> deactivateAccount(@CurrentUser UserResponse currentUser, HttpSession session) {
+        log.info("Account deactivation request - User ID: {}", currentUser.id());
         
         try {
-            UserResponse currentUser = authService.getCurrentUser(session);
-            if (currentUser == null) {
-                log.warn("Unauthorized account deactivation attempt - Session ID: {}", session.getId());
-                throw new UserNotLoggedInException("Authentication required");
-            }
-            
             userService.deactivateUser(currentUser.id());
             
             log.info("Account deactivated successfully for user ID: {}", currentUser.id());
@@ -149,29 +116,17 @@ public class ProfileController {
             
             return ResponseEntity.ok(new SuccessResponse("Account deactivated successfully"));
             
-        } catch (UserNotLoggedInException e) {
-            log.error("Authentication error during account deactivation: {}", e.getMessage());
-            throw e;
         } catch (RuntimeException e) {
             log.error("Runtime error during account deactivation - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage());
+                    currentUser.id(), e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("Unexpected error during account deactivation - User ID: {}, Error: {}", 
-                    getCurrentUserIdSafely(session), e.getMessage(), e);
+                    currentUser.id(), e.getMessage(), e);
             throw new RuntimeException("Failed to deactivate account: " + e.getMessage());
         }
     }
     
-    private Long getCurrentUserIdSafely(HttpSession session) {
-        try {
-            UserResponse user = authService.getCurrentUser(session);
-            return user != null ? user.id() : null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
     public static class SuccessResponse {
         private String message;
         
@@ -0,0 +1,10 @@
+package com.example.BookingApp.dto.audit;
+
+import java.util.List;
+
+public record AuditEventPageResponse(
+    List<AuditEventResponse> events,
+    String nextCursor,
+    boolean hasMore,
+    int size
+) {}
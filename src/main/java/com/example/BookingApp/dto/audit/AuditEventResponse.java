@@ -0,0 +1,17 @@
+package com.example.BookingApp.dto.audit;
+
+import com.example.BookingApp.entityenums.AuditEventType;
+
+import java.time.LocalDateTime;
+
+public record AuditEventResponse(
+    Long id,
+    AuditEventType eventType,
+    LocalDateTime occurredAt,
+    Long userId,
+    String username,
+    String sessionFingerprint,
+    String bookingReference,
+    String client,
+    String detail
+) {}
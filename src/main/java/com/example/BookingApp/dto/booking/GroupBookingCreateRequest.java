@@ -0,0 +1,20 @@
+package com.example.BookingApp.dto.booking;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class GroupBookingCreateRequest {
+    @NotNull(message = "Event ID is required")
+    private Long eventId;
+    
+    @NotEmpty(message = "At least one seat is required")
+    @Size(max = 10, message = "At most 10 seats can be reserved at once")
+    private List<@NotNull(message = "Seat ID is required") Long> seatIds;
+    
+    private Long userId;
+}
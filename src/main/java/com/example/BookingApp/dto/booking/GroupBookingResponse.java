@@ -0,0 +1,16 @@
+package com.example.BookingApp.dto.booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.BookingApp.entityenums.BookingStatus;
+
+public record GroupBookingResponse(
+	    String groupReference,
+	    Long eventId,
+	    BookingStatus status,
+	    BigDecimal totalAmount,
+	    LocalDateTime reservedUntil,
+	    List<BookingResponse> bookings
+	) {}
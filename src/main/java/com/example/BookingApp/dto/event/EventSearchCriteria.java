@@ -0,0 +1,22 @@
+package com.example.BookingApp.dto.event;
+
+import com.example.BookingApp.entityenums.EventType;
+import java.time.LocalDateTime;
+
+// Gelişmiş arama filtreleri - boş bırakılan alanlar sorguya eklenmez
+public record EventSearchCriteria(
+    String keyword,
+    EventType eventType,
+    String city,
+    LocalDateTime startDate,
+    LocalDateTime endDate
+) {
+    public EventSearchCriteria {
+        keyword = blankToNull(keyword);
+        city = blankToNull(city);
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
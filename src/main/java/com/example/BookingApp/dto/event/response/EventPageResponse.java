@@ -0,0 +1,10 @@
+package com.example.BookingApp.dto.event.response;
+
+import java.util.List;
+
+public record EventPageResponse(
+    List<EventResponse> events,
+    String nextCursor,
+    boolean hasMore,
+    int size
+) {}
@@ -0,0 +1,9 @@
+package com.example.BookingApp.dto.event.response;
+
+import java.util.List;
+
+public record SeatMapResponse(
+    Long eventId,
+    long version,
+    List<SeatResponse> seats
+) {}
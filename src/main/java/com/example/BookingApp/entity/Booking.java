@@ -16,7 +16,9 @@ import com.example.BookingApp.entityenums.BookingStatus;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_group_reference", columnList = "group_reference")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +39,9 @@ public class Booking {
     @Column(unique = true)
     private String bookingReference;
     
+    // Aynı istekte birlikte ayrılan koltukların ortak referansı; tekil rezervasyonlarda null
+    private String groupReference;
+    
     private BigDecimal totalAmount;
     
     @Enumerated(EnumType.STRING)
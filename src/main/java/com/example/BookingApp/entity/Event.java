@@ -20,7 +20,11 @@ import com.example.BookingApp.entityenums.EventType;
 @Setter
 @Getter
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_status_date_id", columnList = "status, event_date, id"),
+    @Index(name = "idx_events_type_status_date_id", columnList = "event_type, status, event_date, id"),
+    @Index(name = "idx_events_updated_at", columnList = "updated_at")
+})
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -48,6 +52,16 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventStatus status = EventStatus.ACTIVE;
     
+    // Denormalized seat counters, maintained by booking transitions
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long availableSeatCount;
+    
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long reservedSeatCount;
+    
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long bookedSeatCount;
+    
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Seat> seats;
     
@@ -56,4 +70,16 @@ public class Event {
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+    
+    // Arama indeksi değişen etkinlikleri bu alana göre çeker
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,49 @@
+package com.example.BookingApp.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+import com.example.BookingApp.entityenums.OutboxEventType;
+
+// Durum değişikliğiyle aynı transaction'da yazılan, relay tarafından en az bir kez iletilen yan etki kaydı
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_pending", columnList = "processed_at, available_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType eventType;
+    
+    @Column(nullable = false)
+    private String aggregateType;
+    
+    @Column(nullable = false)
+    private Long aggregateId;
+    
+    // JSON
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    private LocalDateTime createdAt;
+    
+    // Bu zamandan önce teslim edilmez: yeniden deneme gecikmesi ya da relay kiralama süresi
+    private LocalDateTime availableAt;
+    
+    private LocalDateTime processedAt;
+    private int attempts;
+    
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,7 @@
+package com.example.BookingApp.entityenums;
+
+public enum AuditEventType {
+    LOGIN_SUCCEEDED, LOGIN_FAILED, REGISTRATION_SUCCEEDED, REGISTRATION_FAILED, LOGOUT,
+    BOOKING_RESERVED, BOOKING_CONFIRMED, BOOKING_CANCELLED, BOOKING_EXPIRED,
+    PAYMENT_INITIATED, PAYMENT_COMPLETED, PAYMENT_FAILED, PAYMENT_REFUNDED
+}
@@ -0,0 +1,6 @@
+package com.example.BookingApp.entityenums;
+
+public enum OutboxEventType {
+    BOOKING_CONFIRMED, BOOKING_CANCELLED, BOOKING_EXPIRED,
+    PAYMENT_COMPLETED, PAYMENT_FAILED, PAYMENT_REFUNDED
+}
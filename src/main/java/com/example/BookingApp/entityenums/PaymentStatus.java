@@ -1,5 +1,5 @@
 package com.example.BookingApp.entityenums;
 
 public enum PaymentStatus {
-    PENDING, PROCESSING, COMPLETED, FAILED, REFUNDED, CANCELLED
+    PENDING, PROCESSING, COMPLETED, FAILED, REFUND_PENDING, REFUNDED, CANCELLED
 }
@@ -0,0 +1,18 @@
+package com.example.BookingApp.exception;
+
+/**
+ * Giriş denemesi kabul edilmedi: kullanıcı ya da IP için başarısız deneme sınırı aşıldı. İstemci {@code retryAfterSeconds} sonra yeniden deneyebilir (429).
+ */
+public class LoginThrottledException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.BookingApp.exception;
+
+/**
+ * Parola doğrulama/hash havuzu dolu ya da istek kuyrukta zaman aşımına uğradı. Giriş, kayıt ve parola değişikliği
+ * için aynıdır; istemci {@code retryAfterSeconds} sonra yeniden deneyebilir (503).
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
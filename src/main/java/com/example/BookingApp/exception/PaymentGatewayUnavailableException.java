@@ -0,0 +1,23 @@
+package com.example.BookingApp.exception;
+
+/**
+ * Sağlayıcı çağrısı yapılamadı ya da sonuç alınamadı (bulkhead dolu, zaman aşımı, devre açık, iletişim hatası).
+ */
+public class PaymentGatewayUnavailableException extends RuntimeException {
+    
+    private final String reason;
+    
+    public PaymentGatewayUnavailableException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+    
+    public PaymentGatewayUnavailableException(String reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.BookingApp.expiry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hiyerarşik zamanlama çarkı (Varghese &amp; Lauck).
+ * <p>
+ * Seviye 0'daki her kova bir tick'i, seviye L'deki her kova wheelSize^L tick'i kapsar. Uzak son tarihler
+ * üst seviyelerde bekler ve kovaları sırası geldiğinde alt seviyelere indirilir; böylece kayıt ve tick
+ * işlemleri bekleyen öğe sayısından bağımsız olarak O(1) kalır. Süresi dolan öğeler tek listede döner.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private record Entry<T>(T item, long tick) {}
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelSpans;
+    private final ArrayDeque<Entry<T>>[][] buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final List<T> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelSpans = new long[levels];
+        this.buckets = new ArrayDeque[levels][wheelSize];
+
+        long span = 1;
+        for (int level = 0; level < levels; level++) {
+            levelSpans[level] = span;
+            span = Math.multiplyExact(span, wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        // Son tarih tick sınırına yukarı yuvarlanır; öğe asla erken dönmez
+        long tick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        lock.lock();
+        try {
+            place(new Entry<>(item, tick));
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Çarkı verilen zamana kadar ilerletir ve bu arada süresi dolan öğeleri döner.
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        lock.lock();
+        try {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = levelSpans.length - 1; level >= 1; level--) {
+                    if (currentTick % levelSpans[level] == 0) {
+                        cascade(buckets[level][slot(currentTick, level)]);
+                    }
+                }
+                cascade(buckets[0][slot(currentTick, 0)]);
+            }
+
+            List<T> expired = new ArrayList<>(due);
+            due.clear();
+            size -= expired.size();
+            return expired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cascade(ArrayDeque<Entry<T>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        // Önce kopyalanır: en üst seviyede tur atan öğe aynı kovaya geri düşebilir
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        entries.forEach(this::place);
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick() - currentTick;
+        if (delta <= 0) {
+            due.add(entry.item());
+            return;
+        }
+
+        int level = 0;
+        while (level < levelSpans.length - 1 && delta >= levelSpans[level] * wheelSize) {
+            level++;
+        }
+        // En üst seviyeyi aşan öğeler orada tur atar; her boşaltmada yeniden yerleştirilir
+        buckets[level][slot(entry.tick(), level)].add(entry);
+    }
+
+    private int slot(long tick, int level) {
+        return (int) ((tick / levelSpans[level]) % wheelSize);
+    }
+}
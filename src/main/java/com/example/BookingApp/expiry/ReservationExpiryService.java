@@ -0,0 +1,189 @@
+package com.example.BookingApp.expiry;
+
+import com.example.BookingApp.audit.AuditLogger;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entityenums.AuditEventType;
+import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.OutboxEventType;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.outbox.OutboxService;
+import com.example.BookingApp.repository.BookingRepository;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.repository.projection.ReservationDeadline;
+import com.example.BookingApp.service.SeatCounterService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Süresi dolan RESERVED rezervasyonları serbest bırakır.
+ * <p>
+ * Her rezervasyon oluşturulurken son tarihiyle zamanlama çarkına kaydedilir; her tick'te süresi dolanlar
+ * toplu olarak EXPIRED yapılır ve koltukları AVAILABLE'a döner. Çark yalnızca bu düğümün bildiklerini
+ * tutar: açılışta RESERVED satırlardan yeniden kurulur, başka düğümlerde oluşan rezervasyonlar da
+ * periyodik veritabanı taramasıyla yakalanır.
+ */
+@Service
+@Slf4j
+public class ReservationExpiryService {
+    
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 3;
+    
+    private final BookingRepository bookingRepository;
+    private final SeatRepository seatRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatCounterService seatCounterService;
+    private final OutboxService outboxService;
+    private final AuditLogger auditLogger;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final int batchSize;
+    
+    public ReservationExpiryService(BookingRepository bookingRepository,
+                                    SeatRepository seatRepository,
+                                    SeatInventoryService seatInventoryService,
+                                    SeatCounterService seatCounterService,
+                                    OutboxService outboxService,
+                                    AuditLogger auditLogger,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${booking.reservations.expiry-tick-ms:1000}") long tickMillis,
+                                    @Value("${booking.reservations.expiry-batch-size:500}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.seatRepository = seatRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatCounterService = seatCounterService;
+        this.outboxService = outboxService;
+        this.auditLogger = auditLogger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+        this.batchSize = batchSize;
+    }
+    
+    public void register(Long bookingId, LocalDateTime reservedUntil) {
+        wheel.schedule(bookingId, toEpochMillis(reservedUntil));
+    }
+    
+    public int pendingCount() {
+        return wheel.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingReservations() {
+        List<ReservationDeadline> deadlines = bookingRepository.findReservationDeadlines(BookingStatus.RESERVED);
+        deadlines.forEach(deadline -> register(deadline.getId(), deadline.getReservedUntil()));
+        log.info("Reservation expiry wheel loaded with {} pending reservations", deadlines.size());
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.reservations.expiry-tick-ms:1000}")
+    public void expireDueReservations() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (!due.isEmpty()) {
+            release(due);
+        }
+    }
+    
+    // Başka düğümlerde oluşturulan ya da çark dışında kalan rezervasyonlar için emniyet ağı
+    @Scheduled(fixedDelayString = "${booking.reservations.expiry-sweep-ms:60000}")
+    public void sweepExpiredReservations() {
+        List<Long> expired;
+        do {
+            expired = bookingRepository.findExpiredReservationIds(
+                    LocalDateTime.now(), BookingStatus.RESERVED, PageRequest.ofSize(batchSize));
+            if (!expired.isEmpty() && release(expired) == 0) {
+                break;
+            }
+        } while (expired.size() == batchSize);
+    }
+    
+    /**
+     * Verilen rezervasyonlardan hâlâ RESERVED ve süresi dolmuş olanları serbest bırakır.
+     * Onaylanmış ya da iptal edilmiş kayıtlar atlanır; aynı id'nin iki kez gelmesi zararsızdır.
+     */
+    public int release(List<Long> bookingIds) {
+        int released = 0;
+        for (int from = 0; from < bookingIds.size(); from += batchSize) {
+            List<Long> batch = bookingIds.subList(from, Math.min(from + batchSize, bookingIds.size()));
+            try {
+                Integer count = transactionTemplate.execute(tx -> releaseBatch(batch));
+                released += count == null ? 0 : count;
+            } catch (Exception e) {
+                // Bir sonraki tarama yeniden dener
+                log.error("Failed to release {} expired reservations: {}", batch.size(), e.getMessage(), e);
+            }
+        }
+        if (released > 0) {
+            log.info("Released {} expired reservations", released);
+        }
+        return released;
+    }
+    
+    private int releaseBatch(List<Long> bookingIds) {
+        List<Booking> lapsed = bookingRepository.lockLapsedReservations(
+                bookingIds, BookingStatus.RESERVED, LocalDateTime.now());
+        if (lapsed.isEmpty()) {
+            return 0;
+        }
+        
+        Map<Long, List<Long>> seatIdsByEvent = new HashMap<>();
+        List<Long> lapsedIds = new ArrayList<>(lapsed.size());
+        for (Booking booking : lapsed) {
+            lapsedIds.add(booking.getId());
+            seatIdsByEvent.computeIfAbsent(booking.getEvent().getId(), id -> new ArrayList<>())
+                    .add(booking.getSeat().getId());
+        }
+        
+        bookingRepository.updateStatusIn(lapsedIds, BookingStatus.EXPIRED);
+        seatIdsByEvent.forEach(this::releaseSeats);
+        for (Booking booking : lapsed) {
+            // Toplu UPDATE yönetilen nesneleri güncellemez; setStatus her birini kirletip commit'te ayrı UPDATE
+            // ürettirirdi, bu yüzden yeni durum olay yüküne doğrudan verilir
+            outboxService.publishBookingEvent(OutboxEventType.BOOKING_EXPIRED, booking, BookingStatus.EXPIRED);
+            auditLogger.logBookingTransition(AuditEventType.BOOKING_EXPIRED, booking);
+        }
+        return lapsed.size();
+    }
+    
+    private void releaseSeats(Long eventId, List<Long> seatIds) {
+        if (seatInventoryService.isEnabled()) {
+            Map<SeatStatus, List<Long>> seatIdsByPrevious = new EnumMap<>(SeatStatus.class);
+            for (Long seatId : seatIds) {
+                SeatStatus previous = seatInventoryService.apply(eventId, seatId, SeatStatus.AVAILABLE);
+                if (previous != null) {
+                    seatIdsByPrevious.computeIfAbsent(previous, s -> new ArrayList<>()).add(seatId);
+                }
+            }
+            seatIdsByPrevious.forEach((previous, changed) ->
+                    seatCounterService.recordTransitions(eventId, changed, previous, SeatStatus.AVAILABLE));
+        } else {
+            int released = seatRepository.updateSeatStatusIn(seatIds, SeatStatus.RESERVED, SeatStatus.AVAILABLE);
+            if (released == seatIds.size()) {
+                seatCounterService.recordTransitions(eventId, seatIds, SeatStatus.RESERVED, SeatStatus.AVAILABLE);
+            } else {
+                // Hangi koltukların RESERVED olmadığını bilmiyoruz; sayaçlar sayıyla, harita yeniden yüklenerek güncellenir
+                seatCounterService.recordTransitions(eventId, SeatStatus.RESERVED, SeatStatus.AVAILABLE, released);
+            }
+        }
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.BookingApp.inventory;
+
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bir etkinliğin koltuk durumlarını bellekte tutar.
+ * Her SeatStatus için ayrı bir bitset (long kelimeleri) vardır; koltuk indeksi = bit numarası.
+ * Durum geçişleri kilitsiz CAS ile yapılır, kaynak bitini temizleyen çağıran kazanır.
+ * Transaction içindeki geçişler commit/rollback'e kadar bekleyen olarak izlenir; {@link #committedSeats()}
+ * onları son commit edilmiş durumlarıyla döner.
+ */
+public class SeatInventory {
+
+    public enum ClaimResult {
+        CLAIMED, NOT_AVAILABLE, UNKNOWN_SEAT
+    }
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+
+    private final Long eventId;
+    private final long[] seatIds;
+    private final SeatResponse[] seats;
+    private final AtomicLongArray[] statusBits;
+    private final AtomicLongArray dirty;
+    private final Map<Long, PendingSeat> pending = new ConcurrentHashMap<>();
+    // Bekleyen geçişler paylaşımlı, commit edilmiş görüntü özel kilit alır; geçiş ile kaydı arasında okunamaz
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+
+    private SeatInventory(Long eventId, SeatResponse[] seats) {
+        this.eventId = eventId;
+        this.seats = seats;
+        this.seatIds = new long[seats.length];
+        int words = (seats.length + 63) >>> 6;
+        this.statusBits = new AtomicLongArray[STATUSES.length];
+        for (int i = 0; i < STATUSES.length; i++) {
+            statusBits[i] = new AtomicLongArray(words);
+        }
+        this.dirty = new AtomicLongArray(words);
+
+        for (int index = 0; index < seats.length; index++) {
+            seatIds[index] = seats[index].id();
+            setBit(statusBits[seats[index].status().ordinal()], index);
+        }
+    }
+
+    public static SeatInventory of(Long eventId, List<SeatResponse> seats) {
+        SeatResponse[] sorted = seats.toArray(new SeatResponse[0]);
+        Arrays.sort(sorted, Comparator.comparingLong(SeatResponse::id));
+        return new SeatInventory(eventId, sorted);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int size() {
+        return seats.length;
+    }
+
+    public boolean contains(long seatId) {
+        return indexOf(seatId) >= 0;
+    }
+
+    /**
+     * Koltuğu beklenen durumdan yeni duruma taşır. Aynı koltuk için yarışan çağıranlardan yalnızca biri kazanır.
+     */
+    public ClaimResult transition(long seatId, SeatStatus expected, SeatStatus newStatus) {
+        int index = indexOf(seatId);
+        if (index < 0) {
+            return ClaimResult.UNKNOWN_SEAT;
+        }
+        if (!clearBit(statusBits[expected.ordinal()], index)) {
+            return ClaimResult.NOT_AVAILABLE;
+        }
+        setBit(statusBits[newStatus.ordinal()], index);
+        setBit(dirty, index);
+        return ClaimResult.CLAIMED;
+    }
+
+    /**
+     * Koltuğu mevcut durumundan bağımsız olarak verilen duruma zorlar ve önceki durumu döner.
+     */
+    public SeatStatus apply(long seatId, SeatStatus newStatus) {
+        int index = indexOf(seatId);
+        if (index < 0) {
+            return null;
+        }
+        SeatStatus previous = null;
+        for (SeatStatus status : STATUSES) {
+            if (status != newStatus && clearBit(statusBits[status.ordinal()], index)) {
+                previous = status;
+            }
+        }
+        if (!setBit(statusBits[newStatus.ordinal()], index) && previous == null) {
+            previous = newStatus;
+        }
+        setBit(dirty, index);
+        return previous;
+    }
+
+    /**
+     * {@link #transition} gibi; başarılı geçiş {@link #settle} çağrılana kadar commit edilmemiş sayılır.
+     */
+    public ClaimResult transitionUncommitted(long seatId, SeatStatus expected, SeatStatus newStatus) {
+        pendingLock.readLock().lock();
+        try {
+            ClaimResult result = transition(seatId, expected, newStatus);
+            if (result == ClaimResult.CLAIMED) {
+                markPending(seatId, expected);
+            }
+            return result;
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@link #apply} gibi; değişiklik {@link #settle} çağrılana kadar commit edilmemiş sayılır.
+     */
+    public SeatStatus applyUncommitted(long seatId, SeatStatus newStatus) {
+        pendingLock.readLock().lock();
+        try {
+            SeatStatus previous = apply(seatId, newStatus);
+            if (previous != null && previous != newStatus) {
+                markPending(seatId, previous);
+            }
+            return previous;
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bekleyen bir geçişin transaction'ı bitti. {@code committedStatus} null ise commit edilmiş durum değişmez
+     * (rollback); geri alma bu çağrıdan önce yapılmış olmalıdır.
+     */
+    public void settle(long seatId, SeatStatus committedStatus) {
+        pending.computeIfPresent(seatId, (id, seat) -> seat.holders() == 1 ? null
+                : new PendingSeat(committedStatus != null ? committedStatus : seat.committed(), seat.holders() - 1));
+    }
+
+    public SeatStatus statusOf(long seatId) {
+        int index = indexOf(seatId);
+        return index < 0 ? null : statusAt(index);
+    }
+
+    public SeatResponse seat(long seatId) {
+        int index = indexOf(seatId);
+        return index < 0 ? null : withStatus(seats[index], statusAt(index));
+    }
+
+    public boolean isAvailable(long seatId) {
+        int index = indexOf(seatId);
+        return index >= 0 && isSet(statusBits[SeatStatus.AVAILABLE.ordinal()], index);
+    }
+
+    public long count(SeatStatus status) {
+        AtomicLongArray bits = statusBits[status.ordinal()];
+        long count = 0;
+        for (int word = 0; word < bits.length(); word++) {
+            count += Long.bitCount(bits.get(word));
+        }
+        return count;
+    }
+
+    /**
+     * Tüm koltuklar id sırasıyla, güncel durumlarıyla. Geçiş ortasındaki koltuk yüklemedeki durumuyla döner.
+     */
+    public List<SeatResponse> allSeats() {
+        List<SeatResponse> result = new ArrayList<>(seats.length);
+        for (int index = 0; index < seats.length; index++) {
+            SeatStatus status = statusAt(index);
+            result.add(status == null ? seats[index] : withStatus(seats[index], status));
+        }
+        return result;
+    }
+
+    /**
+     * {@link #allSeats()} gibi, ama commit edilmemiş geçişlerdeki koltuklar son commit edilmiş durumlarıyla döner.
+     */
+    public List<SeatResponse> committedSeats() {
+        pendingLock.writeLock().lock();
+        try {
+            List<SeatResponse> result = allSeats();
+            if (!pending.isEmpty()) {
+                result.replaceAll(seat -> {
+                    PendingSeat pendingSeat = pending.get(seat.id());
+                    return pendingSeat == null ? seat : withStatus(seat, pendingSeat.committed());
+                });
+            }
+            return result;
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+    }
+
+    public List<SeatResponse> seatsWithStatus(SeatStatus status) {
+        AtomicLongArray bits = statusBits[status.ordinal()];
+        List<SeatResponse> result = new ArrayList<>();
+        for (int word = 0; word < bits.length(); word++) {
+            long value = bits.get(word);
+            while (value != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(value);
+                result.add(withStatus(seats[index], status));
+                value &= value - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Son yazımdan beri değişen koltukları güncel durumlarına göre gruplayıp kirli işaretlerini temizler.
+     */
+    public Map<SeatStatus, List<Long>> drainDirty() {
+        Map<SeatStatus, List<Long>> changes = new EnumMap<>(SeatStatus.class);
+        for (int word = 0; word < dirty.length(); word++) {
+            long value = dirty.getAndSet(word, 0L);
+            while (value != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(value);
+                value &= value - 1;
+
+                SeatStatus status = statusAt(index);
+                if (status == null) {
+                    // Geçiş ortasında - bir sonraki yazımda tekrar dene
+                    setBit(dirty, index);
+                    continue;
+                }
+                changes.computeIfAbsent(status, s -> new ArrayList<>()).add(seatIds[index]);
+            }
+        }
+        return changes;
+    }
+
+    public void markDirty(List<Long> seatIdsToRetry) {
+        for (Long seatId : seatIdsToRetry) {
+            int index = indexOf(seatId);
+            if (index >= 0) {
+                setBit(dirty, index);
+            }
+        }
+    }
+
+    public boolean hasDirtySeats() {
+        for (int word = 0; word < dirty.length(); word++) {
+            if (dirty.get(word) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void markPending(long seatId, SeatStatus committed) {
+        pending.compute(seatId, (id, seat) -> seat == null ? new PendingSeat(committed, 1)
+                : new PendingSeat(seat.committed(), seat.holders() + 1));
+    }
+
+    private int indexOf(long seatId) {
+        int index = Arrays.binarySearch(seatIds, seatId);
+        return index >= 0 ? index : -1;
+    }
+
+    private SeatStatus statusAt(int index) {
+        for (SeatStatus status : STATUSES) {
+            if (isSet(statusBits[status.ordinal()], index)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    private static SeatResponse withStatus(SeatResponse seat, SeatStatus status) {
+        if (seat.status() == status) {
+            return seat;
+        }
+        return new SeatResponse(seat.id(), seat.eventId(), seat.seatNumber(), seat.rowNumber(), seat.section(),
+                seat.seatType(), status, seat.price(), seat.xPosition(), seat.yPosition());
+    }
+
+    private static boolean isSet(AtomicLongArray bits, int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static boolean setBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean clearBit(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    private record PendingSeat(SeatStatus committed, int holders) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.BookingApp.inventory;
+
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.repository.SeatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opsiyonel bellek içi koltuk envanteri (booking.inventory.enabled=true).
+ * Müsaitlik ve rezervasyon denemeleri bellekten cevaplanır, seats tablosuna yazım arka planda toplu yapılır.
+ * Bir etkinliğin envanterinin tek bir uygulama örneğinde tutulduğu varsayılır.
+ */
+@Service
+@Slf4j
+public class SeatInventoryService {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final SeatRepository seatRepository;
+    private final SeatMapper seatMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final Map<Long, SeatInventory> inventories = new ConcurrentHashMap<>();
+    // Çıkarılmış ama yazılamamış değişiklikleri olan envanterler; yeni isteklere kapalı, yalnızca yazımı tekrarlanır
+    private final Set<SeatInventory> retired = ConcurrentHashMap.newKeySet();
+
+    public SeatInventoryService(SeatRepository seatRepository,
+                                SeatMapper seatMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${booking.inventory.enabled:false}") boolean enabled) {
+        this.seatRepository = seatRepository;
+        this.seatMapper = seatMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public SeatInventory.ClaimResult tryReserve(Long eventId, Long seatId) {
+        SeatInventory inventory = getOrLoad(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return inventory.transition(seatId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        }
+        SeatInventory.ClaimResult result =
+                inventory.transitionUncommitted(seatId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        if (result == SeatInventory.ClaimResult.CLAIMED) {
+            settleAfterCompletion(inventory, seatId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        }
+        return result;
+    }
+
+    public SeatStatus apply(Long eventId, Long seatId, SeatStatus newStatus) {
+        SeatInventory inventory = getOrLoad(eventId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return inventory.apply(seatId, newStatus);
+        }
+        SeatStatus previous = inventory.applyUncommitted(seatId, newStatus);
+        if (previous != null && previous != newStatus) {
+            settleAfterCompletion(inventory, seatId, previous, newStatus);
+        }
+        return previous;
+    }
+
+    public Optional<SeatResponse> findSeat(Long eventId, Long seatId) {
+        return Optional.ofNullable(getOrLoad(eventId).seat(seatId));
+    }
+
+    /**
+     * Koltuk haritası gibi başka düğümlerle paylaşılan kopyalar için: commit edilmemiş rezervasyonları içermez.
+     */
+    public List<SeatResponse> getCommittedSeats(Long eventId) {
+        return getOrLoad(eventId).committedSeats();
+    }
+
+    public List<SeatResponse> getAvailableSeats(Long eventId) {
+        return getOrLoad(eventId).seatsWithStatus(SeatStatus.AVAILABLE);
+    }
+
+    public long countSeats(Long eventId, SeatStatus status) {
+        return getOrLoad(eventId).count(status);
+    }
+
+    /**
+     * Envanteri önce haritadan çıkarır, sonra yazar: çıkarıldıktan sonra yeni talep alamaz.
+     * Yazılamayan ya da referansı önceden almış çağıranlardan gelen geç değişiklikler yazılana kadar tekrar denenir.
+     */
+    public void evict(Long eventId) {
+        SeatInventory inventory = inventories.remove(eventId);
+        if (inventory != null) {
+            flush(inventory);
+            if (inventory.hasDirtySeats()) {
+                retired.add(inventory);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.inventory.flush-interval-ms:50}")
+    public void flushDirtySeats() {
+        if (!enabled) {
+            return;
+        }
+        inventories.values().forEach(this::flush);
+        retired.removeIf(inventory -> {
+            flush(inventory);
+            return !inventory.hasDirtySeats();
+        });
+    }
+
+    private SeatInventory getOrLoad(Long eventId) {
+        return inventories.computeIfAbsent(eventId, this::load);
+    }
+
+    private SeatInventory load(Long eventId) {
+        List<SeatResponse> seats = seatMapper.toResponseList(
+                seatRepository.findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(eventId));
+        log.info("Loaded seat inventory for event ID: {} ({} seats)", eventId, seats.size());
+        return SeatInventory.of(eventId, seats);
+    }
+
+    private void flush(SeatInventory inventory) {
+        Map<SeatStatus, List<Long>> changes = inventory.drainDirty();
+
+        changes.forEach((status, seatIds) -> {
+            for (int from = 0; from < seatIds.size(); from += WRITE_BATCH_SIZE) {
+                List<Long> batch = seatIds.subList(from, Math.min(from + WRITE_BATCH_SIZE, seatIds.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> seatRepository.updateSeatStatusIn(batch, status));
+                } catch (Exception e) {
+                    log.error("Failed to write {} seat(s) as {} for event ID: {}, will retry",
+                            batch.size(), status, inventory.getEventId(), e);
+                    inventory.markDirty(batch);
+                }
+            }
+        });
+    }
+
+    private void settleAfterCompletion(SeatInventory inventory, Long seatId, SeatStatus previous, SeatStatus newStatus) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    inventory.apply(seatId, previous);
+                    inventory.settle(seatId, null);
+                } else {
+                    inventory.settle(seatId, newStatus);
+                }
+            }
+        });
+    }
+}
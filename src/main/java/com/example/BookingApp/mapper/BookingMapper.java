@@ -20,6 +20,7 @@ public interface BookingMapper {
     @Mapping(target = "seat", ignore = true) 
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "bookingReference", ignore = true) 
+    @Mapping(target = "groupReference", ignore = true)
     @Mapping(target = "totalAmount", ignore = true) 
     @Mapping(target = "status", ignore = true) 
     @Mapping(target = "reservedUntil", ignore = true)
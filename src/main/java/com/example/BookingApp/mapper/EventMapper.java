@@ -1,6 +1,7 @@
 package com.example.BookingApp.mapper;
 import com.example.BookingApp.dto.event.*;
 import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
 import com.example.BookingApp.entity.Event;
 import org.mapstruct.*;
 import java.util.List;
@@ -11,16 +12,41 @@ public interface EventMapper {
     // Entity -> Response (for read operations)
     @Mapping(target = "venue", source = "venue")
     @Mapping(target = "availableSeats", ignore = true) 
-    @Mapping(target = "availableSeatCount", ignore = true) 
-    @Mapping(target = "totalSeatCount", ignore = true) 
+    @Mapping(target = "availableSeatCount", source = "availableSeatCount")
+    @Mapping(target = "totalSeatCount",
+             expression = "java(event.getAvailableSeatCount() + event.getReservedSeatCount() + event.getBookedSeatCount())")
     EventResponse toResponse(Event event);
     
     List<EventResponse> toResponseList(List<Event> events);
     
+    default EventResponse withAvailableSeats(EventResponse response, List<SeatResponse> availableSeats) {
+        return new EventResponse(
+            response.id(),
+            response.title(),
+            response.description(),
+            response.eventType(),
+            response.venue(),
+            response.eventDate(),
+            response.eventEndDate(),
+            response.bookingStartDate(),
+            response.bookingEndDate(),
+            response.basePrice(),
+            response.imageUrl(),
+            response.organizer(),
+            response.status(),
+            availableSeats,
+            response.availableSeatCount(),
+            response.totalSeatCount()
+        );
+    }
+    
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "venue", ignore = true) 
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "availableSeatCount", ignore = true)
+    @Mapping(target = "reservedSeatCount", ignore = true)
+    @Mapping(target = "bookedSeatCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Event toEntity(EventCreateRequest request);
@@ -28,6 +54,9 @@ public interface EventMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "venue", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "availableSeatCount", ignore = true)
+    @Mapping(target = "reservedSeatCount", ignore = true)
+    @Mapping(target = "bookedSeatCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateEntity(EventCreateRequest request, @MappingTarget Event event);
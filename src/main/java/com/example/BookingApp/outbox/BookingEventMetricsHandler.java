@@ -0,0 +1,34 @@
+package com.example.BookingApp.outbox;
+
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entityenums.OutboxEventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Analitik: olay sayıları ve commit'ten teslimata kadar geçen süre
+@Component
+@RequiredArgsConstructor
+public class BookingEventMetricsHandler implements OutboxHandler {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    public Set<OutboxEventType> eventTypes() {
+        return EnumSet.allOf(OutboxEventType.class);
+    }
+    
+    @Override
+    public void handle(OutboxEvent event) {
+        meterRegistry.counter("booking.outbox.events", "type", event.getEventType().name()).increment();
+        if (event.getCreatedAt() != null) {
+            meterRegistry.timer("booking.outbox.delivery_lag")
+                    .record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+        }
+    }
+}
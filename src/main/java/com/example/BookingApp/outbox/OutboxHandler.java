@@ -0,0 +1,20 @@
+package com.example.BookingApp.outbox;
+
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entityenums.OutboxEventType;
+
+import java.util.Set;
+
+/**
+ * Outbox kayıtlarının süreç içi tüketicisi.
+ * <p>
+ * Teslimat en az bir kezdir: işleyici aynı kaydı birden fazla kez görebilir (ör. aynı kayıttaki başka bir
+ * işleyici hata verdiyse ya da relay işlem sonunu yazamadan düştüyse), bu yüzden idempotent olmalıdır.
+ * İşleyiciler relay'in transaction'ı dışında çağrılır; veritabanına yazan işleyici kendi transaction'ını açar.
+ */
+public interface OutboxHandler {
+
+    Set<OutboxEventType> eventTypes();
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,144 @@
+package com.example.BookingApp.outbox;
+
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entityenums.OutboxEventType;
+import com.example.BookingApp.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outbox kayıtlarını partiler halinde işleyicilere iletir.
+ * <p>
+ * Her turda bir parti SKIP LOCKED ile alınır ve kiralanır (availableAt ileri çekilir), işleyiciler transaction
+ * dışında çağrılır, başarılı kayıtlar tek UPDATE ile işlendi olarak işaretlenir. Relay işaretlemeden önce
+ * düşerse kira dolunca kayıtlar yeniden teslim edilir. Hata veren kayıt üstel gecikmeyle yeniden denenir;
+ * {@code max-attempts} sonrası tabloda bırakılır (processedAt boş, lastError dolu) ve
+ * {@code dead-letter-retention-hours} dolunca silinir.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxEventType, List<OutboxHandler>> handlersByType = new EnumMap<>(OutboxEventType.class);
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retention;
+    private final Duration deadLetterRetention;
+    
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       PlatformTransactionManager transactionManager,
+                       List<OutboxHandler> handlers,
+                       @Value("${booking.outbox.batch-size:100}") int batchSize,
+                       @Value("${booking.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${booking.outbox.lease-ms:60000}") long leaseMillis,
+                       @Value("${booking.outbox.retention-hours:24}") long retentionHours,
+                       @Value("${booking.outbox.dead-letter-retention-hours:168}") long deadLetterRetentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofHours(retentionHours);
+        this.deadLetterRetention = Duration.ofHours(deadLetterRetentionHours);
+        for (OutboxHandler handler : handlers) {
+            handler.eventTypes().forEach(type ->
+                    handlersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(handler));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.outbox.relay-interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+    
+    @Scheduled(cron = "${booking.outbox.cleanup-cron:0 30 * * * *}")
+    public void deleteProcessedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(now.minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} processed outbox events", deleted);
+        }
+        Integer deadLetters = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDeadLettersBefore(maxAttempts, now.minus(deadLetterRetention)));
+        if (deadLetters != null && deadLetters > 0) {
+            log.warn("Deleted {} outbox events that exhausted {} attempts", deadLetters, maxAttempts);
+        }
+    }
+    
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> pending = outboxEventRepository.lockPending(now, maxAttempts, PageRequest.ofSize(batchSize));
+            if (!pending.isEmpty()) {
+                outboxEventRepository.lease(pending.stream().map(OutboxEvent::getId).toList(), now.plus(lease));
+            }
+            return pending;
+        });
+        return batch == null ? List.of() : batch;
+    }
+    
+    private void deliver(List<OutboxEvent> batch) {
+        List<Long> processed = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            try {
+                for (OutboxHandler handler : handlersByType.getOrDefault(event.getEventType(), List.of())) {
+                    handler.handle(event);
+                }
+                processed.add(event.getId());
+            } catch (Exception e) {
+                scheduleRetry(event, e);
+            }
+        }
+        
+        if (!processed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markProcessed(processed, LocalDateTime.now()));
+        }
+    }
+    
+    private void scheduleRetry(OutboxEvent event, Exception error) {
+        int attempt = event.getAttempts() + 1;
+        long backoffSeconds = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(attempt, 16));
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        
+        if (attempt >= maxAttempts) {
+            log.error("Outbox event {} ({}) failed {} times, giving up: {}",
+                    event.getId(), event.getEventType(), attempt, message, error);
+        } else {
+            log.warn("Outbox event {} ({}) failed, retrying in {}s: {}",
+                    event.getId(), event.getEventType(), backoffSeconds, message);
+        }
+        
+        String lastError = message;
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markFailed(
+                event.getId(), lastError, LocalDateTime.now().plusSeconds(backoffSeconds)));
+    }
+}
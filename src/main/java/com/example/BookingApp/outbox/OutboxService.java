@@ -0,0 +1,86 @@
+package com.example.BookingApp.outbox;
+
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.OutboxEventType;
+import com.example.BookingApp.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Yan etkileri outbox tablosuna yazar. Çağıranın transaction'ı zorunludur: kayıt, durum değişikliğiyle
+ * birlikte commit edilir ya da birlikte geri alınır.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType eventType, String aggregateType, Long aggregateId, Map<String, ?> payload) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setPayload(toJson(payload));
+        event.setCreatedAt(now);
+        event.setAvailableAt(now);
+        
+        outboxEventRepository.save(event);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBookingEvent(OutboxEventType eventType, Booking booking) {
+        publishBookingEvent(eventType, booking, booking.getStatus());
+    }
+    
+    /**
+     * Durumu toplu UPDATE ile değişmiş, yönetilen nesnesi henüz eski durumu taşıyan rezervasyonlar için.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBookingEvent(OutboxEventType eventType, Booking booking, BookingStatus status) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("bookingReference", booking.getBookingReference());
+        payload.put("eventId", booking.getEvent().getId());
+        payload.put("seatId", booking.getSeat().getId());
+        payload.put("userId", booking.getUser() != null ? booking.getUser().getId() : null);
+        payload.put("status", status.name());
+        publish(eventType, "Booking", booking.getId(), payload);
+    }
+    
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishPaymentEvent(OutboxEventType eventType, Payment payment) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("paymentId", payment.getId());
+        payload.put("paymentReference", payment.getPaymentReference());
+        payload.put("bookingId", payment.getBooking().getId());
+        payload.put("amount", payment.getAmount());
+        payload.put("currency", payment.getCurrency());
+        payload.put("status", payment.getStatus().name());
+        payload.put("gatewayResponse", payment.getGatewayResponse());
+        publish(eventType, "Payment", payment.getId(), payload);
+    }
+    
+    private String toJson(Map<String, ?> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.BookingApp.payment;
+
+import java.math.BigDecimal;
+
+/**
+ * Ödeme sağlayıcısı SPI'ı. Uygulamalar bloklayan çağrılar yapabilir; eşzamanlılık sınırı, zaman aşımı ve
+ * devre kesici {@link PaymentGatewayClient} tarafından uygulanır. Ret (ör. yetersiz bakiye) normal bir sonuçtur
+ * ve {@link GatewayResult#approved()} false döner; iletişim hataları istisna olarak fırlatılır.
+ */
+public interface PaymentGateway {
+
+    GatewayResult authorize(AuthorizationRequest request);
+
+    GatewayResult refund(RefundRequest request);
+
+    record AuthorizationRequest(String paymentReference, BigDecimal amount, String currency,
+                                String cardNumber, String cvv) {
+    }
+
+    record RefundRequest(String paymentReference, String transactionId, BigDecimal amount) {
+    }
+
+    record GatewayResult(boolean approved, String transactionId, String responseCode) {
+
+        public static GatewayResult approved(String transactionId, String responseCode) {
+            return new GatewayResult(true, transactionId, responseCode);
+        }
+
+        public static GatewayResult declined(String responseCode) {
+            return new GatewayResult(false, null, responseCode);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.BookingApp.payment;
+
+import com.example.BookingApp.exception.PaymentGatewayUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link PaymentGateway} çağrılarını korumalı yapar: eşzamanlı çağrı sayısı bulkhead ile sınırlanır, her çağrı
+ * zaman aşımına tabidir ve art arda hatalar devre kesiciyi açar. Böylece yavaş ya da çökmüş bir sağlayıcı
+ * thread'leri tüketmek yerine hızlıca {@link PaymentGatewayUnavailableException} ile sonuçlanır.
+ */
+@Component
+@Slf4j
+public class PaymentGatewayClient {
+
+    public static final String BULKHEAD_FULL = "GATEWAY_BUSY";
+    public static final String CIRCUIT_OPEN = "GATEWAY_CIRCUIT_OPEN";
+    public static final String TIMEOUT = "GATEWAY_TIMEOUT";
+    public static final String ERROR = "GATEWAY_ERROR";
+
+    private final PaymentGateway gateway;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final long timeoutMillis;
+    private final CircuitBreaker circuitBreaker;
+    // Zaman aşımında çağrıyı bırakabilmek için her çağrı ayrı (sanal) thread'de çalışır
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaymentGatewayClient(PaymentGateway gateway,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.payments.gateway.max-concurrent-calls:40}") int maxConcurrentCalls,
+                                @Value("${booking.payments.gateway.max-wait-ms:100}") long maxWaitMillis,
+                                @Value("${booking.payments.gateway.timeout-ms:3000}") long timeoutMillis,
+                                @Value("${booking.payments.gateway.circuit.window-size:20}") int windowSize,
+                                @Value("${booking.payments.gateway.circuit.minimum-calls:10}") int minimumCalls,
+                                @Value("${booking.payments.gateway.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                                @Value("${booking.payments.gateway.circuit.open-ms:30000}") long openMillis) {
+        this.gateway = gateway;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxWaitMillis = maxWaitMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openMillis,
+                System::currentTimeMillis);
+
+        Gauge.builder("booking.payments.gateway.circuit_state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+        Gauge.builder("booking.payments.gateway.bulkhead_available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    public PaymentGateway.GatewayResult authorize(PaymentGateway.AuthorizationRequest request) {
+        return call("authorize", () -> gateway.authorize(request));
+    }
+
+    public PaymentGateway.GatewayResult refund(PaymentGateway.RefundRequest request) {
+        return call("refund", () -> gateway.refund(request));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private PaymentGateway.GatewayResult call(String operation, Callable<PaymentGateway.GatewayResult> call) {
+        // Önce bulkhead: yer yoksa devre kesicinin deneme hakkı harcanmaz
+        if (!acquireBulkhead()) {
+            throw rejected(operation, BULKHEAD_FULL, "Payment gateway is at capacity", null);
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw rejected(operation, CIRCUIT_OPEN, "Payment gateway is temporarily unavailable", null);
+            }
+
+            Future<PaymentGateway.GatewayResult> future = callExecutor.submit(call);
+            try {
+                PaymentGateway.GatewayResult result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                circuitBreaker.onFailure();
+                throw rejected(operation, TIMEOUT, "Payment gateway did not respond in " + timeoutMillis + " ms", e);
+            } catch (ExecutionException e) {
+                circuitBreaker.onFailure();
+                throw rejected(operation, ERROR, "Payment gateway call failed", e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                circuitBreaker.onFailure();
+                Thread.currentThread().interrupt();
+                throw rejected(operation, ERROR, "Interrupted while waiting for payment gateway", e);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private PaymentGatewayUnavailableException rejected(String operation, String reason, String message, Throwable cause) {
+        meterRegistry.counter("booking.payments.gateway.rejected", "operation", operation, "reason", reason).increment();
+        log.warn("Payment gateway {} failed: {}", operation, reason);
+        return new PaymentGatewayUnavailableException(reason, message, cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        callExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.BookingApp.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Süreç içi sağlayıcı simülatörü.
+ * <p>
+ * Gecikme p50/p95/p99 noktaları arasında doğrusal olarak dağıtılır; belirli oranlarda ret, hata ve
+ * yanıt vermeme (zaman aşımını tetiklemek için uzun bekleme) üretir. Yük testleri ve yerel geliştirme içindir.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.payments.gateway", havingValue = "simulator", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final long p50Millis;
+    private final long p95Millis;
+    private final long p99Millis;
+    private final double declineRate;
+    private final double errorRate;
+    private final double hangRate;
+    private final long hangMillis;
+
+    public SimulatedPaymentGateway(@Value("${booking.payments.simulator.latency-p50-ms:300}") long p50Millis,
+                                   @Value("${booking.payments.simulator.latency-p95-ms:800}") long p95Millis,
+                                   @Value("${booking.payments.simulator.latency-p99-ms:1500}") long p99Millis,
+                                   @Value("${booking.payments.simulator.decline-rate:0.1}") double declineRate,
+                                   @Value("${booking.payments.simulator.error-rate:0.0}") double errorRate,
+                                   @Value("${booking.payments.simulator.hang-rate:0.0}") double hangRate,
+                                   @Value("${booking.payments.simulator.hang-ms:30000}") long hangMillis) {
+        if (p50Millis > p95Millis || p95Millis > p99Millis) {
+            throw new IllegalArgumentException("Simulator latency percentiles must be non-decreasing");
+        }
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.declineRate = declineRate;
+        this.errorRate = errorRate;
+        this.hangRate = hangRate;
+        this.hangMillis = hangMillis;
+    }
+
+    @Override
+    public GatewayResult authorize(AuthorizationRequest request) {
+        simulateRoundTrip();
+
+        if (request.cardNumber() == null || request.cardNumber().length() < 10) {
+            return GatewayResult.declined("INVALID_CARD");
+        }
+        if (request.cvv() == null || request.cvv().length() != 3) {
+            return GatewayResult.declined("INVALID_CVV");
+        }
+        if (ThreadLocalRandom.current().nextDouble() < declineRate) {
+            return GatewayResult.declined("PAYMENT_DECLINED");
+        }
+        return GatewayResult.approved(UUID.randomUUID().toString(), "SUCCESS");
+    }
+
+    @Override
+    public GatewayResult refund(RefundRequest request) {
+        simulateRoundTrip();
+        return GatewayResult.approved(request.transactionId(), "REFUND_SUCCESS");
+    }
+
+    long sampleLatencyMillis(double u) {
+        // (0, p50/2) - (0.5, p50) - (0.95, p95) - (0.99, p99) - (1, 1.5 * p99) noktaları arasında doğrusal
+        if (u < 0.5) {
+            return interpolate(u, 0, 0.5, p50Millis / 2.0, p50Millis);
+        }
+        if (u < 0.95) {
+            return interpolate(u, 0.5, 0.95, p50Millis, p95Millis);
+        }
+        if (u < 0.99) {
+            return interpolate(u, 0.95, 0.99, p95Millis, p99Millis);
+        }
+        return interpolate(u, 0.99, 1.0, p99Millis, p99Millis * 1.5);
+    }
+
+    private void simulateRoundTrip() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = random.nextDouble() < hangRate ? hangMillis : sampleLatencyMillis(random.nextDouble());
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulated gateway call interrupted", e);
+        }
+        if (random.nextDouble() < errorRate) {
+            throw new IllegalStateException("Simulated gateway error");
+        }
+    }
+
+    private static long interpolate(double u, double u0, double u1, double v0, double v1) {
+        return Math.round(v0 + (v1 - v0) * (u - u0) / (u1 - u0));
+    }
+}
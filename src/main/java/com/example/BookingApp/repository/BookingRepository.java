@@ -1,12 +1,19 @@
 package com.example.BookingApp.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.BookingApp.entity.Booking;
 import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.repository.projection.EventBookingCount;
+import com.example.BookingApp.repository.projection.ReservationDeadline;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +48,34 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.bookedAt BETWEEN :startDate AND :endDate ORDER BY b.bookedAt DESC")
     List<Booking> findBookingsBetweenDates(@Param("startDate") LocalDateTime startDate, 
                                           @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    // Satış hızı - pencere içindeki rezervasyonlar etkinlik başına tek sorguda
+    @Query("SELECT b.event.id AS eventId, COUNT(b) AS bookingCount FROM Booking b " +
+           "WHERE b.bookedAt >= :since AND b.status IN (:statuses) GROUP BY b.event.id")
+    List<EventBookingCount> countBookingsByEventSince(@Param("since") LocalDateTime since,
+                                                      @Param("statuses") List<BookingStatus> statuses);
+    
+    // Onay/iptal ile süre aşımı aynı satırda yarışmasın diye satır kilidiyle okunur
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :bookingId")
+    Optional<Booking> findByIdForUpdate(@Param("bookingId") Long bookingId);
+    
+    @Query("SELECT b.id AS id, b.reservedUntil AS reservedUntil FROM Booking b WHERE b.status = :status")
+    List<ReservationDeadline> findReservationDeadlines(@Param("status") BookingStatus status);
+    
+    @Query("SELECT b.id FROM Booking b WHERE b.reservedUntil < :now AND b.status = :status ORDER BY b.reservedUntil")
+    List<Long> findExpiredReservationIds(@Param("now") LocalDateTime now,
+                                         @Param("status") BookingStatus status,
+                                         Pageable pageable);
+    
+    // Kilit alındıktan sonra koşul yeniden değerlendirilir; bu arada onaylanan rezervasyon dönmez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :bookingIds AND b.status = :status AND b.reservedUntil <= :now")
+    List<Booking> lockLapsedReservations(@Param("bookingIds") Collection<Long> bookingIds,
+                                         @Param("status") BookingStatus status,
+                                         @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :newStatus WHERE b.id IN :bookingIds")
+    int updateStatusIn(@Param("bookingIds") Collection<Long> bookingIds, @Param("newStatus") BookingStatus newStatus);
+}
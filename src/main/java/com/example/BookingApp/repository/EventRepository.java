@@ -1,6 +1,8 @@
 package com.example.BookingApp.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -8,24 +10,75 @@ import org.springframework.stereotype.Repository;
 import com.example.BookingApp.entity.Event;
 import com.example.BookingApp.entityenums.EventStatus;
 import com.example.BookingApp.entityenums.EventType;
+import com.example.BookingApp.repository.projection.EventTitleView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventSearchRepository {
 
-    List<Event> findByStatusOrderByEventDateAsc(EventStatus status);
+    // Keyset sayfalama - (eventDate, id) sırasına göre imleçten sonraki kayıtlar, OFFSET yok.
+    // Baştaki e.eventDate >= :afterDate koşulu indekste aralık taraması sağlar; venue (EAGER) aynı sorguda gelir.
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.status = :status AND " +
+           "e.eventDate >= :afterDate AND (e.eventDate > :afterDate OR e.id > :afterId) " +
+           "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findPageByStatus(@Param("status") EventStatus status,
+                                 @Param("afterDate") LocalDateTime afterDate,
+                                 @Param("afterId") Long afterId,
+                                 Pageable pageable);
 
-    List<Event> findByEventTypeAndStatusOrderByEventDateAsc(EventType eventType, EventStatus status);
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.eventType = :eventType AND e.status = :status AND " +
+           "e.eventDate >= :afterDate AND (e.eventDate > :afterDate OR e.id > :afterId) " +
+           "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findPageByEventTypeAndStatus(@Param("eventType") EventType eventType,
+                                             @Param("status") EventStatus status,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.eventDate >= :startDate AND e.eventDate <= :endDate AND e.status = :status")
-    List<Event> findByDateRangeAndStatus(@Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate,
-                                        @Param("status") EventStatus status);
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.eventDate >= :startDate AND e.eventDate <= :endDate AND e.status = :status AND " +
+           "e.eventDate >= :afterDate AND (e.eventDate > :afterDate OR e.id > :afterId) " +
+           "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findPageByDateRangeAndStatus(@Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate,
+                                             @Param("status") EventStatus status,
+                                             @Param("afterDate") LocalDateTime afterDate,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
 
-    @Query("SELECT e FROM Event e WHERE e.venue.city = :city AND e.status = :status ORDER BY e.eventDate ASC")
-    List<Event> findByCityAndStatus(@Param("city") String city, @Param("status") EventStatus status);
+    @Query("SELECT e FROM Event e JOIN FETCH e.venue v WHERE v.city = :city AND e.status = :status AND " +
+           "e.eventDate >= :afterDate AND (e.eventDate > :afterDate OR e.id > :afterId) " +
+           "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findPageByCityAndStatus(@Param("city") String city,
+                                        @Param("status") EventStatus status,
+                                        @Param("afterDate") LocalDateTime afterDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    // Arama indeksi - venue tek sorguda gelsin
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.status = :status")
+    List<Event> findAllWithVenueByStatus(@Param("status") EventStatus status);
+
+    // Anahtar kelimesiz arama - tüm aktif etkinlikler tarih sırasıyla
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.status = :status ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findAllWithVenueByStatusOrderByEventDate(@Param("status") EventStatus status);
+
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.updatedAt >= :since")
+    List<Event> findChangedSince(@Param("since") LocalDateTime since);
+
+    // Mekân adı indekste etkinlikle birlikte tutulur; değişen mekânın etkinlikleri de yeniden indekslenir
+    @Query("SELECT e FROM Event e JOIN FETCH e.venue v WHERE v.updatedAt >= :since")
+    List<Event> findByVenueChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.venue WHERE e.id IN :ids")
+    List<Event> findAllWithVenueByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Otomatik tamamlama ağacı - sadece gereken kolonlar
+    @Query("SELECT e.id AS id, e.title AS title, e.eventDate AS eventDate FROM Event e " +
+           "WHERE e.status = :status AND e.eventDate >= :from")
+    List<EventTitleView> findUpcomingTitles(@Param("status") EventStatus status, @Param("from") LocalDateTime from);
 
     // Geliştirilmiş arama - title, description, organizer ve venue arama 
     @Query("SELECT e FROM Event e WHERE " +
@@ -65,4 +118,29 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByCityAndKeyword(@Param("city") String city, 
                                     @Param("keyword") String keyword, 
                                     @Param("status") EventStatus status);
+
+    // Koltuk sayaçları - satır kilidi kısa tutulsun diye tek UPDATE ile atomik artış/azalış
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeatCount = e.availableSeatCount + :availableDelta, " +
+           "e.reservedSeatCount = e.reservedSeatCount + :reservedDelta, " +
+           "e.bookedSeatCount = e.bookedSeatCount + :bookedDelta " +
+           "WHERE e.id = :eventId")
+    int adjustSeatCounters(@Param("eventId") Long eventId,
+                           @Param("availableDelta") long availableDelta,
+                           @Param("reservedDelta") long reservedDelta,
+                           @Param("bookedDelta") long bookedDelta);
+
+    // Mutabakat - sayaçlar okunduktan sonra değişmediyse yeniden yazar
+    @Modifying
+    @Query("UPDATE Event e SET e.availableSeatCount = :available, e.reservedSeatCount = :reserved, " +
+           "e.bookedSeatCount = :booked " +
+           "WHERE e.id = :eventId AND e.availableSeatCount = :expectedAvailable " +
+           "AND e.reservedSeatCount = :expectedReserved AND e.bookedSeatCount = :expectedBooked")
+    int replaceSeatCounters(@Param("eventId") Long eventId,
+                            @Param("available") long available,
+                            @Param("reserved") long reserved,
+                            @Param("booked") long booked,
+                            @Param("expectedAvailable") long expectedAvailable,
+                            @Param("expectedReserved") long expectedReserved,
+                            @Param("expectedBooked") long expectedBooked);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.BookingApp.repository;
+
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entityenums.EventStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventSearchRepository {
+
+    // Dolu olan filtrelerden tek bir sorgu üretir; venue fetch join ile gelir, (eventDate, id) keyset sıralı
+    List<Event> searchPage(EventSearchCriteria criteria, EventStatus status,
+                           LocalDateTime afterDate, Long afterId, int limit);
+}
@@ -0,0 +1,89 @@
+package com.example.BookingApp.repository;
+
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entity.Venue;
+import com.example.BookingApp.entityenums.EventStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Event> searchPage(EventSearchCriteria criteria, EventStatus status,
+                                  LocalDateTime afterDate, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+
+        // Venue satırları ayrı SELECT'lerle değil aynı sorguda gelsin; ManyToOne olduğu için LIMIT güvenli
+        Join<Event, Venue> venue = (Join<Event, Venue>) event.<Event, Venue>fetch("venue", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(event.get("status"), status));
+
+        if (criteria.keyword() != null) {
+            String pattern = "%" + escapeLike(criteria.keyword().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    likeIgnoreCase(cb, event.get("title"), pattern),
+                    likeIgnoreCase(cb, event.get("description"), pattern),
+                    likeIgnoreCase(cb, event.get("organizer"), pattern),
+                    likeIgnoreCase(cb, venue.get("name"), pattern)));
+        }
+        if (criteria.eventType() != null) {
+            predicates.add(cb.equal(event.get("eventType"), criteria.eventType()));
+        }
+        if (criteria.city() != null) {
+            predicates.add(cb.equal(cb.lower(venue.get("city")), criteria.city().toLowerCase(Locale.ROOT)));
+        }
+        if (criteria.startDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("eventDate"), criteria.startDate()));
+        }
+        if (criteria.endDate() != null) {
+            predicates.add(cb.lessThanOrEqualTo(event.get("eventDate"), criteria.endDate()));
+        }
+
+        // Keyset: baştaki eventDate >= afterDate sınırı indekste aralık taramasına izin verir (EventRepository ile aynı)
+        Expression<LocalDateTime> eventDate = event.get("eventDate");
+        predicates.add(cb.greaterThanOrEqualTo(eventDate, afterDate));
+        predicates.add(cb.or(
+                cb.greaterThan(eventDate, afterDate),
+                cb.greaterThan(event.get("id"), afterId)));
+
+        query.select(event)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(eventDate), cb.asc(event.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private Predicate likeIgnoreCase(CriteriaBuilder cb, Expression<String> field, String pattern) {
+        return cb.like(cb.lower(field), pattern, LIKE_ESCAPE);
+    }
+
+    // Kullanıcının yazdığı % ve _ karakterleri joker olarak değil, harfiyen aranır
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
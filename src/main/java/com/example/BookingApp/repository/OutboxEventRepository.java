@@ -0,0 +1,52 @@
+package com.example.BookingApp.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.BookingApp.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // SKIP LOCKED: birden fazla düğümdeki relay'ler aynı kayıtları beklemeden farklı partiler alır
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE o.processedAt IS NULL AND o.availableAt <= :now " +
+           "AND o.attempts < :maxAttempts ORDER BY o.id")
+    List<OutboxEvent> lockPending(@Param("now") LocalDateTime now,
+                                  @Param("maxAttempts") int maxAttempts,
+                                  Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.availableAt = :until WHERE o.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.processedAt = :now WHERE o.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.attempts = o.attempts + 1, o.lastError = :error, o.availableAt = :retryAt " +
+           "WHERE o.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("retryAt") LocalDateTime retryAt);
+    
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    // Denemeleri tükenmiş (dead-letter) kayıtlar işlenmiş sayılmaz; ayrı ve daha uzun bir saklama süresiyle silinir
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.processedAt IS NULL AND o.attempts >= :maxAttempts " +
+           "AND o.createdAt < :cutoff")
+    int deleteDeadLettersBefore(@Param("maxAttempts") int maxAttempts, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,6 +1,7 @@
 package com.example.BookingApp.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,6 +10,7 @@ import com.example.BookingApp.entity.Payment;
 import com.example.BookingApp.entity.Booking;
 import com.example.BookingApp.entityenums.PaymentStatus;
 import com.example.BookingApp.entityenums.PaymentMethod;
+import jakarta.persistence.LockModeType;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +26,11 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByPaymentReference(String paymentReference);
     
+    // Sağlayıcı sonucu, zaman aşımı taraması ve iade aynı ödeme satırında sırayla çalışsın diye
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Payment p WHERE p.id = :paymentId")
+    Optional<Payment> findByIdForUpdate(@Param("paymentId") Long paymentId);
+    
     Optional<Payment> findByTransactionId(String transactionId);
     
     Optional<Payment> findByBooking(Booking booking);
@@ -9,8 +9,10 @@ import org.springframework.stereotype.Repository;
 
 import com.example.BookingApp.entity.Seat;
 import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.repository.projection.SeatStatusCount;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -29,10 +31,40 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT COUNT(s) FROM Seat s WHERE s.event.id = :eventId AND s.status = :status")
     long countByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") SeatStatus status);
     
+    // Bir sayfadaki tüm etkinlikler için durum bazlı koltuk sayıları - tek sorgu
+    @Query("SELECT s.event.id AS eventId, s.status AS status, COUNT(s) AS seatCount FROM Seat s " +
+           "WHERE s.event.id IN :eventIds GROUP BY s.event.id, s.status")
+    List<SeatStatusCount> countByEventIdsGroupedByStatus(@Param("eventIds") Collection<Long> eventIds);
+    
     @Modifying
     @Query("UPDATE Seat s SET s.status = :newStatus WHERE s.id = :seatId")
     int updateSeatStatus(@Param("seatId") Long seatId, @Param("newStatus") SeatStatus newStatus);
     
+    // Koşullu güncelleme - sadece beklenen durumdaki koltuk değişir, etkilenen satır sayısı kazananı belirler
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :newStatus " +
+           "WHERE s.id = :seatId AND s.event.id = :eventId AND s.status = :expectedStatus")
+    int updateSeatStatus(@Param("seatId") Long seatId,
+                         @Param("eventId") Long eventId,
+                         @Param("expectedStatus") SeatStatus expectedStatus,
+                         @Param("newStatus") SeatStatus newStatus);
+    
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :newStatus WHERE s.id IN :seatIds")
+    int updateSeatStatusIn(@Param("seatIds") Collection<Long> seatIds, @Param("newStatus") SeatStatus newStatus);
     
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :newStatus WHERE s.id IN :seatIds AND s.status = :expectedStatus")
+    int updateSeatStatusIn(@Param("seatIds") Collection<Long> seatIds,
+                           @Param("expectedStatus") SeatStatus expectedStatus,
+                           @Param("newStatus") SeatStatus newStatus);
     
-}
\ No newline at end of file
+    // Grup rezervasyonu - etkinliğe ait ve hâlâ beklenen durumdaki koltukları tek UPDATE ile alır
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = :newStatus WHERE s.id IN :seatIds AND s.event.id = :eventId " +
+           "AND s.status = :expectedStatus")
+    int updateSeatStatusIn(@Param("seatIds") Collection<Long> seatIds,
+                           @Param("eventId") Long eventId,
+                           @Param("expectedStatus") SeatStatus expectedStatus,
+                           @Param("newStatus") SeatStatus newStatus);
+}
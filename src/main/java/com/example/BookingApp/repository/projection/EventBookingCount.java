@@ -0,0 +1,8 @@
+package com.example.BookingApp.repository.projection;
+
+public interface EventBookingCount {
+
+    Long getEventId();
+
+    long getBookingCount();
+}
@@ -0,0 +1,12 @@
+package com.example.BookingApp.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface EventTitleView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getEventDate();
+}
@@ -0,0 +1,10 @@
+package com.example.BookingApp.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ReservationDeadline {
+
+    Long getId();
+
+    LocalDateTime getReservedUntil();
+}
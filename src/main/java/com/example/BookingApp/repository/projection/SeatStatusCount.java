@@ -0,0 +1,12 @@
+package com.example.BookingApp.repository.projection;
+
+import com.example.BookingApp.entityenums.SeatStatus;
+
+public interface SeatStatusCount {
+
+    Long getEventId();
+
+    SeatStatus getStatus();
+
+    long getSeatCount();
+}
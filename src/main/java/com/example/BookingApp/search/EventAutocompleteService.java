@@ -0,0 +1,106 @@
+package com.example.BookingApp.search;
+
+import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.repository.BookingRepository;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.projection.EventBookingCount;
+import com.example.BookingApp.repository.projection.EventTitleView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /public/search/suggestions için önek ağacı tabanlı otomatik tamamlama.
+ * Ağaç periyodik olarak veritabanından yeniden kurulur ve tek referansla değiştirilir;
+ * tuş vuruşu başına veritabanı işi yapılmaz.
+ */
+@Service
+@Slf4j
+public class EventAutocompleteService {
+    
+    static final int TOP_K = 10;
+    
+    private static final List<BookingStatus> SOLD_STATUSES =
+            List.of(BookingStatus.RESERVED, BookingStatus.CONFIRMED);
+    
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final Duration salesWindow;
+    private final boolean enabled;
+    
+    private volatile SuggestionTrie trie = SuggestionTrie.empty();
+    private volatile boolean ready;
+    
+    public EventAutocompleteService(EventRepository eventRepository,
+                                    BookingRepository bookingRepository,
+                                    @Value("${booking.search.suggestions.sales-window-hours:24}") long salesWindowHours,
+                                    @Value("${booking.search.suggestions.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.salesWindow = Duration.ofHours(salesWindowHours);
+        this.enabled = enabled;
+    }
+    
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    public List<String> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${booking.search.suggestions.refresh-interval-ms:60000}",
+               initialDelayString = "${booking.search.suggestions.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        
+        Map<Long, Long> recentSales = new HashMap<>();
+        for (EventBookingCount count : bookingRepository.countBookingsByEventSince(now.minus(salesWindow), SOLD_STATUSES)) {
+            recentSales.put(count.getEventId(), count.getBookingCount());
+        }
+        
+        // Aynı başlıklı etkinlikler tek öneridir; en yüksek ağırlığı alır
+        Map<String, Double> weights = new HashMap<>();
+        for (EventTitleView event : eventRepository.findUpcomingTitles(EventStatus.ACTIVE, now)) {
+            if (event.getTitle() == null || event.getTitle().isBlank()) {
+                continue;
+            }
+            double weight = weight(event.getEventDate(), recentSales.getOrDefault(event.getId(), 0L), now);
+            weights.merge(event.getTitle().trim(), weight, Math::max);
+        }
+        
+        trie = SuggestionTrie.build(weights.entrySet().stream()
+                .map(entry -> new SuggestionTrie.Entry(entry.getKey(), entry.getValue()))
+                .toList(), TOP_K);
+        ready = true;
+        
+        log.debug("Suggestion trie rebuilt - {} titles in {} ms",
+                trie.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    /**
+     * Yakın tarih 0..1 arası bir puan verir (30 gün sonrası yarı puan), satış hızı logaritmik eklenir;
+     * böylece çok satan bir etkinlik yakın tarihli sakin bir etkinliği geçebilir ama tek başına ezmez.
+     */
+    static double weight(LocalDateTime eventDate, long recentSales, LocalDateTime now) {
+        double daysAhead = Math.max(0, Duration.between(now, eventDate).toHours() / 24.0);
+        double proximity = 1.0 / (1.0 + daysAhead / 30.0);
+        return proximity + Math.log1p(recentSales);
+    }
+}
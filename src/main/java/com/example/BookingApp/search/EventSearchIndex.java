@@ -0,0 +1,244 @@
+package com.example.BookingApp.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Aktif etkinlikler için bellek içi ters indeks.
+ * <p>
+ * Her terim için hangi etkinliğin hangi alanlarında geçtiği tutulur. Alt dizgi aramaları için
+ * terim sözlüğü ayrıca trigram'lara göre indekslenir; böylece "konser" araması "rockkonseri"
+ * terimini tüm sözlüğü taramadan bulur. Okumalar paylaşımlı, güncellemeler özel kilitle yapılır.
+ */
+public class EventSearchIndex {
+
+    public enum Field {
+        TITLE(8), VENUE(3), ORGANIZER(3), DESCRIPTION(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    public record Document(
+            Long eventId,
+            LocalDateTime eventDate,
+            Map<Field, String> fields
+    ) {}
+
+    public record Hit(Long eventId, int score) {}
+
+    private static final int GRAM = 3;
+    private static final int EXACT = 4;
+    private static final int PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // terim -> (etkinlik -> alan bit maskesi)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // trigram -> bu trigram'ı içeren terimler
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    // etkinlik -> indekslenmiş terimleri; güncelleme sırasında eski girdileri silmek için
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    public void upsert(Document document) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (Map.Entry<Field, String> field : document.fields().entrySet()) {
+            int bit = 1 << field.getKey().ordinal();
+            for (String token : SearchText.tokenize(field.getValue())) {
+                terms.merge(token, bit, (a, b) -> a | b);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.eventId());
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                Map<Long, Integer> posting = postings.get(term.getKey());
+                if (posting == null) {
+                    posting = new HashMap<>();
+                    postings.put(term.getKey(), posting);
+                    for (String gram : gramsOf(term.getKey())) {
+                        grams.computeIfAbsent(gram, g -> new HashSet<>()).add(term.getKey());
+                    }
+                }
+                posting.put(document.eventId(), term.getValue());
+            }
+            documentTerms.put(document.eventId(), terms.keySet());
+            documents.put(document.eventId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(List<Document> snapshot) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            grams.clear();
+            documentTerms.clear();
+            this.documents.clear();
+            snapshot.forEach(this::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorgudaki her kelime en az bir alanda (tam, önek ya da alt dizgi olarak) geçmelidir.
+     * Skor alan ağırlığı ile eşleşme türünün çarpımlarının toplamıdır; eşitlikte yakın tarihli etkinlik önce gelir.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> queryTerms = SearchText.tokenize(query);
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Integer> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Comparator<Hit> ranking = Comparator.comparingInt(Hit::score).reversed()
+                    .thenComparing(hit -> documents.get(hit.eventId()).eventDate(),
+                            Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(Hit::eventId);
+
+            return scores.entrySet().stream()
+                    .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                    .sorted(ranking)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> scoreTerm(String queryTerm) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (String term : matchingTerms(queryTerm)) {
+            int match = term.equals(queryTerm) ? EXACT : term.startsWith(queryTerm) ? PREFIX : SUBSTRING;
+            for (Map.Entry<Long, Integer> posting : postings.get(term).entrySet()) {
+                scores.merge(posting.getKey(), match * fieldWeight(posting.getValue()), Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private Set<String> matchingTerms(String queryTerm) {
+        // Kısa sorgular için alt dizgi çok gürültülü; yalnızca önek eşleşmesi
+        if (queryTerm.length() < GRAM) {
+            return postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).keySet();
+        }
+
+        Set<String> candidates = null;
+        for (String gram : gramsOf(queryTerm)) {
+            Set<String> terms = grams.get(gram);
+            if (terms == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(terms);
+            } else {
+                candidates.retainAll(terms);
+            }
+        }
+        // Trigram kesişimi aday üretir; gerçek alt dizgi kontrolü yanlış pozitifleri eler
+        candidates.removeIf(term -> !term.contains(queryTerm));
+        return candidates;
+    }
+
+    private void removeLocked(Long eventId) {
+        Set<String> terms = documentTerms.remove(eventId);
+        documents.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(eventId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String gram : gramsOf(term)) {
+                    Set<String> gramTerms = grams.get(gram);
+                    if (gramTerms != null && gramTerms.remove(term) && gramTerms.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int fieldWeight(int fieldMask) {
+        int best = 0;
+        for (Field field : Field.values()) {
+            if ((fieldMask & (1 << field.ordinal())) != 0) {
+                best = Math.max(best, field.weight);
+            }
+        }
+        return best;
+    }
+
+    private static List<String> gramsOf(String term) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    public static Map<Field, String> fields(String title, String venue, String organizer, String description) {
+        Map<Field, String> fields = new EnumMap<>(Field.class);
+        fields.put(Field.TITLE, title);
+        fields.put(Field.VENUE, venue);
+        fields.put(Field.ORGANIZER, organizer);
+        fields.put(Field.DESCRIPTION, description);
+        return fields;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.BookingApp.search;
+
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Etkinlik aramalarını veritabanındaki LIKE taramaları yerine bellek içi indeksten cevaplar.
+ * İndeks açılışta tamamen kurulur, ardından etkinliğin ya da mekânının updatedAt'ine göre değişen
+ * etkinliklerle güncel tutulur.
+ * Silinen satırlar periyodik tam yeniden kurulumda temizlenir.
+ */
+@Service
+@Slf4j
+public class EventSearchService {
+    
+    private final EventRepository eventRepository;
+    private final boolean enabled;
+    private final EventSearchIndex index = new EventSearchIndex();
+    
+    private volatile boolean ready;
+    private volatile LocalDateTime watermark;
+    
+    public EventSearchService(EventRepository eventRepository,
+                              @Value("${booking.search.index.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.enabled = enabled;
+    }
+    
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    public List<Long> search(String keyword, int limit) {
+        return index.search(keyword, limit).stream()
+                .map(EventSearchIndex.Hit::eventId)
+                .toList();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${booking.search.index.rebuild-cron:0 0 * * * *}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        LocalDateTime rebuildStarted = LocalDateTime.now();
+        List<Event> events = eventRepository.findAllWithVenueByStatus(EventStatus.ACTIVE);
+        index.replaceAll(events.stream().map(this::toDocument).toList());
+        
+        watermark = events.stream()
+                .map(EventSearchService::changedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(rebuildStarted);
+        ready = true;
+        
+        log.info("Event search index rebuilt - {} events in {} ms",
+                index.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    @Scheduled(fixedDelayString = "${booking.search.index.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!isReady()) {
+            return;
+        }
+        
+        // >= ile aynı zaman damgasına sahip geç commit edilen satırlar kaçmaz; upsert tekrarlanabilir
+        Map<Long, Event> changed = new LinkedHashMap<>();
+        eventRepository.findChangedSince(watermark).forEach(event -> changed.put(event.getId(), event));
+        eventRepository.findByVenueChangedSince(watermark).forEach(event -> changed.putIfAbsent(event.getId(), event));
+        
+        LocalDateTime newWatermark = watermark;
+        for (Event event : changed.values()) {
+            apply(event);
+            LocalDateTime changedAt = changedAt(event);
+            if (changedAt != null && changedAt.isAfter(newWatermark)) {
+                newWatermark = changedAt;
+            }
+        }
+        watermark = newWatermark;
+        
+        if (!changed.isEmpty()) {
+            log.debug("Event search index refreshed with {} changed events", changed.size());
+        }
+    }
+    
+    public void apply(Event event) {
+        if (event.getStatus() == EventStatus.ACTIVE) {
+            index.upsert(toDocument(event));
+        } else {
+            index.remove(event.getId());
+        }
+    }
+    
+    private static LocalDateTime changedAt(Event event) {
+        LocalDateTime venueUpdatedAt = event.getVenue() != null ? event.getVenue().getUpdatedAt() : null;
+        return Stream.of(event.getUpdatedAt(), venueUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+    
+    private EventSearchIndex.Document toDocument(Event event) {
+        String venueName = event.getVenue() != null ? event.getVenue().getName() : null;
+        return new EventSearchIndex.Document(event.getId(), event.getEventDate(),
+                EventSearchIndex.fields(event.getTitle(), venueName, event.getOrganizer(), event.getDescription()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.BookingApp.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Öneri metinleri için değişmez önek ağacı.
+ * <p>
+ * Her metin kelime başlarından itibaren eklenir ("Rock Konseri" hem "rock..." hem "kon..." ile bulunur).
+ * Metinler ağırlık sırasıyla eklendiği için her düğümde ilk gelen k metin o önekin en iyi k sonucudur;
+ * sorgu sadece önek boyunca yürür ve hazır listeyi döner, maliyeti öneri sayısından bağımsızdır.
+ */
+public final class SuggestionTrie {
+
+    public record Entry(String text, double weight) {}
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_TOP = new int[0];
+
+    private final String[] texts;
+    private final Node root;
+    private final int topK;
+
+    private SuggestionTrie(String[] texts, Node root, int topK) {
+        this.texts = texts;
+        this.root = root;
+        this.topK = topK;
+    }
+
+    public static SuggestionTrie empty() {
+        return new SuggestionTrie(new String[0], new Node(), 0);
+    }
+
+    public static SuggestionTrie build(List<Entry> entries, int topK) {
+        List<Entry> ordered = new ArrayList<>(entries);
+        ordered.sort(Comparator.comparingDouble(Entry::weight).reversed().thenComparing(Entry::text));
+
+        String[] texts = new String[ordered.size()];
+        Node root = new Node();
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = ordered.get(i).text();
+            Set<String> tokens = SearchText.tokenize(texts[i]);
+            String key = String.join(" ", tokens);
+            int start = 0;
+            for (String token : tokens) {
+                insert(root, key, start, i, topK);
+                start += token.length() + 1;
+            }
+        }
+        return new SuggestionTrie(texts, root, topK);
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = String.join(" ", SearchText.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        int count = Math.min(Math.min(limit, topK), node.top.length);
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(texts[node.top[i]]);
+        }
+        return result;
+    }
+
+    private static void insert(Node root, String key, int start, int textIndex, int topK) {
+        Node node = root;
+        for (int i = start; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            node.offer(textIndex, topK);
+        }
+    }
+
+    // Çocuklar sıralı char dizisinde tutulur; harita yerine ikili arama ile bellek düşük kalır
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int[] top = NO_TOP;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insertAt = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        // Aynı metin bir düğüme birden çok kelimesiyle ulaşabilir ("rock rock"); tekrar eklenmez
+        void offer(int textIndex, int topK) {
+            if (top.length >= topK || (top.length > 0 && top[top.length - 1] == textIndex)) {
+                return;
+            }
+            top = Arrays.copyOf(top, top.length + 1);
+            top[top.length - 1] = textIndex;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.BookingApp.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Controller parametresine oturum filtresinin çözdüğü kullanıcıyı ({@code UserResponse}) enjekte eder.
+ * Kullanıcı veritabanından tekrar okunmaz; oturum yoksa {@code UserNotLoggedInException} fırlatılır.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,36 @@
+package com.example.BookingApp.security;
+
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.exception.UserNotLoggedInException;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * {@link CurrentUser} parametrelerini SecurityContext'teki {@link CustomUserDetails}'ten çözer.
+ * <p>
+ * {@link CustomSessionAuthenticationFilter} kullanıcıyı zaten Redis'ten (çoğunlukla yakın önbellekten) okumuştur;
+ * burada ikinci bir users sorgusu yapılmaz.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && UserResponse.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        UserResponse currentUser = SecurityUtils.getCurrentUser();
+        if (currentUser == null || !currentUser.active()) {
+            throw new UserNotLoggedInException("Authentication required");
+        }
+        return currentUser;
+    }
+}
@@ -51,7 +51,8 @@ public class CustomSessionAuthenticationFilter extends OncePerRequestFilter {
             HttpSession session = request.getSession(false);
             if (session != null) {
                 String sessionId = session.getId();
-                UserResponse userResponse = sessionService.getUserFromSession(sessionId);
+                // Oturumu okur ve TTL'leri aynı çağrıda uzatır
+                UserResponse userResponse = sessionService.touchSession(sessionId);
 
                 if (userResponse != null && userResponse.active()) {
                     CustomUserDetails userDetails = CustomUserDetailsConverter.fromDto(userResponse);
@@ -64,8 +65,6 @@ public class CustomSessionAuthenticationFilter extends OncePerRequestFilter {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                    sessionService.extendSession(sessionId);
                 } else {
                     SecurityContextHolder.clearContext();
                 }
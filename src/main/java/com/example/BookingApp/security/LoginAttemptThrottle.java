@@ -0,0 +1,119 @@
+package com.example.BookingApp.security;
+
+import com.example.BookingApp.exception.LoginThrottledException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Kullanıcı adı ve IP başına başarısız giriş sayaçları (Redis, sabit pencere).
+ * <p>
+ * Sınırı aşan kullanıcı adı ya da IP için giriş, parola doğrulanmadan {@link LoginThrottledException} ile
+ * reddedilir; böylece bir kimlik bilgisi denemesi BCrypt havuzunu tüketemez. Başarılı giriş kullanıcı
+ * sayacını sıfırlar, IP sayacını sıfırlamaz. Redis'e ulaşılamazsa kısıtlama uygulanmaz.
+ */
+@Component
+@Slf4j
+public class LoginAttemptThrottle {
+
+    private static final String USER_PREFIX = "login_attempts:user:";
+    private static final String IP_PREFIX = "login_attempts:ip:";
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+    private static final RedisScript<Long> RECORD_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/login-attempt.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttemptsPerUser;
+    private final int maxAttemptsPerIp;
+    private final long windowSeconds;
+
+    public LoginAttemptThrottle(RedisTemplate<String, Object> redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.security.login.max-attempts-per-user:5}") int maxAttemptsPerUser,
+                                @Value("${booking.security.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                                @Value("${booking.security.login.window-seconds:900}") long windowSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttemptsPerUser = maxAttemptsPerUser;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.windowSeconds = windowSeconds;
+    }
+
+    public void checkAllowed(String username, String clientIp) {
+        List<String> keys = keys(username, clientIp);
+        List<byte[]> counts;
+        try {
+            counts = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                    connection.stringCommands().mGet(keys.stream().map(STRING::serialize).toArray(byte[][]::new)));
+        } catch (Exception e) {
+            log.warn("Could not read login attempt counters, skipping throttle: {}", e.getMessage());
+            return;
+        }
+        if (counts == null) {
+            return;
+        }
+
+        if (count(counts, 0) >= maxAttemptsPerUser) {
+            throw throttled("user");
+        }
+        if (keys.size() > 1 && count(counts, 1) >= maxAttemptsPerIp) {
+            throw throttled("ip");
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        try {
+            redisTemplate.execute(RECORD_SCRIPT, STRING, LONG, keys(username, clientIp),
+                    String.valueOf(windowSeconds));
+        } catch (Exception e) {
+            log.warn("Could not record failed login attempt: {}", e.getMessage());
+        }
+    }
+
+    public void recordSuccess(String username) {
+        try {
+            redisTemplate.delete(userKey(username));
+        } catch (Exception e) {
+            log.warn("Could not reset login attempt counter: {}", e.getMessage());
+        }
+    }
+
+    private List<String> keys(String username, String clientIp) {
+        List<String> keys = new ArrayList<>(2);
+        keys.add(userKey(username));
+        if (clientIp != null && !clientIp.isBlank()) {
+            keys.add(IP_PREFIX + clientIp);
+        }
+        return keys;
+    }
+
+    // Büyük/küçük harf farkıyla sayacın atlatılmaması için
+    private static String userKey(String username) {
+        return USER_PREFIX + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static long count(List<byte[]> counts, int index) {
+        byte[] value = index < counts.size() ? counts.get(index) : null;
+        return value == null ? 0 : Long.parseLong(new String(value, StandardCharsets.UTF_8));
+    }
+
+    private LoginThrottledException throttled(String scope) {
+        meterRegistry.counter("booking.auth.login.throttled", "scope", scope).increment();
+        return new LoginThrottledException("Too many failed login attempts, please try again later", windowSeconds);
+    }
+}
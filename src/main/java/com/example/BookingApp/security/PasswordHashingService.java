@@ -0,0 +1,132 @@
+package com.example.BookingApp.security;
+
+import com.example.BookingApp.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parola doğrulama ve hash üretimini ayrı, sınırlı bir havuzda çalıştırır.
+ * <p>
+ * BCrypt bilerek CPU yoğundur; bir giriş dalgası ya da kimlik bilgisi denemesi istek thread'lerinde doğrulanırsa
+ * bütün çekirdekleri doldurur. Burada aynı anda çalışan hash sayısı {@code threads} ile, bekleyen iş sayısı
+ * {@code queue-capacity} ile sınırlıdır; kuyruk doluysa istek beklemeden {@link PasswordHashingBusyException} (503)
+ * ile reddedilir. Kuyrukta {@code timeout-ms}'den uzun bekleyen istek de aynı şekilde sonuçlanır.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private final long timeoutMillis;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${booking.security.bcrypt-strength:10}") int strength,
+                                  @Value("${booking.security.hashing.threads:0}") int threads,
+                                  @Value("${booking.security.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${booking.security.hashing.timeout-ms:2000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+
+        // Varsayılan olarak çekirdeklerin yarısı; kalanı diğer isteklere kalır. Sanal thread kipinde de platform
+        // thread'leri kullanılır: BCrypt işlemciye bağlıdır ve eşzamanlılık sınırı havuzun kendisidir
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("booking.auth.hashing.queue_depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("booking.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(String rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash yapılandırılandan farklı bir maliyetle (daha düşük ya da daha yüksek) üretilmişse true.
+     * BCrypt dışındaki biçimler için false; onları zaten doğrulayamıyoruz.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T submit(String operation, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw rejected(operation, "queue_full");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Kuyrukta bekliyorsa hiç çalışmaz; çalışmaya başladıysa sonucu yok sayılır
+            future.cancel(true);
+            throw rejected(operation, "timeout");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected(operation, "interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password " + operation + " failed", e.getCause());
+        }
+    }
+
+    private PasswordHashingBusyException rejected(String operation, String reason) {
+        meterRegistry.counter("booking.auth.hashing.rejected", "operation", operation, "reason", reason).increment();
+        log.warn("Password {} rejected: {} (queued: {})", operation, reason, executor.getQueue().size());
+        return new PasswordHashingBusyException("Server is busy verifying passwords, please retry shortly",
+                RETRY_AFTER_SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
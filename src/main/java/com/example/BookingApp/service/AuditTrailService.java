@@ -0,0 +1,135 @@
+package com.example.BookingApp.service;
+
+import com.example.BookingApp.dto.audit.AuditEventPageResponse;
+import com.example.BookingApp.dto.audit.AuditEventResponse;
+import com.example.BookingApp.entityenums.AuditEventType;
+import com.example.BookingApp.exception.ValidationException;
+import com.example.BookingApp.util.EventCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * audit_events üzerinde yönetici sorguları.
+ * <p>
+ * Her sorgu bir zaman aralığıyla sınırlıdır; böylece PostgreSQL yalnızca ilgili aylık bölümleri tarar. Kullanıcı ve
+ * rezervasyon referansı filtreleri (x, occurred_at, id) indekslerine denk gelir. Sayfalama (occurred_at, id)
+ * keyset imleciyle yapılır, OFFSET kullanılmaz. Oturum kimlikleri canlı erişim anahtarı olduğu için yanıtta yalnızca
+ * özetleri döner; aynı oturumun kayıtları yine eşleştirilebilir.
+ */
+@Service
+public class AuditTrailService {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+
+    private static final String SELECT_SQL = "SELECT id, event_type, occurred_at, user_id, username, session_id, "
+            + "booking_reference, client, detail FROM audit_events WHERE occurred_at >= ? AND occurred_at < ?";
+
+    private static final RowMapper<AuditEventResponse> ROW_MAPPER = (rs, rowNum) -> new AuditEventResponse(
+            rs.getLong("id"),
+            AuditEventType.valueOf(rs.getString("event_type")),
+            rs.getTimestamp("occurred_at").toLocalDateTime(),
+            rs.getObject("user_id", Long.class),
+            rs.getString("username"),
+            sessionFingerprint(rs.getString("session_id")),
+            rs.getString("booking_reference"),
+            rs.getString("client"),
+            rs.getString("detail"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration maxRange;
+
+    public AuditTrailService(JdbcTemplate jdbcTemplate,
+                             @Value("${booking.audit.query.max-range-days:366}") long maxRangeDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRange = Duration.ofDays(maxRangeDays);
+    }
+
+    public AuditEventPageResponse findEvents(LocalDateTime from, LocalDateTime to, Long userId,
+                                             String bookingReference, AuditEventType eventType,
+                                             String cursor, Integer size) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new ValidationException("'from' must be before 'to'");
+        }
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new ValidationException("Audit query range cannot exceed " + maxRange.toDays() + " days");
+        }
+        int pageSize = resolvePageSize(size);
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(start));
+        args.add(Timestamp.valueOf(end));
+        if (userId != null) {
+            sql.append(" AND user_id = ?");
+            args.add(userId);
+        }
+        if (bookingReference != null && !bookingReference.isBlank()) {
+            sql.append(" AND booking_reference = ?");
+            args.add(bookingReference.trim());
+        }
+        if (eventType != null) {
+            sql.append(" AND event_type = ?");
+            args.add(eventType.name());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            EventCursor after = EventCursor.decode(cursor);
+            sql.append(" AND (occurred_at, id) > (?, ?)");
+            args.add(Timestamp.valueOf(after.eventDate()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY occurred_at, id LIMIT ?");
+        args.add(pageSize + 1);
+
+        List<AuditEventResponse> events = jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+        return toPage(events, pageSize);
+    }
+
+    private static String sessionFingerprint(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sessionId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // One extra row is fetched to learn whether another page exists without a COUNT query
+    private AuditEventPageResponse toPage(List<AuditEventResponse> events, int pageSize) {
+        boolean hasMore = events.size() > pageSize;
+        List<AuditEventResponse> page = hasMore ? events.subList(0, pageSize) : events;
+
+        String nextCursor = null;
+        if (hasMore) {
+            AuditEventResponse last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(last.occurredAt(), last.id()).encode();
+        }
+
+        return new AuditEventPageResponse(page, nextCursor, hasMore, page.size());
+    }
+}
@@ -8,7 +8,12 @@ import jakarta.servlet.http.HttpSession;
 
 public interface AuthService {
     
-    AuthResponse login(AuthRequest request, HttpSession session);
+    default AuthResponse login(AuthRequest request, HttpSession session) {
+        return login(request, session, null);
+    }
+    
+    // clientIp: IP başına deneme sınırı için; bilinmiyorsa null
+    AuthResponse login(AuthRequest request, HttpSession session, String clientIp);
     
     AuthResponse register(RegisterRequest request);
     
@@ -2,6 +2,8 @@ package com.example.BookingApp.service;
 
 import com.example.BookingApp.dto.booking.BookingCreateRequest;
 import com.example.BookingApp.dto.booking.BookingResponse;
+import com.example.BookingApp.dto.booking.GroupBookingCreateRequest;
+import com.example.BookingApp.dto.booking.GroupBookingResponse;
 import com.example.BookingApp.exception.BookingException;
 
 import java.util.List;
@@ -13,6 +15,8 @@ public interface BookingService {
     
     BookingResponse createReservation(BookingCreateRequest request) throws BookingException;
     
+    GroupBookingResponse createGroupReservation(GroupBookingCreateRequest request) throws BookingException;
+    
     BookingResponse confirmBooking(Long bookingId, Long userId) throws BookingException;
     
     void cancelBooking(Long bookingId, Long userId) throws BookingException;
@@ -1,22 +1,35 @@
 package com.example.BookingApp.service;
 
+import com.example.BookingApp.cache.SeatMapCache;
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.dto.event.response.EventPageResponse;
 import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
 import com.example.BookingApp.dto.event.response.SeatResponse;
 import com.example.BookingApp.entity.Event;
 import com.example.BookingApp.entityenums.EventStatus;
 import com.example.BookingApp.entityenums.EventType;
 import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.inventory.SeatInventoryService;
 import com.example.BookingApp.mapper.EventMapper;
 import com.example.BookingApp.mapper.SeatMapper;
 import com.example.BookingApp.repository.EventRepository;
 import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.search.EventAutocompleteService;
+import com.example.BookingApp.search.EventSearchService;
+import com.example.BookingApp.util.EventCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,44 +40,75 @@ public class EventService {
     private final SeatRepository seatRepository;
     private final EventMapper eventMapper;
     private final SeatMapper seatMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final EventSearchService eventSearchService;
+    private final EventAutocompleteService eventAutocompleteService;
+    private final SeatMapCache seatMapCache;
     
-    public List<EventResponse> getAllActiveEvents() {
-        List<Event> events = eventRepository.findByStatusOrderByEventDateAsc(EventStatus.ACTIVE);
-        return events.stream()
-                .map(this::mapEventWithSeatCounts)
-                .toList();
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 5;
+    
+    public EventPageResponse getActiveEventsPage(String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<Event> events = eventRepository.findPageByStatus(
+                EventStatus.ACTIVE, after.eventDate(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return toPage(events, pageSize);
     }
     
-    public List<EventResponse> getEventsByType(EventType eventType) {
-        List<Event> events = eventRepository.findByEventTypeAndStatusOrderByEventDateAsc(eventType, EventStatus.ACTIVE);
-        return events.stream()
-                .map(this::mapEventWithSeatCounts)
-                .toList();
+    public EventPageResponse getEventsByTypePage(EventType eventType, String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<Event> events = eventRepository.findPageByEventTypeAndStatus(
+                eventType, EventStatus.ACTIVE, after.eventDate(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return toPage(events, pageSize);
     }
     
-    public List<EventResponse> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Event> events = eventRepository.findByDateRangeAndStatus(startDate, endDate, EventStatus.ACTIVE);
-        return events.stream()
-                .map(this::mapEventWithSeatCounts)
-                .toList();
+    public EventPageResponse getEventsByDateRangePage(LocalDateTime startDate, LocalDateTime endDate,
+                                                      String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<Event> events = eventRepository.findPageByDateRangeAndStatus(
+                startDate, endDate, EventStatus.ACTIVE, after.eventDate(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return toPage(events, pageSize);
     }
     
-    public List<EventResponse> getEventsByCity(String city) {
-        List<Event> events = eventRepository.findByCityAndStatus(city, EventStatus.ACTIVE);
-        return events.stream()
-                .map(this::mapEventWithSeatCounts)
-                .toList();
+    public EventPageResponse getEventsByCityPage(String city, String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<Event> events = eventRepository.findPageByCityAndStatus(
+                city, EventStatus.ACTIVE, after.eventDate(), after.id(), PageRequest.ofSize(pageSize + 1));
+        return toPage(events, pageSize);
     }
     
     public List<EventResponse> searchEvents(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllActiveEvents();
+            // Liste uç noktası değil; önceki davranış korunur ve tüm aktif etkinlikler döner
+            return eventMapper.toResponseList(
+                    eventRepository.findAllWithVenueByStatusOrderByEventDate(EventStatus.ACTIVE));
+        }
+        
+        if (!eventSearchService.isReady()) {
+            List<Event> events = eventRepository.findByKeywordAndStatus(keyword.trim(), EventStatus.ACTIVE);
+            return eventMapper.toResponseList(events);
         }
         
-        List<Event> events = eventRepository.findByKeywordAndStatus(keyword.trim(), EventStatus.ACTIVE);
-        return events.stream()
-                .map(this::mapEventWithSeatCounts)
+        List<Long> rankedIds = eventSearchService.search(keyword, MAX_SEARCH_RESULTS);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // İndeks sıralamayı verir; güncel sayaçlar için satırlar tek sorguda yüklenir
+        Map<Long, Event> eventsById = eventRepository.findAllWithVenueByIdIn(rankedIds).stream()
+                .filter(event -> event.getStatus() == EventStatus.ACTIVE)
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Event> ranked = rankedIds.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
                 .toList();
+        return eventMapper.toResponseList(ranked);
     }
     
     public List<String> getSearchSuggestions(String keyword) {
@@ -72,9 +116,13 @@ public class EventService {
             return List.of();
         }
         
+        if (eventAutocompleteService.isReady()) {
+            return eventAutocompleteService.suggest(keyword, MAX_SUGGESTIONS);
+        }
+        
         return eventRepository.findTitleSuggestions(keyword.trim(), EventStatus.ACTIVE)
                 .stream()
-                .limit(5)
+                .limit(MAX_SUGGESTIONS)
                 .toList();
     }
     
@@ -84,91 +132,53 @@ public class EventService {
     }
     
     public List<SeatResponse> getAvailableSeats(Long eventId) {
+        if (seatInventoryService.isEnabled()) {
+            return seatInventoryService.getAvailableSeats(eventId);
+        }
+        
         return seatRepository.findByEventIdAndStatus(eventId, SeatStatus.AVAILABLE)
                 .stream()
                 .map(seatMapper::toResponse)
                 .toList();
     }
     
-    public List<EventResponse> advancedSearch(String keyword, EventType eventType, String city, 
-                                            LocalDateTime startDate, LocalDateTime endDate) {
-        List<Event> events = eventRepository.findByStatusOrderByEventDateAsc(EventStatus.ACTIVE);
-        
-        return events.stream()
-                .filter(e -> keyword == null || keyword.trim().isEmpty() || 
-                           matchesKeyword(e, keyword.trim()))
-                .filter(e -> eventType == null || e.getEventType().equals(eventType))
-                .filter(e -> city == null || city.trim().isEmpty() || 
-                           e.getVenue().getCity().equalsIgnoreCase(city.trim()))
-                .filter(e -> startDate == null || e.getEventDate().isAfter(startDate) || 
-                           e.getEventDate().isEqual(startDate))
-                .filter(e -> endDate == null || e.getEventDate().isBefore(endDate) || 
-                           e.getEventDate().isEqual(endDate))
-                .map(this::mapEventWithSeatCounts)
-                .toList();
+    public SeatMapResponse getSeatMap(Long eventId) {
+        return seatMapCache.getSeatMap(eventId);
     }
     
-    private boolean matchesKeyword(Event event, String keyword) {
-        String lowerKeyword = keyword.toLowerCase();
-        return (event.getTitle() != null && event.getTitle().toLowerCase().contains(lowerKeyword)) ||
-               (event.getDescription() != null && event.getDescription().toLowerCase().contains(lowerKeyword)) ||
-               (event.getOrganizer() != null && event.getOrganizer().toLowerCase().contains(lowerKeyword)) ||
-               (event.getVenue() != null && event.getVenue().getName() != null && 
-                event.getVenue().getName().toLowerCase().contains(lowerKeyword));
+    public EventPageResponse advancedSearch(EventSearchCriteria criteria, String cursor, Integer size) {
+        EventCursor after = EventCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        List<Event> events = eventRepository.searchPage(
+                criteria, EventStatus.ACTIVE, after.eventDate(), after.id(), pageSize + 1);
+        return toPage(events, pageSize);
     }
     
-    private EventResponse mapEventWithSeatCounts(Event event) {
-        EventResponse response = eventMapper.toResponse(event);
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+    
+    // One extra row is fetched to learn whether another page exists without a COUNT query
+    private EventPageResponse toPage(List<Event> events, int pageSize) {
+        boolean hasMore = events.size() > pageSize;
+        List<Event> page = hasMore ? events.subList(0, pageSize) : events;
         
-        long totalSeats = seatRepository.countByEventIdAndStatus(event.getId(), SeatStatus.AVAILABLE) +
-                         seatRepository.countByEventIdAndStatus(event.getId(), SeatStatus.RESERVED) +
-                         seatRepository.countByEventIdAndStatus(event.getId(), SeatStatus.BOOKED);
-        long availableSeats = seatRepository.countByEventIdAndStatus(event.getId(), SeatStatus.AVAILABLE);
+        String nextCursor = null;
+        if (hasMore) {
+            Event last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(last.getEventDate(), last.getId()).encode();
+        }
         
-        return new EventResponse(
-            response.id(),
-            response.title(),
-            response.description(),
-            response.eventType(),
-            response.venue(),
-            response.eventDate(),
-            response.eventEndDate(),
-            response.bookingStartDate(),
-            response.bookingEndDate(),
-            response.basePrice(),
-            response.imageUrl(),
-            response.organizer(),
-            response.status(),
-            response.availableSeats(),
-            availableSeats,
-            totalSeats
-        );
+        return new EventPageResponse(eventMapper.toResponseList(page), nextCursor, hasMore, page.size());
     }
     
     private EventResponse mapEventWithSeats(Event event) {
-        EventResponse response = mapEventWithSeatCounts(event);
-        List<SeatResponse> availableSeats = seatRepository.findByEventIdAndStatus(event.getId(), SeatStatus.AVAILABLE)
-                .stream()
-                .map(seatMapper::toResponse)
-                .toList();
+        EventResponse response = eventMapper.toResponse(event);
+        List<SeatResponse> availableSeats = getAvailableSeats(event.getId());
         
-        return new EventResponse(
-            response.id(),
-            response.title(),
-            response.description(),
-            response.eventType(),
-            response.venue(),
-            response.eventDate(),
-            response.eventEndDate(),
-            response.bookingStartDate(),
-            response.bookingEndDate(),
-            response.basePrice(),
-            response.imageUrl(),
-            response.organizer(),
-            response.status(),
-            availableSeats,
-            response.availableSeatCount(),
-            response.totalSeatCount()
-        );
+        return eventMapper.withAvailableSeats(response, availableSeats);
     }
 }
\ No newline at end of file
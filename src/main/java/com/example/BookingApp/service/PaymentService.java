@@ -1,49 +1,192 @@
 package com.example.BookingApp.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.BookingApp.audit.AuditLogger;
 import com.example.BookingApp.dto.event.PaymentDto;
 import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.entity.Booking;
 import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entityenums.AuditEventType;
 import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.OutboxEventType;
 import com.example.BookingApp.entityenums.PaymentStatus;
 import com.example.BookingApp.repository.BookingRepository;
 import com.example.BookingApp.repository.PaymentRepository;
 import com.example.BookingApp.exception.BookingException;
+import com.example.BookingApp.exception.PaymentGatewayUnavailableException;
+import com.example.BookingApp.outbox.OutboxService;
+import com.example.BookingApp.payment.PaymentGateway;
+import com.example.BookingApp.payment.PaymentGatewayClient;
 
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * Ödemeler üç aşamada işlenir: kısa bir transaction'da PENDING ödeme yazılır, sağlayıcı çağrısı
+ * transaction dışında ayrı bir havuzda yapılır, sonuç ikinci kısa bir transaction'da işlenir.
+ * İstemci ödeme referansıyla sonucu sorgular. Böylece yavaş bir sağlayıcı ne DB bağlantısı ne de
+ * istek thread'i tutar. Sağlayıcıya {@link PaymentGatewayClient} üzerinden gidilir.
+ */
 @Service
+@Slf4j
 public class PaymentService {
     
-    @Autowired
-    private PaymentRepository paymentRepository;
-    
-    @Autowired
-    private BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final OutboxService outboxService;
+    private final AuditLogger auditLogger;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor gatewayExecutor;
+    private final PaymentGatewayClient gatewayClient;
+    private final long pendingTimeoutMillis;
     
-    @Autowired
-    private BookingService bookingService;
+    public PaymentService(PaymentRepository paymentRepository,
+                          BookingRepository bookingRepository,
+                          BookingService bookingService,
+                          OutboxService outboxService,
+                          AuditLogger auditLogger,
+                          PlatformTransactionManager transactionManager,
+                          @Qualifier("paymentGatewayExecutor") Executor gatewayExecutor,
+                          PaymentGatewayClient gatewayClient,
+                          @Value("${booking.payments.pending-timeout-ms:300000}") long pendingTimeoutMillis) {
+        this.paymentRepository = paymentRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingService = bookingService;
+        this.outboxService = outboxService;
+        this.auditLogger = auditLogger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gatewayExecutor = gatewayExecutor;
+        this.gatewayClient = gatewayClient;
+        this.pendingTimeoutMillis = pendingTimeoutMillis;
+    }
     
-    @Transactional
+    /**
+     * Ödemeyi PENDING olarak kaydeder ve sağlayıcı çağrısını kuyruğa alır; sonucu beklemeden döner.
+     */
     public PaymentDto processPayment(PaymentDto paymentDto, UserResponse currentUser) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(paymentDto.getBookingId());
-        if (bookingOpt.isEmpty()) {
-            throw new RuntimeException("Booking not found");
+        Payment payment = transactionTemplate.execute(status -> createPendingPayment(paymentDto, currentUser));
+        
+        try {
+            // Transaction commit edildikten sonra kuyruğa alınır; worker PENDING satırı her zaman görür
+            gatewayExecutor.execute(() -> authorize(payment.getId(), payment.getPaymentReference(), paymentDto,
+                    currentUser.id()));
+        } catch (RejectedExecutionException e) {
+            log.warn("Payment gateway queue is full, failing payment {}", payment.getPaymentReference());
+            return convertToDto(completePayment(payment.getId(), PaymentGateway.GatewayResult.declined(
+                    PaymentGatewayClient.BULKHEAD_FULL), currentUser.id()));
         }
         
-        Booking booking = bookingOpt.get();
+        return convertToDto(payment);
+    }
+    
+    public Optional<PaymentDto> getPaymentByBookingId(Long bookingId) {
+        Optional<Payment> paymentOpt = paymentRepository.findByBookingId(bookingId);
+        return paymentOpt.map(this::convertToDto);
+    }
+    
+    public Optional<PaymentDto> getPaymentByReference(String paymentReference) {
+        Optional<Payment> paymentOpt = paymentRepository.findByPaymentReference(paymentReference);
+        return paymentOpt.map(this::convertToDto);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<PaymentDto> getPaymentByReference(String paymentReference, UserResponse currentUser) {
+        return paymentRepository.findByPaymentReference(paymentReference)
+                .filter(payment -> payment.getBooking().getUser().getId().equals(currentUser.id()))
+                .map(this::convertToDto);
+    }
+    
+    /**
+     * İade üç aşamada yapılır: kilitli satırda ödeme REFUND_PENDING'e alınır, sağlayıcı transaction dışında
+     * çağrılır, sonra ödeme REFUND_PENDING'den REFUNDED'a ilerletilir ya da COMPLETED'a geri döner.
+     * REFUND_PENDING durumu eşzamanlı ikinci bir iadenin sağlayıcıya gitmesini engeller.
+     */
+    public PaymentDto refundPayment(Long paymentId, UserResponse currentUser) {
+        Payment payment = transactionTemplate.execute(status -> {
+            Payment found = paymentRepository.findByIdForUpdate(paymentId)
+                    .orElseThrow(() -> new RuntimeException("Payment not found"));
+            
+            if (!found.getBooking().getUser().getId().equals(currentUser.id())) {
+                throw new RuntimeException("Unauthorized access to payment");
+            }
+            
+            if (found.getStatus() != PaymentStatus.COMPLETED) {
+                throw new RuntimeException("Only completed payments can be refunded");
+            }
+            found.setStatus(PaymentStatus.REFUND_PENDING);
+            return paymentRepository.save(found);
+        });
+        
+        // Sağlayıcı çağrısı sırasında transaction açık tutulmaz
+        PaymentGateway.GatewayResult result;
+        try {
+            result = gatewayClient.refund(new PaymentGateway.RefundRequest(
+                    payment.getPaymentReference(), payment.getTransactionId(), payment.getAmount()));
+        } catch (PaymentGatewayUnavailableException e) {
+            result = PaymentGateway.GatewayResult.declined(e.getReason());
+        }
+        if (!result.approved()) {
+            // İade isteği ödeme referansıyla gider; sağlayıcı tarafında tekrar denemek güvenlidir
+            transactionTemplate.executeWithoutResult(status -> revertRefund(paymentId));
+            throw new RuntimeException("Refund processing failed: " + result.responseCode());
+        }
+        
+        PaymentGateway.GatewayResult refund = result;
+        try {
+            return transactionTemplate.execute(status -> completeRefund(paymentId, refund, currentUser.id(), true));
+        } catch (RuntimeException e) {
+            // Para iade edildi; rezervasyon iptal edilemese de ödeme REFUNDED olarak kapanır
+            log.error("Payment {} refunded but booking {} could not be cancelled: {}",
+                    payment.getPaymentReference(), payment.getBooking().getId(), e.getMessage());
+            return transactionTemplate.execute(status -> completeRefund(paymentId, refund, currentUser.id(), false));
+        }
+    }
+    
+    /**
+     * Sonucu gelmeyen ödemeleri kapatır (ör. sağlayıcı çağrısı sürerken düğüm yeniden başladıysa).
+     */
+    @Scheduled(fixedDelayString = "${booking.payments.pending-sweep-ms:60000}")
+    public void failStalePendingPayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(pendingTimeoutMillis));
+        List<Payment> stale = paymentRepository.findExpiredPayments(PaymentStatus.PENDING, cutoff);
+        for (Payment payment : stale) {
+            try {
+                completePayment(payment.getId(), PaymentGateway.GatewayResult.declined(PaymentGatewayClient.TIMEOUT), null);
+            } catch (Exception e) {
+                log.error("Failed to close stale payment {}", payment.getPaymentReference(), e);
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Closed {} stale pending payments", stale.size());
+        }
+    }
+    
+    private Payment createPendingPayment(PaymentDto paymentDto, UserResponse currentUser) {
+        // Aynı rezervasyon için eşzamanlı ödeme isteklerini sıraya sokar
+        Booking booking = bookingRepository.findByIdForUpdate(paymentDto.getBookingId())
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
         
-        if (!booking.getUser().getId().equals(currentUser.id())) {
+        if (booking.getUser() == null || !booking.getUser().getId().equals(currentUser.id())) {
             throw new RuntimeException("Unauthorized access to booking");
         }
         
-        if (booking.getStatus() != BookingStatus.PENDING) {
+        if (booking.getStatus() != BookingStatus.RESERVED || booking.getReservedUntil().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("Booking is not in a payable state");
         }
         
@@ -51,7 +194,7 @@ public class PaymentService {
             throw new RuntimeException("Payment already processed for this booking");
         }
         
-        if (!paymentDto.getAmount().equals(booking.getTotalAmount())) {
+        if (paymentDto.getAmount().compareTo(booking.getTotalAmount()) != 0) {
             throw new RuntimeException("Payment amount does not match booking total");
         }
         
@@ -64,104 +207,120 @@ public class PaymentService {
         payment.setStatus(PaymentStatus.PENDING);
         payment.setCreatedAt(LocalDateTime.now());
         
-        boolean paymentSuccessful = processPaymentWithGateway(paymentDto);
-        
-        if (paymentSuccessful) {
-            payment.setStatus(PaymentStatus.COMPLETED);
-            payment.setTransactionId(UUID.randomUUID().toString());
-            payment.setProcessedAt(LocalDateTime.now());
-            payment.setGatewayResponse("SUCCESS");
-            
-            try {
-                bookingService.confirmBooking(booking.getId(), currentUser.id());
-            } catch (BookingException e) {
-                throw new RuntimeException("Failed to confirm booking: " + e.getMessage());
-            }
-        } else {
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setGatewayResponse("PAYMENT_DECLINED");
-        }
-        
         payment = paymentRepository.save(payment);
-        
-        return convertToDto(payment);
+        auditLogger.logPaymentTransition(AuditEventType.PAYMENT_INITIATED, payment);
+        return payment;
     }
     
-    public Optional<PaymentDto> getPaymentByBookingId(Long bookingId) {
-        Optional<Payment> paymentOpt = paymentRepository.findByBookingId(bookingId);
-        return paymentOpt.map(this::convertToDto);
+    private void authorize(Long paymentId, String paymentReference, PaymentDto paymentDto, Long userId) {
+        try {
+            PaymentGateway.GatewayResult result;
+            try {
+                result = gatewayClient.authorize(new PaymentGateway.AuthorizationRequest(paymentReference,
+                        paymentDto.getAmount(), "USD", paymentDto.getCardNumber(), paymentDto.getCvv()));
+            } catch (PaymentGatewayUnavailableException e) {
+                result = PaymentGateway.GatewayResult.declined(e.getReason());
+            }
+            completePayment(paymentId, result, userId);
+        } catch (Exception e) {
+            log.error("Failed to complete payment {}", paymentId, e);
+        }
     }
     
-    public Optional<PaymentDto> getPaymentByReference(String paymentReference) {
-        Optional<Payment> paymentOpt = paymentRepository.findByPaymentReference(paymentReference);
-        return paymentOpt.map(this::convertToDto);
+    private Payment completePayment(Long paymentId, PaymentGateway.GatewayResult result, Long userId) {
+        Payment payment = transactionTemplate.execute(status -> closePayment(paymentId, result, userId));
+        if (result.approved() && !Objects.equals(result.transactionId(), payment.getTransactionId())) {
+            // Tahsilat onaylandı ama ödeme bu sonuçla tamamlanmadı: rezervasyon düştü ya da zaman aşımı
+            // taraması ödemeyi önceden kapattı. Para müşteride kalmasın diye yetkilendirme iade edilir.
+            releaseAuthorization(payment, result);
+        }
+        return payment;
     }
     
-    @Transactional
-    public PaymentDto refundPayment(Long paymentId, UserResponse currentUser) {
-        Optional<Payment> paymentOpt = paymentRepository.findById(paymentId);
-        if (paymentOpt.isEmpty()) {
-            throw new RuntimeException("Payment not found");
-        }
+    private Payment closePayment(Long paymentId, PaymentGateway.GatewayResult result, Long userId) {
+        // Satır kilidi: sağlayıcı sonucu ile zaman aşımı taraması aynı ödemeyi iki kez kapatamaz
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
+        Booking booking = payment.getBooking();
         
-        Payment payment = paymentOpt.get();
-        
-        if (!payment.getBooking().getUser().getId().equals(currentUser.id())) {
-            throw new RuntimeException("Unauthorized access to payment");
+        if (payment.getStatus() != PaymentStatus.PENDING) {
+            return payment;
         }
         
-        if (payment.getStatus() != PaymentStatus.COMPLETED) {
-            throw new RuntimeException("Only completed payments can be refunded");
+        payment.setGatewayResponse(result.responseCode());
+        payment.setProcessedAt(LocalDateTime.now());
+        if (!result.approved()) {
+            payment.setStatus(PaymentStatus.FAILED);
+            return savePaymentWithEvent(payment);
         }
         
-        boolean refundSuccessful = processRefundWithGateway(payment);
-        
-        if (refundSuccessful) {
-            payment.setStatus(PaymentStatus.REFUNDED);
-            payment.setGatewayResponse("REFUND_SUCCESS");
-            
-            try {
-                bookingService.cancelBooking(payment.getBooking().getId(), currentUser.id());
-            } catch (BookingException e) {
-                throw new RuntimeException("Failed to cancel booking: " + e.getMessage());
-            }
-        } else {
-            throw new RuntimeException("Refund processing failed");
+        try {
+            bookingService.confirmBooking(booking.getId(), userId != null ? userId : booking.getUser().getId());
+            payment.setStatus(PaymentStatus.COMPLETED);
+            payment.setTransactionId(result.transactionId());
+        } catch (BookingException e) {
+            // Rezervasyon sağlayıcı yanıtı beklenirken düştü; yetkilendirme commit'ten sonra iade edilir
+            log.warn("Payment {} authorized but booking {} could not be confirmed: {}",
+                    payment.getPaymentReference(), booking.getId(), e.getMessage());
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setGatewayResponse("BOOKING_NOT_CONFIRMABLE");
         }
-        
-        payment = paymentRepository.save(payment);
-        
-        return convertToDto(payment);
+        return savePaymentWithEvent(payment);
     }
     
-    private boolean processPaymentWithGateway(PaymentDto paymentDto) {
+    private void releaseAuthorization(Payment payment, PaymentGateway.GatewayResult authorization) {
         try {
-            Thread.sleep(1000); 
-            
-            if (paymentDto.getCardNumber() == null || paymentDto.getCardNumber().length() < 10) {
-                return false;
-            }
-            
-            if (paymentDto.getCvv() == null || paymentDto.getCvv().length() != 3) {
-                return false;
+            PaymentGateway.GatewayResult refund = gatewayClient.refund(new PaymentGateway.RefundRequest(
+                    payment.getPaymentReference(), authorization.transactionId(), payment.getAmount()));
+            if (refund.approved()) {
+                log.info("Released authorization {} of {} payment {}", authorization.transactionId(),
+                        payment.getStatus(), payment.getPaymentReference());
+                return;
             }
-            
-            return Math.random() > 0.1;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+            log.error("Gateway declined releasing authorization {} of payment {}: {}",
+                    authorization.transactionId(), payment.getPaymentReference(), refund.responseCode());
+        } catch (PaymentGatewayUnavailableException e) {
+            log.error("Failed to release authorization {} of payment {}: {}",
+                    authorization.transactionId(), payment.getPaymentReference(), e.getMessage());
         }
     }
     
-    private boolean processRefundWithGateway(Payment payment) {
-        try {
-            Thread.sleep(500); 
-            return Math.random() > 0.05; 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
+    private PaymentDto completeRefund(Long paymentId, PaymentGateway.GatewayResult result, Long userId,
+                                      boolean cancelBooking) {
+        Payment payment = paymentRepository.findByIdForUpdate(paymentId)
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
+        if (payment.getStatus() != PaymentStatus.REFUND_PENDING) {
+            return convertToDto(payment);
         }
+        
+        if (cancelBooking) {
+            bookingService.cancelBooking(payment.getBooking().getId(), userId);
+        }
+        payment.setStatus(PaymentStatus.REFUNDED);
+        payment.setGatewayResponse(result.responseCode());
+        payment = paymentRepository.save(payment);
+        outboxService.publishPaymentEvent(OutboxEventType.PAYMENT_REFUNDED, payment);
+        auditLogger.logPaymentTransition(AuditEventType.PAYMENT_REFUNDED, payment);
+        return convertToDto(payment);
+    }
+    
+    private void revertRefund(Long paymentId) {
+        paymentRepository.findByIdForUpdate(paymentId)
+                .filter(payment -> payment.getStatus() == PaymentStatus.REFUND_PENDING)
+                .ifPresent(payment -> {
+                    payment.setStatus(PaymentStatus.COMPLETED);
+                    paymentRepository.save(payment);
+                });
+    }
+    
+    private Payment savePaymentWithEvent(Payment payment) {
+        Payment saved = paymentRepository.save(payment);
+        boolean completed = saved.getStatus() == PaymentStatus.COMPLETED;
+        outboxService.publishPaymentEvent(completed
+                ? OutboxEventType.PAYMENT_COMPLETED : OutboxEventType.PAYMENT_FAILED, saved);
+        auditLogger.logPaymentTransition(completed
+                ? AuditEventType.PAYMENT_COMPLETED : AuditEventType.PAYMENT_FAILED, saved);
+        return saved;
     }
     
     private String generatePaymentReference() {
@@ -181,4 +340,4 @@ public class PaymentService {
         dto.setProcessedAt(payment.getProcessedAt());
         return dto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,175 @@
+package com.example.BookingApp.service;
+
+import com.example.BookingApp.cache.SeatMapCache;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.repository.projection.SeatStatusCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class SeatCounterService {
+    
+    private static final int RECONCILE_PAGE_SIZE = 500;
+    
+    private final EventRepository eventRepository;
+    private final SeatRepository seatRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapCache seatMapCache;
+    private final TransactionTemplate transactionTemplate;
+    
+    public SeatCounterService(EventRepository eventRepository,
+                              SeatRepository seatRepository,
+                              SeatInventoryService seatInventoryService,
+                              SeatMapCache seatMapCache,
+                              PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.seatRepository = seatRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.seatMapCache = seatMapCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * Moves one seat between counters. Must run inside the caller's transaction so the
+     * counters commit or roll back together with the seat/booking change. Every seat status
+     * change goes through here, so the cached seat map is patched after commit too.
+     */
+    public void recordTransition(Long eventId, Long seatId, SeatStatus from, SeatStatus to) {
+        recordTransitions(eventId, List.of(seatId), from, to);
+    }
+    
+    public void recordTransitions(Long eventId, Collection<Long> seatIds, SeatStatus from, SeatStatus to) {
+        if (from == to || seatIds.isEmpty()) {
+            return;
+        }
+        adjustCounters(eventId, from, to, seatIds.size());
+        if (from == null || to == null) {
+            // Added or removed seats change the layout, not just statuses
+            seatMapCache.eventSeatsChanged(eventId);
+        } else {
+            seatMapCache.seatsChanged(eventId, seatIds, to);
+        }
+    }
+    
+    /**
+     * For bulk changes that know how many seats moved but not which ones; the seat map is reloaded.
+     */
+    public void recordTransitions(Long eventId, SeatStatus from, SeatStatus to, long seatCount) {
+        if (from == to) {
+            return;
+        }
+        adjustCounters(eventId, from, to, seatCount);
+        seatMapCache.eventSeatsChanged(eventId);
+    }
+    
+    /**
+     * Recomputes every event's counters from the seats table and repairs the ones that drifted.
+     */
+    @Scheduled(cron = "${booking.seat-counters.reconcile-cron:0 */10 * * * *}")
+    public List<SeatCounterDrift> reconcile() {
+        if (seatInventoryService.isEnabled()) {
+            // Written-behind seats must reach the table before counting it
+            seatInventoryService.flushDirtySeats();
+        }
+        
+        List<SeatCounterDrift> drifts = new ArrayList<>();
+        int page = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            PageRequest pageRequest = PageRequest.of(page++, RECONCILE_PAGE_SIZE, Sort.by("id"));
+            hasNext = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                Page<Event> events = eventRepository.findAll(pageRequest);
+                drifts.addAll(reconcilePage(events.getContent()));
+                return events.hasNext();
+            }));
+        }
+        
+        if (drifts.isEmpty()) {
+            log.info("Seat counter reconciliation completed - no drift");
+        } else {
+            log.warn("Seat counter reconciliation repaired {} event(s): {}", drifts.size(), drifts);
+        }
+        return drifts;
+    }
+    
+    private void adjustCounters(Long eventId, SeatStatus from, SeatStatus to, long seatCount) {
+        if (seatCount == 0) {
+            return;
+        }
+        long[] deltas = new long[SeatStatus.values().length];
+        if (from != null) {
+            deltas[from.ordinal()] -= seatCount;
+        }
+        if (to != null) {
+            deltas[to.ordinal()] += seatCount;
+        }
+        eventRepository.adjustSeatCounters(eventId,
+                deltas[SeatStatus.AVAILABLE.ordinal()],
+                deltas[SeatStatus.RESERVED.ordinal()],
+                deltas[SeatStatus.BOOKED.ordinal()]);
+    }
+    
+    private List<SeatCounterDrift> reconcilePage(List<Event> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, Map<SeatStatus, Long>> seatCounts = new HashMap<>();
+        for (SeatStatusCount count : seatRepository.countByEventIdsGroupedByStatus(
+                events.stream().map(Event::getId).toList())) {
+            seatCounts.computeIfAbsent(count.getEventId(), id -> new EnumMap<>(SeatStatus.class))
+                    .put(count.getStatus(), count.getSeatCount());
+        }
+        
+        List<SeatCounterDrift> drifts = new ArrayList<>();
+        for (Event event : events) {
+            Map<SeatStatus, Long> counts = seatCounts.getOrDefault(event.getId(), Map.of());
+            long available = counts.getOrDefault(SeatStatus.AVAILABLE, 0L);
+            long reserved = counts.getOrDefault(SeatStatus.RESERVED, 0L);
+            long booked = counts.getOrDefault(SeatStatus.BOOKED, 0L);
+            
+            if (available == event.getAvailableSeatCount()
+                    && reserved == event.getReservedSeatCount()
+                    && booked == event.getBookedSeatCount()) {
+                continue;
+            }
+            
+            int updated = eventRepository.replaceSeatCounters(event.getId(), available, reserved, booked,
+                    event.getAvailableSeatCount(), event.getReservedSeatCount(), event.getBookedSeatCount());
+            if (updated == 1) {
+                drifts.add(new SeatCounterDrift(event.getId(),
+                        available - event.getAvailableSeatCount(),
+                        reserved - event.getReservedSeatCount(),
+                        booked - event.getBookedSeatCount()));
+            } else {
+                log.debug("Counters of event ID: {} changed during reconciliation, skipping", event.getId());
+            }
+        }
+        return drifts;
+    }
+    
+    public record SeatCounterDrift(
+            Long eventId,
+            long availableDrift,
+            long reservedDrift,
+            long bookedDrift
+    ) {}
+}
@@ -1,15 +1,16 @@
 package com.example.BookingApp.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.BookingApp.cache.SeatMapCache;
 import com.example.BookingApp.dto.event.response.SeatResponse;
 import com.example.BookingApp.entity.Event;
 import com.example.BookingApp.entity.Seat;
 import com.example.BookingApp.entityenums.SeatStatus;
 import com.example.BookingApp.entityenums.SeatType;
+import com.example.BookingApp.inventory.SeatInventoryService;
 import com.example.BookingApp.repository.EventRepository;
 import com.example.BookingApp.repository.SeatRepository;
 
@@ -28,16 +29,24 @@ public class SeatService {
     @Autowired
     private EventRepository eventRepository;
     
-    @Cacheable(value = "seats", key = "#eventId")
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private SeatCounterService seatCounterService;
+    
+    @Autowired
+    private SeatMapCache seatMapCache;
+    
+    // Served from the patched seat map; no per-status lists to keep in sync
     public List<SeatResponse> getSeatsByEvent(Long eventId) {
-        List<Seat> seats = seatRepository.findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(eventId);
-        return seats.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return seatMapCache.getSeatMap(eventId).seats();
     }
     
-    @Cacheable(value = "seats", key = "#eventId + '_' + #status")
     public List<SeatResponse> getSeatsByEventAndStatus(Long eventId, SeatStatus status) {
-        List<Seat> seats = seatRepository.findByEventIdAndStatus(eventId, status);
-        return seats.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return seatMapCache.getSeatMap(eventId).seats().stream()
+                .filter(seat -> seat.status() == status)
+                .collect(Collectors.toList());
     }
     
     public Optional<SeatResponse> getSeatById(Long seatId) {
@@ -59,6 +68,7 @@ public class SeatService {
         
         List<Seat> seats = generateSeatLayout(event, rows, seatsPerRow, basePrice);
         seats = seatRepository.saveAll(seats);
+        seatCounterService.recordTransitions(eventId, seats.stream().map(Seat::getId).toList(), null, SeatStatus.AVAILABLE);
         
         return seats.stream().map(this::convertToResponse).collect(Collectors.toList());
     }
@@ -68,9 +78,15 @@ public class SeatService {
         Seat seat = seatRepository.findById(seatId)
             .orElseThrow(() -> new RuntimeException("Seat not found"));
         
+        SeatStatus previousStatus = seat.getStatus();
         seat.setStatus(newStatus);
         seat = seatRepository.save(seat);
         
+        if (seatInventoryService.isEnabled()) {
+            previousStatus = seatInventoryService.apply(seat.getEvent().getId(), seatId, newStatus);
+        }
+        seatCounterService.recordTransition(seat.getEvent().getId(), seatId, previousStatus, newStatus);
+        
         return convertToResponse(seat);
     }
     
@@ -82,6 +98,11 @@ public class SeatService {
         seat.setPrice(newPrice);
         seat = seatRepository.save(seat);
         
+        if (seatInventoryService.isEnabled()) {
+            seatInventoryService.evict(seat.getEvent().getId());
+        }
+        seatMapCache.eventSeatsChanged(seat.getEvent().getId());
+        
         return convertToResponse(seat);
     }
     
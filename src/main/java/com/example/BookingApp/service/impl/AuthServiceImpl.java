@@ -7,15 +7,18 @@ import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.entity.User;
 import com.example.BookingApp.exception.*;
 import com.example.BookingApp.repository.UserRepository;
+import com.example.BookingApp.security.CustomUserDetailsConverter;
+import com.example.BookingApp.security.LoginAttemptThrottle;
+import com.example.BookingApp.security.PasswordHashingService;
 import com.example.BookingApp.service.AuthService;
 import com.example.BookingApp.service.UserService;
+import com.example.BookingApp.util.SessionService;
 import com.example.BookingApp.util.ValidationUtils;
 import com.example.BookingApp.audit.AuditLogger;
 
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -30,25 +33,37 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
     private final AuditLogger auditLogger;
+    private final SessionService sessionService;
     
     private static final String USER_ID_SESSION_KEY = "userId";
     private static final String LOGIN_TIME_SESSION_KEY = "loginTime";
     private static final String USER_ROLE_SESSION_KEY = "userRole";
 
     @Override
-    public AuthResponse login(AuthRequest request, HttpSession session) {
+    public AuthResponse login(AuthRequest request, HttpSession session, String clientIp) {
         log.info("Login attempt initiated for username: {}", request.username());
         
         try {
             validateLoginRequest(request);
             
-            User user = findUserByUsername(request.username());
+            // Sınırı aşan kullanıcı adı/IP için parola hiç doğrulanmaz
+            loginAttemptThrottle.checkAllowed(request.username(), clientIp);
             
-            validateUserState(user);
+            User user;
+            try {
+                user = findUserByUsername(request.username());
+                validateUserState(user);
+                validatePassword(request.password(), user.getPassword(), request.username());
+            } catch (InvalidCredentialsException e) {
+                loginAttemptThrottle.recordFailure(request.username(), clientIp);
+                throw e;
+            }
+            loginAttemptThrottle.recordSuccess(request.username());
             
-            validatePassword(request.password(), user.getPassword(), request.username());
+            rehashIfNeeded(user, request.password());
             
             createUserSession(session, user);
             
@@ -60,7 +75,7 @@ public class AuthServiceImpl implements AuthService {
             return AuthResponse.success("Login successful", userResponse);
             
         } catch (Exception e) {
-            auditLogger.logFailedLogin(request.username(), e.getMessage(), getClientInfo(session));
+            auditLogger.logFailedLogin(request.username(), e.getMessage(), getClientInfo(session, clientIp));
             log.error("Login failed for username: {} - Error: {}", request.username(), e.getMessage());
             throw e;
         }
@@ -100,6 +115,7 @@ public class AuthServiceImpl implements AuthService {
                 log.info("User logged out successfully - User ID: {}, Session ID: {}", userId, sessionId);
             }
             
+            sessionService.invalidateSession(sessionId);
             session.invalidate();
             
         } catch (Exception e) {
@@ -195,16 +211,32 @@ public class AuthServiceImpl implements AuthService {
     }
 
     private void validatePassword(String rawPassword, String encodedPassword, String username) {
-        if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+        if (!passwordHashingService.matches(rawPassword, encodedPassword)) {
             log.warn("Invalid password attempt for username: {}", username);
             throw new InvalidCredentialsException("Invalid credentials");
         }
     }
 
+    // BCrypt maliyeti değiştiyse parola elimizdeyken yeni maliyetle yeniden hash'lenir
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Password rehashed with the configured cost for user ID: {}", user.getId());
+        } catch (PasswordHashingBusyException e) {
+            // Havuz doluysa girişi bozma; bir sonraki girişte yeniden denenir
+            log.debug("Skipped password rehash for user ID: {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
     private void createUserSession(HttpSession session, User user) {
         session.setAttribute(USER_ID_SESSION_KEY, user.getId());
         session.setAttribute(LOGIN_TIME_SESSION_KEY, LocalDateTime.now());
         session.setAttribute(USER_ROLE_SESSION_KEY, user.getRole());
+        sessionService.createUserSession(session.getId(), CustomUserDetailsConverter.fromUserEntity(user));
         
         log.info("Session created for user ID: {} with session ID: {}", user.getId(), session.getId());
     }
@@ -237,7 +269,7 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
-    private String getClientInfo(HttpSession session) {
-        return "Session: " + session.getId();
+    private String getClientInfo(HttpSession session, String clientIp) {
+        return clientIp == null ? "Session: " + session.getId() : "Session: " + session.getId() + ", IP: " + clientIp;
     }
 }
\ No newline at end of file
@@ -1,26 +1,40 @@
 package com.example.BookingApp.service.impl;
 
+import com.example.BookingApp.audit.AuditLogger;
 import com.example.BookingApp.dto.booking.BookingCreateRequest;
 import com.example.BookingApp.dto.booking.BookingResponse;
+import com.example.BookingApp.dto.booking.GroupBookingCreateRequest;
+import com.example.BookingApp.dto.booking.GroupBookingResponse;
 import com.example.BookingApp.entity.Booking;
 import com.example.BookingApp.entity.Event;
 import com.example.BookingApp.entity.Seat;
 import com.example.BookingApp.entity.User;
+import com.example.BookingApp.entityenums.AuditEventType;
 import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.OutboxEventType;
 import com.example.BookingApp.entityenums.SeatStatus;
 import com.example.BookingApp.exception.BookingException;
+import com.example.BookingApp.expiry.ReservationExpiryService;
+import com.example.BookingApp.inventory.SeatInventory;
+import com.example.BookingApp.inventory.SeatInventoryService;
 import com.example.BookingApp.mapper.BookingMapper;
+import com.example.BookingApp.outbox.OutboxService;
 import com.example.BookingApp.repository.BookingRepository;
 import com.example.BookingApp.repository.EventRepository;
 import com.example.BookingApp.repository.SeatRepository;
 import com.example.BookingApp.repository.UserRepository;
 import com.example.BookingApp.service.BookingService;
+import com.example.BookingApp.service.SeatCounterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,6 +48,11 @@ public class BookingServiceImpl implements BookingService {
     private final SeatRepository seatRepository;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatCounterService seatCounterService;
+    private final ReservationExpiryService reservationExpiryService;
+    private final OutboxService outboxService;
+    private final AuditLogger auditLogger;
     
     @Override
     @Transactional(readOnly = true)
@@ -44,61 +63,81 @@ public class BookingServiceImpl implements BookingService {
     
     @Override
     public BookingResponse createReservation(BookingCreateRequest request) throws BookingException {
-        // Validate event exists
-        Event event = eventRepository.findById(request.getEventId())
-                .orElseThrow(() -> new BookingException("Event not found"));
-        
-        // Validate seat exists and is available
-        Seat seat = seatRepository.findById(request.getSeatId())
-                .orElseThrow(() -> new BookingException("Seat not found"));
+        LocalDateTime now = LocalDateTime.now();
+        Event event = findBookableEvent(request.getEventId(), now);
+        User user = findUser(request.getUserId());
         
-        if (!seat.getEvent().getId().equals(request.getEventId())) {
-            throw new BookingException("Seat does not belong to this event");
+        Seat seat;
+        BigDecimal price;
+        if (seatInventoryService.isEnabled()) {
+            // Claim the seat in memory; the seats row is written behind by the inventory
+            price = claimSeatInInventory(request.getSeatId(), request.getEventId());
+            seat = seatRepository.getReferenceById(request.getSeatId());
+        } else {
+            // Claim the seat with a single conditional update; only one concurrent caller can win
+            claimSeat(request.getSeatId(), request.getEventId());
+            seat = seatRepository.findById(request.getSeatId())
+                    .orElseThrow(() -> new BookingException("Seat not found"));
+            price = seat.getPrice();
         }
         
-        if (seat.getStatus() != SeatStatus.AVAILABLE) {
-            throw new BookingException("Seat is not available");
-        }
+        // Create booking
+        Booking booking = bookingMapper.toEntity(request);
+        populateReservation(booking, event, seat, user, price, now);
         
-        // Validate user exists (if provided)
-        User user = null;
-        if (request.getUserId() != null) {
-            user = userRepository.findById(request.getUserId())
-                    .orElseThrow(() -> new BookingException("User not found"));
-        }
+        booking = bookingRepository.save(booking);
         
-        // Check booking period
-        LocalDateTime now = LocalDateTime.now();
-        if (event.getBookingStartDate() != null && now.isBefore(event.getBookingStartDate())) {
-            throw new BookingException("Booking period has not started yet");
-        }
+        // Counter row is touched last to keep its lock as short as possible
+        seatCounterService.recordTransition(event.getId(), request.getSeatId(), SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        reservationExpiryService.register(booking.getId(), booking.getReservedUntil());
+        auditLogger.logBookingTransition(AuditEventType.BOOKING_RESERVED, booking);
         
-        if (event.getBookingEndDate() != null && now.isAfter(event.getBookingEndDate())) {
-            throw new BookingException("Booking period has ended");
+        return bookingMapper.toResponse(booking);
+    }
+    
+    @Override
+    public GroupBookingResponse createGroupReservation(GroupBookingCreateRequest request) throws BookingException {
+        List<Long> seatIds = request.getSeatIds().stream().distinct().sorted().toList();
+        if (seatIds.size() != request.getSeatIds().size()) {
+            throw new BookingException("Duplicate seats in reservation request");
         }
         
-        // Create booking
-        Booking booking = bookingMapper.toEntity(request);
-        booking.setEvent(event);
-        booking.setSeat(seat);
-        booking.setUser(user);
-        booking.setBookingReference(generateBookingReference());
-        booking.setTotalAmount(seat.getPrice());
-        booking.setStatus(BookingStatus.RESERVED);
-        booking.setReservedUntil(now.plusMinutes(15)); 
-        booking.setBookedAt(now);
+        LocalDateTime now = LocalDateTime.now();
+        Event event = findBookableEvent(request.getEventId(), now);
+        User user = findUser(request.getUserId());
         
-        seat.setStatus(SeatStatus.RESERVED);
-        seatRepository.save(seat);
+        // All-or-nothing: any seat that cannot be claimed rolls the whole transaction back
+        Map<Long, BigDecimal> prices = seatInventoryService.isEnabled()
+                ? claimSeatsInInventory(seatIds, event.getId())
+                : claimSeats(seatIds, event.getId());
         
-        booking = bookingRepository.save(booking);
+        String groupReference = generateGroupReference();
+        List<Booking> bookings = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            Booking booking = new Booking();
+            populateReservation(booking, event, seatRepository.getReferenceById(seatId), user, prices.get(seatId), now);
+            booking.setGroupReference(groupReference);
+            bookings.add(booking);
+        }
+        bookings = bookingRepository.saveAll(bookings);
         
-        return bookingMapper.toResponse(booking);
+        seatCounterService.recordTransitions(event.getId(), seatIds, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        for (Booking booking : bookings) {
+            reservationExpiryService.register(booking.getId(), booking.getReservedUntil());
+            auditLogger.logBookingTransition(AuditEventType.BOOKING_RESERVED, booking);
+        }
+        
+        BigDecimal totalAmount = bookings.stream()
+                .map(Booking::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new GroupBookingResponse(groupReference, event.getId(), BookingStatus.RESERVED, totalAmount,
+                bookings.get(0).getReservedUntil(), bookingMapper.toResponseList(bookings));
     }
     
     @Override
+    @Transactional(noRollbackFor = BookingException.class)
     public BookingResponse confirmBooking(Long bookingId, Long userId) throws BookingException {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new BookingException("Booking not found"));
         
         if (booking.getUser() == null || !booking.getUser().getId().equals(userId)) {
@@ -110,27 +149,27 @@ public class BookingServiceImpl implements BookingService {
         }
         
         if (booking.getReservedUntil().isBefore(LocalDateTime.now())) {
-            // Cancel expired reservation
-            booking.setStatus(BookingStatus.CANCELLED);
-            booking.getSeat().setStatus(SeatStatus.AVAILABLE);
-            seatRepository.save(booking.getSeat());
+            // Release the hold now instead of waiting for the expiry tick; committed despite the exception
+            booking.setStatus(BookingStatus.EXPIRED);
+            changeSeatStatus(booking, SeatStatus.AVAILABLE);
             bookingRepository.save(booking);
+            publishBookingEvent(OutboxEventType.BOOKING_EXPIRED, booking);
             throw new BookingException("Reservation has expired");
         }
         
         booking.setStatus(BookingStatus.CONFIRMED);
         booking.setConfirmedAt(LocalDateTime.now());
-        booking.getSeat().setStatus(SeatStatus.BOOKED);
+        changeSeatStatus(booking, SeatStatus.BOOKED);
         
-        seatRepository.save(booking.getSeat());
         booking = bookingRepository.save(booking);
+        publishBookingEvent(OutboxEventType.BOOKING_CONFIRMED, booking);
         
         return bookingMapper.toResponse(booking);
     }
     
     @Override
     public void cancelBooking(Long bookingId, Long userId) throws BookingException {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new BookingException("Booking not found"));
         
         if (booking.getUser() == null || !booking.getUser().getId().equals(userId)) {
@@ -141,11 +180,15 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingException("Booking is already cancelled");
         }
         
+        if (booking.getStatus() == BookingStatus.EXPIRED) {
+            throw new BookingException("Reservation has already expired");
+        }
+        
         booking.setStatus(BookingStatus.CANCELLED);
-        booking.getSeat().setStatus(SeatStatus.AVAILABLE);
+        changeSeatStatus(booking, SeatStatus.AVAILABLE);
         
-        seatRepository.save(booking.getSeat());
         bookingRepository.save(booking);
+        publishBookingEvent(OutboxEventType.BOOKING_CANCELLED, booking);
     }
     
     @Override
@@ -155,6 +198,127 @@ public class BookingServiceImpl implements BookingService {
                 .map(bookingMapper::toResponse);
     }
     
+    private void claimSeat(Long seatId, Long eventId) throws BookingException {
+        int claimed = seatRepository.updateSeatStatus(seatId, eventId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        if (claimed == 1) {
+            return;
+        }
+        
+        // Lost the claim - read the row only to report why
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new BookingException("Seat not found"));
+        
+        if (!seat.getEvent().getId().equals(eventId)) {
+            throw new BookingException("Seat does not belong to this event");
+        }
+        
+        throw new BookingException("Seat is not available");
+    }
+    
+    private Map<Long, BigDecimal> claimSeats(List<Long> seatIds, Long eventId) throws BookingException {
+        int claimed = seatRepository.updateSeatStatusIn(seatIds, eventId, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        if (claimed != seatIds.size()) {
+            throw new BookingException("One or more seats are not available");
+        }
+        
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (Seat seat : seatRepository.findAllById(seatIds)) {
+            prices.put(seat.getId(), seat.getPrice());
+        }
+        return prices;
+    }
+    
+    private Map<Long, BigDecimal> claimSeatsInInventory(List<Long> seatIds, Long eventId) throws BookingException {
+        // Claims already taken are reverted by the inventory when the transaction rolls back
+        Map<Long, BigDecimal> prices = new HashMap<>();
+        for (Long seatId : seatIds) {
+            prices.put(seatId, claimSeatInInventory(seatId, eventId));
+        }
+        return prices;
+    }
+    
+    private BigDecimal claimSeatInInventory(Long seatId, Long eventId) throws BookingException {
+        SeatInventory.ClaimResult result = seatInventoryService.tryReserve(eventId, seatId);
+        if (result == SeatInventory.ClaimResult.UNKNOWN_SEAT) {
+            throw new BookingException("Seat does not belong to this event");
+        }
+        if (result == SeatInventory.ClaimResult.NOT_AVAILABLE) {
+            throw new BookingException("Seat is not available");
+        }
+        return seatInventoryService.findSeat(eventId, seatId)
+                .orElseThrow(() -> new BookingException("Seat not found"))
+                .price();
+    }
+    
+    private void changeSeatStatus(Booking booking, SeatStatus newStatus) {
+        Seat seat = booking.getSeat();
+        Long eventId = booking.getEvent().getId();
+        
+        SeatStatus previousStatus;
+        if (seatInventoryService.isEnabled()) {
+            previousStatus = seatInventoryService.apply(eventId, seat.getId(), newStatus);
+        } else {
+            previousStatus = seat.getStatus();
+            seat.setStatus(newStatus);
+            seatRepository.save(seat);
+        }
+        
+        seatCounterService.recordTransition(eventId, seat.getId(), previousStatus, newStatus);
+    }
+    
+    // Yan etkiler (bildirim, önbellek, analitik) outbox üzerinden; onay/iptal süresi tüketici sayısından bağımsız
+    private void publishBookingEvent(OutboxEventType type, Booking booking) {
+        outboxService.publishBookingEvent(type, booking);
+        auditLogger.logBookingTransition(auditEventType(type), booking);
+    }
+    
+    private static AuditEventType auditEventType(OutboxEventType type) {
+        return switch (type) {
+            case BOOKING_CONFIRMED -> AuditEventType.BOOKING_CONFIRMED;
+            case BOOKING_CANCELLED -> AuditEventType.BOOKING_CANCELLED;
+            case BOOKING_EXPIRED -> AuditEventType.BOOKING_EXPIRED;
+            default -> throw new IllegalArgumentException("Not a booking event: " + type);
+        };
+    }
+    
+    private Event findBookableEvent(Long eventId, LocalDateTime now) throws BookingException {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new BookingException("Event not found"));
+        
+        if (event.getBookingStartDate() != null && now.isBefore(event.getBookingStartDate())) {
+            throw new BookingException("Booking period has not started yet");
+        }
+        
+        if (event.getBookingEndDate() != null && now.isAfter(event.getBookingEndDate())) {
+            throw new BookingException("Booking period has ended");
+        }
+        return event;
+    }
+    
+    private User findUser(Long userId) throws BookingException {
+        if (userId == null) {
+            return null;
+        }
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new BookingException("User not found"));
+    }
+    
+    private void populateReservation(Booking booking, Event event, Seat seat, User user,
+                                     BigDecimal price, LocalDateTime now) {
+        booking.setEvent(event);
+        booking.setSeat(seat);
+        booking.setUser(user);
+        booking.setBookingReference(generateBookingReference());
+        booking.setTotalAmount(price);
+        booking.setStatus(BookingStatus.RESERVED);
+        booking.setReservedUntil(now.plusMinutes(15));
+        booking.setBookedAt(now);
+    }
+    
+    private String generateGroupReference() {
+        return "GR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+    
     private String generateBookingReference() {
         return "BK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
@@ -6,10 +6,11 @@ import com.example.BookingApp.dto.user.UserUpdateDto;
 import com.example.BookingApp.entity.User;
 import com.example.BookingApp.entityenums.Role;
 import com.example.BookingApp.repository.UserRepository;
+import com.example.BookingApp.security.PasswordHashingService;
 import com.example.BookingApp.service.UserService;
+import com.example.BookingApp.util.SessionService;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,14 +22,15 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final SessionService sessionService;
 
     @Override
     public UserResponse createUser(RegisterRequest request) {
         User user = new User();
         user.setUsername(request.username());
         user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(passwordHashingService.encode(request.password()));
         user.setRole(Role.USER);
         user.setActive(true);
 
@@ -54,10 +56,10 @@ public class UserServiceImpl implements UserService {
         }
 
         if (updateDto.hasPasswordChange()) {
-            if (!passwordEncoder.matches(updateDto.getCurrentPassword(), user.getPassword())) {
+            if (!passwordHashingService.matches(updateDto.getCurrentPassword(), user.getPassword())) {
                 throw new RuntimeException("Current password is incorrect");
             }
-            user.setPassword(passwordEncoder.encode(updateDto.getNewPassword()));
+            user.setPassword(passwordHashingService.encode(updateDto.getNewPassword()));
         }
 
         User savedUser = userRepository.save(user);
@@ -69,10 +71,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         userRepository.save(user);
     }
 
@@ -82,6 +84,9 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(false);
         userRepository.save(user);
+
+        // Yakın önbellekler dahil tüm düğümlerde oturumu düşür
+        sessionService.invalidateUserSessions(userId);
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.example.BookingApp.util;
+
+import com.example.BookingApp.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Etkinlik listeleri için (eventDate, id) keyset imleci.
+ * İstemciye opak bir Base64 token olarak verilir.
+ */
+public record EventCursor(LocalDateTime eventDate, Long id) {
+
+    // İlk sayfa - tüm gerçek etkinliklerden önce gelen sabit bir konum
+    public static final EventCursor FIRST_PAGE = new EventCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = eventDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST_PAGE;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid page cursor");
+            }
+            return new EventCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.BookingApp.util;
+
+import com.example.BookingApp.dto.user.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Oturumların düğüm içi yakın önbelleği.
+ * <p>
+ * Kayıtlar kısa bir süre (varsayılan 5 sn) tutulur ve Redis pub/sub ile tüm düğümlerde silinir. Yayın
+ * mesajı kaybolsa bile çıkış/pasifleştirme en geç bu süre sonunda her düğümde geçerli olur. Önbellekten
+ * dönen isteklerde TTL kaydırılmaz; kaydırma bir sonraki Redis okumasında, en geç aynı süre içinde olur.
+ */
+@Component
+public class SessionNearCache implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionNearCache.class);
+
+    static final String INVALIDATION_CHANNEL = "session:invalidate";
+    private static final String SESSION_MESSAGE = "s:";
+    private static final String USER_MESSAGE = "u:";
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, UserResponse> cache;
+    private final boolean enabled;
+
+    public SessionNearCache(RedisTemplate<String, Object> redisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            MeterRegistry meterRegistry,
+                            @Value("${booking.session.near-cache.enabled:true}") boolean enabled,
+                            @Value("${booking.session.near-cache.max-size:10000}") long maxSize,
+                            @Value("${booking.session.near-cache.ttl-ms:5000}") long ttlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessions");
+        Gauge.builder("booking.session.near_cache.hit_ratio", cache, c -> c.stats().hitRate())
+                .description("Share of session lookups answered without Redis")
+                .register(meterRegistry);
+    }
+
+    public UserResponse get(String sessionId) {
+        return enabled ? cache.getIfPresent(sessionId) : null;
+    }
+
+    public void put(String sessionId, UserResponse userResponse) {
+        if (enabled) {
+            cache.put(sessionId, userResponse);
+        }
+    }
+
+    public void invalidateSession(String sessionId) {
+        cache.invalidate(sessionId);
+        publish(SESSION_MESSAGE + sessionId);
+    }
+
+    public void invalidateUser(Long userId) {
+        evictUser(userId);
+        publish(USER_MESSAGE + userId);
+    }
+
+    public double hitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = STRING.deserialize(message.getBody());
+        if (payload == null) {
+            return;
+        }
+        if (payload.startsWith(SESSION_MESSAGE)) {
+            cache.invalidate(payload.substring(SESSION_MESSAGE.length()));
+        } else if (payload.startsWith(USER_MESSAGE)) {
+            try {
+                evictUser(Long.valueOf(payload.substring(USER_MESSAGE.length())));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring malformed session invalidation message: {}", payload);
+            }
+        }
+    }
+
+    // Kullanıcı başına ters indeks tutmak yerine tarama; sadece çıkış/pasifleştirmede çalışır
+    private void evictUser(Long userId) {
+        cache.asMap().values().removeIf(user -> userId.equals(user.id()));
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(STRING.serialize(INVALIDATION_CHANNEL), STRING.serialize(payload)));
+        } catch (Exception e) {
+            // Diğer düğümler kaydı en geç TTL sonunda düşürür
+            logger.warn("Failed to publish session invalidation {}: {}", payload, e.getMessage());
+        }
+    }
+}
@@ -1,26 +1,62 @@
 package com.example.BookingApp.util;
 
+import com.example.BookingApp.codec.CompactRedisSerializer;
 import com.example.BookingApp.dto.user.UserResponse;
 import com.example.BookingApp.security.CustomUserDetails;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
-
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis'teki oturumlar.
+ * <p>
+ * session:&lt;id&gt; bir hash'tir: "uid" alanında kullanıcı id'si, "user" alanında {@link CompactRedisSerializer}
+ * ile serileştirilmiş UserResponse.
+ * user_session:&lt;userId&gt; düz metin olarak aktif oturum id'sini tutar. Okuma ve session: TTL uzatması tek bir
+ * Lua betiğiyle, tek gidiş-dönüşte yapılır; user_session: anahtarı cluster'da başka bir slot'ta olabileceğinden
+ * betiğe verilmez, dönen kullanıcının id'siyle sıradaki toplu TTL yazımında kaydırılır.
+ * <p>
+ * Okumalar önce {@link SessionNearCache}'e bakar; oturumu değiştiren/silen her işlem yakın önbelleği
+ * tüm düğümlerde geçersiz kılar. TTL'ler her istekte değil, {@link SessionTtlRefresher} üzerinden tembel ve
+ * toplu olarak kaydırılır.
+ */
 @Service
 public class SessionService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final SessionNearCache nearCache;
+    private final SessionTtlRefresher ttlRefresher;
     private static final Logger logger = LoggerFactory.getLogger(SessionService.class);
 
-    private static final String SESSION_PREFIX = "session:";
-    private static final String USER_SESSION_PREFIX = "user_session:";
-    private static final long SESSION_TIMEOUT = 30; // 30 minutes
+    static final String SESSION_PREFIX = "session:";
+    static final String USER_SESSION_PREFIX = "user_session:";
+    static final long SESSION_TIMEOUT = 30; // 30 minutes
+
+    private static final String USER_ID_FIELD = "uid";
+    private static final String USER_FIELD = "user";
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+    private static final RedisScript<Object> TOUCH_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/session-touch.lua"), Object.class);
+
+    private final RedisSerializer<Object> userSerializer;
 
-    public SessionService(RedisTemplate<String, Object> redisTemplate) {
+    public SessionService(RedisTemplate<String, Object> redisTemplate, SessionNearCache nearCache,
+                          SessionTtlRefresher ttlRefresher, CompactRedisSerializer userSerializer) {
         this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.ttlRefresher = ttlRefresher;
+        this.userSerializer = userSerializer;
     }
 
     public void createUserSession(String sessionId, CustomUserDetails userDetails) {
@@ -30,14 +66,23 @@ public class SessionService {
         }
 
         try {
-            String sessionKey = SESSION_PREFIX + sessionId;
-            String userSessionKey = USER_SESSION_PREFIX + userDetails.getId();
+            byte[] sessionKey = STRING.serialize(SESSION_PREFIX + sessionId);
+            byte[] userSessionKey = STRING.serialize(USER_SESSION_PREFIX + userDetails.getId());
             invalidateUserSessions(userDetails.getId());
 
             UserResponse userResponse = convertToUserResponse(userDetails);
-
-            redisTemplate.opsForValue().set(sessionKey, userResponse, SESSION_TIMEOUT, TimeUnit.MINUTES);
-            redisTemplate.opsForValue().set(userSessionKey, sessionId, SESSION_TIMEOUT, TimeUnit.MINUTES);
+            long timeout = ttlRefresher.getTtlSeconds();
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.hashCommands().hMSet(sessionKey, Map.of(
+                        STRING.serialize(USER_ID_FIELD), STRING.serialize(String.valueOf(userDetails.getId())),
+                        STRING.serialize(USER_FIELD), userSerializer.serialize(userResponse)));
+                connection.keyCommands().expire(sessionKey, timeout);
+                connection.stringCommands().set(userSessionKey, STRING.serialize(sessionId),
+                        Expiration.seconds(timeout), SetOption.upsert());
+                return null;
+            });
+            ttlRefresher.markRefreshed(sessionId);
 
             logger.debug("Created session for user: {} with sessionId: {}", userDetails.getUsername(), sessionId);
 
@@ -47,54 +92,61 @@ public class SessionService {
         }
     }
 
-    public UserResponse getUserFromSession(String sessionId) {
+    /**
+     * Oturumu okur ve gerekiyorsa her iki TTL'i kaydırır; kimliği doğrulanmış her istek için en fazla tek Redis
+     * çağrısı. Yakın önbellekte bulunan oturumun kaydırması sıradaki toplu yazıma bırakılır; önbellekte yoksa ve
+     * kaydırma zamanı geldiyse okuma ile kaydırma aynı betikte yapılır.
+     */
+    public UserResponse touchSession(String sessionId) {
         if (sessionId == null || sessionId.isEmpty()) {
             return null;
         }
 
+        UserResponse cached = nearCache.get(sessionId);
+        if (cached != null) {
+            ttlRefresher.requestRefresh(sessionId, cached.id());
+            return cached;
+        }
+
         try {
-            String sessionKey = SESSION_PREFIX + sessionId;
-            Object userData = redisTemplate.opsForValue().get(sessionKey);
-
-            if (userData instanceof UserResponse userResponse) {
-                if (userResponse.active()) {
-                    return userResponse;
-                } else {
-                    invalidateSession(sessionId);
-                    return null;
-                }
+            if (!ttlRefresher.claimRefresh(sessionId)) {
+                return cacheActiveUser(sessionId, activeUserOrInvalidate(sessionId, readUser(sessionId)));
             }
-
+            Object userData = redisTemplate.execute(TOUCH_SCRIPT, STRING, userSerializer,
+                    List.of(SESSION_PREFIX + sessionId), String.valueOf(ttlRefresher.getTtlSeconds()));
+            UserResponse userResponse = activeUserOrInvalidate(sessionId, userData);
+            if (userResponse != null) {
+                ttlRefresher.scheduleRefresh(sessionId, userResponse.id());
+            }
+            return cacheActiveUser(sessionId, userResponse);
         } catch (Exception e) {
-            logger.error("Error retrieving user from session: {}", sessionId, e);
+            ttlRefresher.forget(sessionId);
+            logger.error("Error touching session: {}", sessionId, e);
+            return null;
         }
-
-        return null;
     }
 
-    public void extendSession(String sessionId) {
+    public UserResponse getUserFromSession(String sessionId) {
         if (sessionId == null || sessionId.isEmpty()) {
-            return;
+            return null;
         }
 
-        try {
-            String sessionKey = SESSION_PREFIX + sessionId;
-
-            if (Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey))) {
-                UserResponse userResponse = getUserFromSession(sessionId);
-
-                if (userResponse != null) {
-                    String userSessionKey = USER_SESSION_PREFIX + userResponse.id();
-
-                    redisTemplate.expire(sessionKey, SESSION_TIMEOUT, TimeUnit.MINUTES);
-                    redisTemplate.expire(userSessionKey, SESSION_TIMEOUT, TimeUnit.MINUTES);
+        UserResponse cached = nearCache.get(sessionId);
+        if (cached != null) {
+            return cached;
+        }
 
-                    logger.debug("Extended session: {}", sessionId);
-                }
-            }
+        try {
+            return cacheActiveUser(sessionId, activeUserOrInvalidate(sessionId, readUser(sessionId)));
         } catch (Exception e) {
-            logger.error("Error extending session: {}", sessionId, e);
+            logger.error("Error retrieving user from session: {}", sessionId, e);
         }
+
+        return null;
+    }
+
+    public void extendSession(String sessionId) {
+        touchSession(sessionId);
     }
 
     public void invalidateSession(String sessionId) {
@@ -102,16 +154,19 @@ public class SessionService {
             return;
         }
 
-        try {
-            String sessionKey = SESSION_PREFIX + sessionId;
-            UserResponse userResponse = getUserFromSession(sessionId);
-
-            redisTemplate.delete(sessionKey);
+        nearCache.invalidateSession(sessionId);
+        ttlRefresher.forget(sessionId);
 
-            if (userResponse != null) {
-                String userSessionKey = USER_SESSION_PREFIX + userResponse.id();
-                redisTemplate.delete(userSessionKey);
-                logger.debug("Invalidated session for user: {}", userResponse.username());
+        try {
+            byte[] sessionKey = STRING.serialize(SESSION_PREFIX + sessionId);
+            String userId = redisTemplate.execute((RedisCallback<String>) connection ->
+                    STRING.deserialize(connection.hashCommands().hGet(sessionKey, STRING.serialize(USER_ID_FIELD))));
+
+            if (userId != null) {
+                redisTemplate.delete(List.of(SESSION_PREFIX + sessionId, USER_SESSION_PREFIX + userId));
+                logger.debug("Invalidated session for user ID: {}", userId);
+            } else {
+                redisTemplate.delete(SESSION_PREFIX + sessionId);
             }
 
         } catch (Exception e) {
@@ -124,14 +179,15 @@ public class SessionService {
             return;
         }
 
+        nearCache.invalidateUser(userId);
+
         try {
             String userSessionKey = USER_SESSION_PREFIX + userId;
-            String sessionId = (String) redisTemplate.opsForValue().get(userSessionKey);
+            String sessionId = getActiveSessionForUser(userId);
 
             if (sessionId != null) {
-                String sessionKey = SESSION_PREFIX + sessionId;
-                redisTemplate.delete(sessionKey);
-                redisTemplate.delete(userSessionKey);
+                ttlRefresher.forget(sessionId);
+                redisTemplate.delete(List.of(SESSION_PREFIX + sessionId, userSessionKey));
                 logger.debug("Invalidated all sessions for user: {}", userId);
             }
         } catch (Exception e) {
@@ -159,8 +215,9 @@ public class SessionService {
         }
 
         try {
-            String userSessionKey = USER_SESSION_PREFIX + userId;
-            return (String) redisTemplate.opsForValue().get(userSessionKey);
+            byte[] userSessionKey = STRING.serialize(USER_SESSION_PREFIX + userId);
+            return redisTemplate.execute((RedisCallback<String>) connection ->
+                    STRING.deserialize(connection.stringCommands().get(userSessionKey)));
         } catch (Exception e) {
             logger.error("Error getting active session for user: {}", userId, e);
             return null;
@@ -176,15 +233,13 @@ public class SessionService {
             String sessionKey = SESSION_PREFIX + sessionId;
 
             if (Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey))) {
-                UserResponse userResponse = convertToUserResponse(userDetails);
+                byte[] userData = userSerializer.serialize(convertToUserResponse(userDetails));
 
-                Long ttl = redisTemplate.getExpire(sessionKey, TimeUnit.SECONDS);
-                if (ttl != null && ttl > 0) {
-                    redisTemplate.opsForValue().set(sessionKey, userResponse, ttl, TimeUnit.SECONDS);
-                } else {
-                    redisTemplate.opsForValue().set(sessionKey, userResponse, SESSION_TIMEOUT, TimeUnit.MINUTES);
-                }
+                // Hash alanını yazmak anahtarın TTL'ine dokunmaz; kalan süre korunur
+                redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                        connection.hashCommands().hSet(STRING.serialize(sessionKey), STRING.serialize(USER_FIELD), userData));
 
+                nearCache.invalidateSession(sessionId);
                 logger.debug("Updated user data in session: {}", sessionId);
             }
         } catch (Exception e) {
@@ -192,6 +247,30 @@ public class SessionService {
         }
     }
 
+    private Object readUser(String sessionId) {
+        byte[] sessionKey = STRING.serialize(SESSION_PREFIX + sessionId);
+        byte[] userData = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.hashCommands().hGet(sessionKey, STRING.serialize(USER_FIELD)));
+        return userSerializer.deserialize(userData);
+    }
+
+    private UserResponse activeUserOrInvalidate(String sessionId, Object userData) {
+        if (userData instanceof UserResponse userResponse) {
+            if (userResponse.active()) {
+                return userResponse;
+            }
+            invalidateSession(sessionId);
+        }
+        return null;
+    }
+
+    private UserResponse cacheActiveUser(String sessionId, UserResponse userResponse) {
+        if (userResponse != null) {
+            nearCache.put(sessionId, userResponse);
+        }
+        return userResponse;
+    }
+
     private UserResponse convertToUserResponse(CustomUserDetails userDetails) {
         return new UserResponse(
             userDetails.getId(),
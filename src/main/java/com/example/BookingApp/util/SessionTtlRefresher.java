@@ -0,0 +1,144 @@
+package com.example.BookingApp.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oturum TTL'lerini tembel ve toplu kaydırır.
+ * <p>
+ * Bir oturumun TTL'i, bu düğümde son kaydırmadan beri zaman aşımının {@code refresh-fraction} kadarı
+ * geçmeden yeniden yazılmaz; gereken kaydırmalar biriktirilip her {@code refresh-flush-ms}'de tek pipeline
+ * ile Redis'e yazılır. Anahtarlara yazılan TTL, zaman aşımı + yenileme aralığı + flush aralığıdır; böylece
+ * oturum son istekten en az {@link SessionService#SESSION_TIMEOUT} dakika sonra düşer, daha önce değil.
+ */
+@Component
+public class SessionTtlRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionTtlRefresher.class);
+
+    private static final int MAX_PIPELINE_SIZE = 500;
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    // Aralık içinde kaydırılmış (veya kuyruğa alınmış) oturumlar; kayıt düşünce kaydırma yeniden gerekir
+    private final Cache<String, Boolean> recentlyRefreshed;
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final long ttlSeconds;
+
+    public SessionTtlRefresher(RedisTemplate<String, Object> redisTemplate,
+                               @Value("${booking.session.refresh-fraction:0.5}") double refreshFraction,
+                               @Value("${booking.session.refresh-flush-ms:1000}") long flushMillis,
+                               @Value("${booking.session.refresh-max-tracked:100000}") long maxTrackedSessions) {
+        if (refreshFraction < 0 || refreshFraction > 1) {
+            throw new IllegalArgumentException("booking.session.refresh-fraction must be between 0 and 1");
+        }
+        long timeoutMillis = TimeUnit.MINUTES.toMillis(SessionService.SESSION_TIMEOUT);
+        long refreshMillis = Math.max(1, (long) (timeoutMillis * refreshFraction));
+
+        this.redisTemplate = redisTemplate;
+        this.recentlyRefreshed = Caffeine.newBuilder()
+                .maximumSize(maxTrackedSessions)
+                .expireAfterWrite(Duration.ofMillis(refreshMillis))
+                .build();
+        this.ttlSeconds = TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + refreshMillis + flushMillis) + 1;
+    }
+
+    /**
+     * Redis'e yazılacak oturum TTL'i (saniye).
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Kaydırma zamanı geldiyse oturumu bu düğüm adına sahiplenir; true dönerse çağıran TTL'i hemen yazar.
+     */
+    public boolean claimRefresh(String sessionId) {
+        return recentlyRefreshed.asMap().putIfAbsent(sessionId, Boolean.TRUE) == null;
+    }
+
+    /**
+     * Kaydırma zamanı geldiyse oturumu sıradaki toplu yazıma ekler.
+     */
+    public void requestRefresh(String sessionId, Long userId) {
+        if (userId != null && claimRefresh(sessionId)) {
+            pending.put(sessionId, userId);
+        }
+    }
+
+    /**
+     * {@link #claimRefresh} ile sahiplenilmiş kaydırmayı sıradaki toplu yazıma ekler.
+     */
+    public void scheduleRefresh(String sessionId, Long userId) {
+        if (userId != null) {
+            pending.put(sessionId, userId);
+        }
+    }
+
+    public void markRefreshed(String sessionId) {
+        recentlyRefreshed.put(sessionId, Boolean.TRUE);
+    }
+
+    public void forget(String sessionId) {
+        pending.remove(sessionId);
+        recentlyRefreshed.invalidate(sessionId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.session.refresh-flush-ms:1000}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<Map.Entry<String, Long>> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Map.Entry<String, Long> entry : batch) {
+                        connection.keyCommands().expire(
+                                STRING.serialize(SessionService.SESSION_PREFIX + entry.getKey()), ttlSeconds);
+                        connection.keyCommands().expire(
+                                STRING.serialize(SessionService.USER_SESSION_PREFIX + entry.getValue()), ttlSeconds);
+                    }
+                    return null;
+                });
+                logger.debug("Refreshed TTL of {} sessions", batch.size());
+            } catch (Exception e) {
+                // Bir sonraki istek kaydırmayı yeniden talep edebilsin
+                batch.forEach(entry -> recentlyRefreshed.invalidate(entry.getKey()));
+                logger.warn("Failed to refresh TTL of {} sessions: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private List<Map.Entry<String, Long>> drain() {
+        List<Map.Entry<String, Long>> batch = new ArrayList<>(Math.min(pending.size(), MAX_PIPELINE_SIZE));
+        Iterator<Map.Entry<String, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < MAX_PIPELINE_SIZE) {
+            Map.Entry<String, Long> entry = iterator.next();
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            iterator.remove();
+        }
+        return batch;
+    }
+}
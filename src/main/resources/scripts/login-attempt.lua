@@ -0,0 +1,13 @@
+-- Başarısız giriş sayaçlarını artırır; sayaç ilk kez oluşuyorsa pencere süresi kadar yaşar (sabit pencere).
+-- KEYS = login_attempts:user:<ad> [, login_attempts:ip:<adres>], ARGV[1] = pencere (saniye)
+local highest = 0
+for _, key in ipairs(KEYS) do
+    local count = redis.call('INCR', key)
+    if count == 1 then
+        redis.call('EXPIRE', key, ARGV[1])
+    end
+    if count > highest then
+        highest = count
+    end
+end
+return highest
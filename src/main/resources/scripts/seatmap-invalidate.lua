@@ -0,0 +1,8 @@
+-- Koltuk haritasını siler (yerleşim değişti), sürümü artırır ve tüm düğümlere bildirir.
+-- KEYS[1] = seatmap:<eventId>, KEYS[2] = seatmap:<eventId>:version
+-- ARGV[1] = kanal, ARGV[2] = eventId, ARGV[3] = sürüm anahtarı TTL (saniye)
+local version = redis.call('INCR', KEYS[2])
+redis.call('EXPIRE', KEYS[2], ARGV[3])
+redis.call('DEL', KEYS[1])
+redis.call('PUBLISH', ARGV[1], ARGV[2] .. '|' .. version .. '|*')
+return version
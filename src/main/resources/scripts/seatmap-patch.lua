@@ -0,0 +1,20 @@
+-- Koltuk haritasında koltukların durumunu yerinde günceller, sürümü artırır ve yamayı yayınlar.
+-- KEYS[1] = seatmap:<eventId>, KEYS[2] = seatmap:<eventId>:version
+-- ARGV[1] = kanal, ARGV[2] = eventId, ARGV[3] = yeni durum, ARGV[4] = sürüm anahtarı TTL (saniye), ARGV[5..] = koltuk id'leri
+local version = redis.call('INCR', KEYS[2])
+redis.call('EXPIRE', KEYS[2], ARGV[4])
+
+-- Harita yoksa sadece sürüm ilerler; böylece o sırada tablodan yüklenen harita yazılmaz (bkz. seatmap-store.lua)
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    for i = 5, #ARGV do
+        redis.call('HSET', KEYS[1], 's' .. ARGV[i], ARGV[3])
+    end
+    redis.call('HSET', KEYS[1], 'v', version)
+end
+
+local seatIds = {}
+for i = 5, #ARGV do
+    seatIds[#seatIds + 1] = ARGV[i]
+end
+redis.call('PUBLISH', ARGV[1], ARGV[2] .. '|' .. version .. '|' .. ARGV[3] .. '|' .. table.concat(seatIds, ','))
+return version
@@ -0,0 +1,13 @@
+-- Tablodan yüklenen koltuk haritasını, yükleme başladığından beri sürüm değişmediyse yazar.
+-- KEYS[1] = seatmap:<eventId>, KEYS[2] = seatmap:<eventId>:version
+-- ARGV[1] = yükleme öncesi okunan sürüm, ARGV[2] = harita TTL (saniye), ARGV[3] = sürüm anahtarı TTL, ARGV[4] = yerleşim
+local current = tonumber(redis.call('GET', KEYS[2]) or '0')
+if current ~= tonumber(ARGV[1]) then
+    return 0
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'layout', ARGV[4], 'v', ARGV[1])
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+redis.call('SET', KEYS[2], ARGV[1], 'EX', ARGV[3])
+return 1
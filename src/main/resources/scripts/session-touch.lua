@@ -0,0 +1,14 @@
+-- Oturumu okur ve session: TTL'ini tek gidiş-dönüşte uzatır.
+-- KEYS[1] = session:<id>, ARGV[1] = timeout (saniye)
+-- user_session:<uid> başka bir cluster slot'unda olabileceği için betikte değil, çağıran tarafından kaydırılır.
+if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+    return false
+end
+
+local user = redis.call('HGET', KEYS[1], 'user')
+if not user then
+    return false
+end
+
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+return user
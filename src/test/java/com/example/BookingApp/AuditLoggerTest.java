@@ -0,0 +1,83 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.audit.AuditLogger;
+import com.example.BookingApp.audit.AuditPipeline;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entity.User;
+import com.example.BookingApp.entityenums.AuditEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLoggerTest {
+
+    @Mock
+    private AuditPipeline auditPipeline;
+
+    @InjectMocks
+    private AuditLogger auditLogger;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(7L);
+        booking = new Booking();
+        booking.setUser(user);
+        booking.setBookingReference("BK-1234ABCD");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void logBookingTransition_WithoutTransaction_ShouldAppendImmediately() {
+        auditLogger.logBookingTransition(AuditEventType.BOOKING_RESERVED, booking);
+
+        verify(auditPipeline).append(AuditEventType.BOOKING_RESERVED, 7L, null, null, "BK-1234ABCD", null, null);
+    }
+
+    @Test
+    void logBookingTransition_InsideTransaction_ShouldAppendOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditLogger.logBookingTransition(AuditEventType.BOOKING_CONFIRMED, booking);
+        // Later changes to the entity must not leak into the record
+        booking.setBookingReference("changed");
+        verifyNoInteractions(auditPipeline);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(auditPipeline).append(AuditEventType.BOOKING_CONFIRMED, 7L, null, null, "BK-1234ABCD", null, null);
+    }
+
+    @Test
+    void logPaymentTransition_WhenTransactionRollsBack_ShouldNotAppend() {
+        Payment payment = new Payment();
+        payment.setBooking(booking);
+        payment.setPaymentReference("PAY1");
+        payment.setGatewayResponse("DECLINED");
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditLogger.logPaymentTransition(AuditEventType.PAYMENT_FAILED, payment);
+        TransactionSynchronizationManager.getSynchronizations().forEach(
+                sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(auditPipeline, never()).append(any(), any(), any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.audit.AuditOverflowPolicy;
+import com.example.BookingApp.audit.AuditPipeline;
+import com.example.BookingApp.audit.AuditRecord;
+import com.example.BookingApp.audit.AuditSink;
+import com.example.BookingApp.entityenums.AuditEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditPipelineTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int RECORDS_PER_PRODUCER = 20_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+    }
+
+    @Test
+    void append_FromConcurrentProducers_ShouldDeliverEveryRecordInProducerOrder() throws Exception {
+        CollectingSink sink = new CollectingSink(null);
+        pipeline = new AuditPipeline(List.of(sink), meterRegistry, 1024, 128, AuditOverflowPolicy.BLOCK, 10_000, 1,
+                false);
+        pipeline.start();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producerId = p;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < RECORDS_PER_PRODUCER; i++) {
+                    pipeline.append(AuditEventType.LOGOUT, producerId, null, String.valueOf(i), null, null, null);
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pipeline.shutdown();
+
+        assertEquals(PRODUCERS * RECORDS_PER_PRODUCER, sink.records.size());
+        Map<Long, Integer> lastSeen = new HashMap<>();
+        for (String[] record : sink.records) {
+            long producerId = Long.parseLong(record[1]);
+            int sequence = Integer.parseInt(record[2]);
+            assertEquals(lastSeen.getOrDefault(producerId, -1) + 1, sequence);
+            lastSeen.put(producerId, sequence);
+        }
+        assertEquals(0.0, meterRegistry.counter("booking.audit.dropped").count());
+        assertEquals(PRODUCERS * RECORDS_PER_PRODUCER, meterRegistry.timer("booking.audit.enqueue").count());
+    }
+
+    @Test
+    void append_WhenBufferIsFullAndPolicyIsDrop_ShouldDropWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingSink sink = new CollectingSink(release);
+        pipeline = new AuditPipeline(List.of(sink), meterRegistry, 4, 1, AuditOverflowPolicy.DROP, 10_000, 1, false);
+        pipeline.start();
+
+        // The writer holds one record inside the blocked sink; the next four fill the buffer
+        pipeline.append(AuditEventType.LOGIN_FAILED, null, "user0", null, null, null, null);
+        assertTrue(sink.writing.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        for (int i = 1; i <= 10; i++) {
+            pipeline.append(AuditEventType.LOGIN_FAILED, null, "user" + i, null, null, null, null);
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(6.0, meterRegistry.counter("booking.audit.dropped").count());
+
+        release.countDown();
+        pipeline.shutdown();
+        assertEquals(List.of("user0", "user1", "user2", "user3", "user4"),
+                sink.records.stream().map(record -> record[0]).toList());
+    }
+
+    @Test
+    void append_WhenSinkFails_ShouldCountFailureAndKeepWriting() {
+        AuditSink failing = failingSink();
+        CollectingSink sink = new CollectingSink(null);
+        pipeline = new AuditPipeline(List.of(failing, sink), meterRegistry, 16, 16, AuditOverflowPolicy.DROP, 0, 1,
+                false);
+        pipeline.start();
+
+        pipeline.append(AuditEventType.REGISTRATION_SUCCEEDED, 1L, "alice", null, null, null, null);
+        pipeline.shutdown();
+
+        assertEquals(1, sink.records.size());
+        assertEquals(1.0, meterRegistry.counter("booking.audit.sink.failures", "sink", "failing").count());
+        assertEquals(1.0, meterRegistry.counter("booking.audit.written").count());
+    }
+
+    @Test
+    void append_WhenEverySinkFails_ShouldCountRecordsAsLostNotWritten() {
+        pipeline = new AuditPipeline(List.of(failingSink()), meterRegistry, 16, 16, AuditOverflowPolicy.DROP, 0, 1,
+                false);
+        pipeline.start();
+
+        pipeline.append(AuditEventType.LOGOUT, 1L, "alice", null, null, null, null);
+        pipeline.append(AuditEventType.LOGOUT, 2L, "bob", null, null, null, null);
+        pipeline.shutdown();
+
+        assertEquals(0.0, meterRegistry.counter("booking.audit.written").count());
+        assertEquals(2.0, meterRegistry.counter("booking.audit.lost").count());
+    }
+
+    private static AuditSink failingSink() {
+        return new AuditSink() {
+            @Override
+            public String name() {
+                return "failing";
+            }
+
+            @Override
+            public void write(AuditRecord[] records, int count) {
+                throw new IllegalStateException("disk full");
+            }
+        };
+    }
+
+    // Records are reused by the pipeline, so the values are copied out
+    private static final class CollectingSink implements AuditSink {
+
+        private final List<String[]> records = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private CollectingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String name() {
+            return "collecting";
+        }
+
+        @Override
+        public void write(AuditRecord[] batch, int count) throws InterruptedException {
+            writing.countDown();
+            if (release != null) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            for (int i = 0; i < count; i++) {
+                AuditRecord record = batch[i];
+                records.add(new String[] {
+                        record.getUsername(), String.valueOf(record.getUserId()), record.getSessionId()});
+            }
+        }
+    }
+}
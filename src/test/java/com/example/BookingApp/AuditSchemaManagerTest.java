@@ -0,0 +1,67 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.audit.AuditRecord;
+import com.example.BookingApp.audit.AuditSchemaManager;
+import com.example.BookingApp.audit.JdbcAuditSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditSchemaManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditSchemaManager schemaManager;
+
+    @BeforeEach
+    void setUp() {
+        schemaManager = new AuditSchemaManager(jdbcTemplate, 0, 0);
+    }
+
+    @Test
+    void initialize_WithUnpartitionedLegacyTable_ShouldRenameItBeforeCreatingPartitionedTable() {
+        tableExists("audit_events", true);
+        tableExists("audit_events_legacy", false);
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class), eq("audit_events")))
+                .thenReturn(0);
+
+        schemaManager.initialize();
+
+        assertTrue(schemaManager.isReady());
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE audit_events RENAME TO audit_events_legacy");
+        inOrder.verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS audit_events ("));
+    }
+
+    @Test
+    void initialize_WhenLegacyNameIsTaken_ShouldLeaveSchemaUntouchedAndSinkShouldRefuseWrites() {
+        tableExists("audit_events", true);
+        tableExists("audit_events_legacy", true);
+        when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class), eq("audit_events")))
+                .thenReturn(0);
+
+        schemaManager.initialize();
+
+        assertFalse(schemaManager.isReady());
+        verify(jdbcTemplate, never()).execute(anyString());
+
+        JdbcAuditSink sink = new JdbcAuditSink(jdbcTemplate, schemaManager);
+        assertThrows(IllegalStateException.class, () -> sink.write(new AuditRecord[] {new AuditRecord()}, 1));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
+    }
+
+    private void tableExists(String table, boolean exists) {
+        when(jdbcTemplate.queryForObject(contains("to_regclass"), eq(Boolean.class), eq(table))).thenReturn(exists);
+    }
+}
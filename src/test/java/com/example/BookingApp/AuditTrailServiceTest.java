@@ -0,0 +1,56 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.dto.audit.AuditEventResponse;
+import com.example.BookingApp.entityenums.AuditEventType;
+import com.example.BookingApp.service.AuditTrailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTrailServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findEvents_ShouldReturnSessionFingerprintInsteadOfSessionId() throws Exception {
+        AuditTrailService auditTrailService = new AuditTrailService(jdbcTemplate, 366);
+        ArgumentCaptor<RowMapper<AuditEventResponse>> rowMapper = ArgumentCaptor.forClass(RowMapper.class);
+        when(jdbcTemplate.query(anyString(), rowMapper.capture(), any(Object[].class))).thenReturn(List.of());
+
+        auditTrailService.findEvents(null, null, 1L, null, null, null, null);
+
+        AuditEventResponse first = rowMapper.getValue().mapRow(row("3f9a1c2e-live-session"), 0);
+        AuditEventResponse second = rowMapper.getValue().mapRow(row("3f9a1c2e-live-session"), 1);
+        assertEquals(16, first.sessionFingerprint().length());
+        assertFalse(first.sessionFingerprint().contains("3f9a1c2e"));
+        assertEquals(first.sessionFingerprint(), second.sessionFingerprint());
+        assertNull(rowMapper.getValue().mapRow(row(null), 2).sessionFingerprint());
+    }
+
+    private static ResultSet row(String sessionId) throws Exception {
+        // Columns that are not stubbed read as null
+        ResultSet rs = mock(ResultSet.class, withSettings().strictness(Strictness.LENIENT));
+        when(rs.getLong("id")).thenReturn(1L);
+        when(rs.getString("event_type")).thenReturn(AuditEventType.LOGOUT.name());
+        when(rs.getTimestamp("occurred_at")).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        when(rs.getString("session_id")).thenReturn(sessionId);
+        return rs;
+    }
+}
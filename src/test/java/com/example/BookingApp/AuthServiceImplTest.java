@@ -10,9 +10,12 @@ import com.example.BookingApp.entity.User;
 import com.example.BookingApp.entityenums.Role;
 import com.example.BookingApp.exception.*;
 import com.example.BookingApp.repository.UserRepository;
+import com.example.BookingApp.security.LoginAttemptThrottle;
+import com.example.BookingApp.security.PasswordHashingService;
 import com.example.BookingApp.service.UserService;
 import com.example.BookingApp.service.impl.AuthServiceImpl;
 import com.example.BookingApp.audit.AuditLogger;
+import com.example.BookingApp.util.SessionService;
 import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +23,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -38,11 +40,17 @@ class AuthServiceImplTest {
     private UserService userService;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+    
+    @Mock
+    private LoginAttemptThrottle loginAttemptThrottle;
     
     @Mock
     private AuditLogger auditLogger;
     
+    @Mock
+    private SessionService sessionService;
+    
     @Mock
     private HttpSession session;
     
@@ -89,7 +97,7 @@ class AuthServiceImplTest {
     void login_WithValidCredentials_ShouldReturnSuccessResponse() {
       
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
         when(userService.getUserProfile(1L)).thenReturn(Optional.of(testUserResponse));
         when(session.getId()).thenReturn("session123");
 
@@ -103,6 +111,7 @@ class AuthServiceImplTest {
         verify(session).setAttribute(eq("loginTime"), any());
         verify(session).setAttribute("userRole", Role.USER); 
         verify(auditLogger).logSuccessfulLogin(1L, "testuser", "session123");
+        verify(sessionService).createUserSession(eq("session123"), any());
     }
 
     @Test
@@ -123,7 +132,7 @@ class AuthServiceImplTest {
     void login_WithInvalidPassword_ShouldThrowInvalidCredentialsException() {
 
     	when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", "encodedPassword")).thenReturn(false);
+        when(passwordHashingService.matches("wrongpassword", "encodedPassword")).thenReturn(false);
 
         AuthRequest invalidRequest = new AuthRequest("testuser", "wrongpassword");
 
@@ -132,6 +141,37 @@ class AuthServiceImplTest {
         });
         
         verify(auditLogger).logFailedLogin(eq("testuser"), any(), any());
+        verify(loginAttemptThrottle).recordFailure("testuser", null);
+        verify(loginAttemptThrottle, never()).recordSuccess(any());
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectWithoutCheckingPassword() {
+        doThrow(new LoginThrottledException("Too many failed login attempts, please try again later", 900))
+                .when(loginAttemptThrottle).checkAllowed("testuser", "10.0.0.1");
+
+        assertThrows(LoginThrottledException.class, () -> {
+            authService.login(validAuthRequest, session, "10.0.0.1");
+        });
+        
+        verifyNoInteractions(userRepository, passwordHashingService);
+        verify(auditLogger).logFailedLogin(eq("testuser"), any(), any());
+    }
+
+    @Test
+    void login_WithHashOfOldCost_ShouldRehashPassword() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordHashingService.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.needsRehash("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("rehashedPassword");
+        when(userService.getUserProfile(1L)).thenReturn(Optional.of(testUserResponse));
+        when(session.getId()).thenReturn("session123");
+
+        authService.login(validAuthRequest, session, "10.0.0.1");
+
+        assertEquals("rehashedPassword", testUser.getPassword());
+        verify(userRepository).save(testUser);
+        verify(loginAttemptThrottle).recordSuccess("testuser");
     }
 
     @Test
@@ -216,6 +256,7 @@ class AuthServiceImplTest {
 
         verify(session).invalidate();
         verify(auditLogger).logLogout(1L, "session123");
+        verify(sessionService).invalidateSession("session123");
     }
 
     @Test
@@ -0,0 +1,246 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.audit.AuditLogger;
+import com.example.BookingApp.dto.booking.BookingCreateRequest;
+import com.example.BookingApp.dto.booking.BookingResponse;
+import com.example.BookingApp.dto.booking.GroupBookingCreateRequest;
+import com.example.BookingApp.dto.booking.GroupBookingResponse;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entity.Seat;
+import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.exception.BookingException;
+import com.example.BookingApp.expiry.ReservationExpiryService;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.BookingMapper;
+import com.example.BookingApp.outbox.OutboxService;
+import com.example.BookingApp.repository.BookingRepository;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.repository.UserRepository;
+import com.example.BookingApp.service.SeatCounterService;
+import com.example.BookingApp.service.impl.BookingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingServiceImplTest {
+
+    private static final int CONCURRENT_BUYERS = 2000;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatCounterService seatCounterService;
+
+    @Mock
+    private ReservationExpiryService reservationExpiryService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private AuditLogger auditLogger;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    private Event event;
+    private Seat seat;
+    private AtomicReference<SeatStatus> seatRow;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setId(1L);
+
+        seat = new Seat();
+        seat.setId(10L);
+        seat.setEvent(event);
+        seat.setPrice(new BigDecimal("50.00"));
+
+        // Simulates the database row: the conditional UPDATE succeeds only while the seat is still AVAILABLE
+        seatRow = new AtomicReference<>(SeatStatus.AVAILABLE);
+
+        when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+        when(seatRepository.findById(10L)).thenReturn(Optional.of(seat));
+        when(seatRepository.updateSeatStatus(eq(10L), eq(1L), eq(SeatStatus.AVAILABLE), eq(SeatStatus.RESERVED)))
+                .thenAnswer(invocation -> seatRow.compareAndSet(SeatStatus.AVAILABLE, SeatStatus.RESERVED) ? 1 : 0);
+        when(bookingMapper.toEntity(any(BookingCreateRequest.class))).thenAnswer(invocation -> new Booking());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toResponse(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            return new BookingResponse(booking.getId(), 1L, 10L, booking.getBookingReference(),
+                    booking.getTotalAmount(), booking.getStatus(), booking.getReservedUntil(),
+                    booking.getBookedAt(), booking.getConfirmedAt());
+        });
+    }
+
+    @Test
+    void createReservation_WithAvailableSeat_ShouldClaimWithoutReadingSeatFirst() {
+        BookingResponse response = bookingService.createReservation(request());
+
+        assertEquals(BookingStatus.RESERVED, response.status());
+        assertEquals(new BigDecimal("50.00"), response.totalAmount());
+        assertEquals(SeatStatus.RESERVED, seatRow.get());
+
+        var inOrder = inOrder(seatRepository);
+        inOrder.verify(seatRepository).updateSeatStatus(10L, 1L, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        inOrder.verify(seatRepository).findById(10L);
+        verify(seatRepository, never()).save(any(Seat.class));
+        verify(seatCounterService).recordTransition(1L, 10L, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        verify(reservationExpiryService).register(any(), eq(response.reservedUntil()));
+    }
+
+    @Test
+    void createReservation_WithTakenSeat_ShouldThrowBookingException() {
+        seatRow.set(SeatStatus.RESERVED);
+
+        BookingException e = assertThrows(BookingException.class, () -> bookingService.createReservation(request()));
+
+        assertEquals("Seat is not available", e.getMessage());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(seatCounterService);
+    }
+
+    @Test
+    void createReservation_WithSeatOfAnotherEvent_ShouldThrowBookingException() {
+        Event otherEvent = new Event();
+        otherEvent.setId(2L);
+        seat.setEvent(otherEvent);
+        when(seatRepository.updateSeatStatus(10L, 1L, SeatStatus.AVAILABLE, SeatStatus.RESERVED)).thenReturn(0);
+
+        BookingException e = assertThrows(BookingException.class, () -> bookingService.createReservation(request()));
+
+        assertEquals("Seat does not belong to this event", e.getMessage());
+    }
+
+    @Test
+    void createReservation_WithConcurrentBuyers_ShouldLetExactlyOneWin() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONCURRENT_BUYERS);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+
+        for (int i = 0; i < CONCURRENT_BUYERS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    bookingService.createReservation(request());
+                    winners.incrementAndGet();
+                } catch (BookingException e) {
+                    rejected.incrementAndGet();
+                } catch (Exception e) {
+                    unexpected.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals(1, winners.get());
+        assertEquals(CONCURRENT_BUYERS - 1, rejected.get());
+        assertEquals(0, unexpected.get());
+        verify(bookingRepository, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void createGroupReservation_ShouldClaimAllSeatsWithOneUpdateAndOneBatchInsert() {
+        Seat second = new Seat();
+        second.setId(11L);
+        second.setEvent(event);
+        second.setPrice(new BigDecimal("30.00"));
+        when(seatRepository.updateSeatStatusIn(List.of(10L, 11L), 1L, SeatStatus.AVAILABLE, SeatStatus.RESERVED))
+                .thenReturn(2);
+        when(seatRepository.findAllById(List.of(10L, 11L))).thenReturn(List.of(seat, second));
+        when(seatRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id == 10L ? seat : second;
+        });
+        when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingMapper.toResponseList(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            return bookings.stream().map(bookingMapper::toResponse).toList();
+        });
+
+        GroupBookingResponse response = bookingService.createGroupReservation(groupRequest(11L, 10L));
+
+        assertEquals(2, response.bookings().size());
+        assertEquals(new BigDecimal("80.00"), response.totalAmount());
+        assertEquals(BookingStatus.RESERVED, response.status());
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(seatCounterService).recordTransitions(1L, List.of(10L, 11L), SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+    }
+
+    @Test
+    void createGroupReservation_WithOneTakenSeat_ShouldReserveNothing() {
+        when(seatRepository.updateSeatStatusIn(List.of(10L, 11L), 1L, SeatStatus.AVAILABLE, SeatStatus.RESERVED))
+                .thenReturn(1);
+
+        BookingException e = assertThrows(BookingException.class,
+                () -> bookingService.createGroupReservation(groupRequest(10L, 11L)));
+
+        assertEquals("One or more seats are not available", e.getMessage());
+        verify(bookingRepository, never()).saveAll(anyList());
+        verifyNoInteractions(seatCounterService, reservationExpiryService);
+    }
+
+    private GroupBookingCreateRequest groupRequest(Long... seatIds) {
+        GroupBookingCreateRequest request = new GroupBookingCreateRequest();
+        request.setEventId(1L);
+        request.setSeatIds(List.of(seatIds));
+        return request;
+    }
+
+    private BookingCreateRequest request() {
+        BookingCreateRequest request = new BookingCreateRequest();
+        request.setEventId(1L);
+        request.setSeatId(10L);
+        return request;
+    }
+}
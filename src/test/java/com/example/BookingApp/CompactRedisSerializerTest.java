@@ -0,0 +1,75 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.codec.CompactRedisSerializer;
+import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.dto.event.response.VenueResponse;
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.entityenums.EventType;
+import com.example.BookingApp.entityenums.Role;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRedisSerializerTest {
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(1024);
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    @Test
+    void roundTrip_ShouldPreserveRecordsIncludingNulls() {
+        UserResponse user = new UserResponse(7L, "testuser", "test@example.com", Role.USER, true);
+        VenueResponse venue = new VenueResponse(3L, "Arena", null, "İstanbul", "TR", 5000, null, null);
+        EventResponse event = new EventResponse(1L, "Konser", null, EventType.CONCERT, venue,
+                LocalDateTime.of(2026, 6, 1, 20, 30, 0, 123_000_000), null, null, null,
+                new BigDecimal("150.00"), null, "Org", EventStatus.ACTIVE, seats(3), 3, 10);
+
+        assertEquals(user, serializer.deserialize(serializer.serialize(user)));
+        assertEquals(event, serializer.deserialize(serializer.serialize(event)));
+    }
+
+    @Test
+    void seatList_ShouldBeCompressedAndMuchSmallerThanJson() {
+        List<SeatResponse> seats = seats(500);
+
+        byte[] compact = serializer.serialize(seats);
+        byte[] legacy = json.serialize(seats);
+
+        assertEquals(seats, serializer.deserialize(compact));
+        assertTrue(compact.length * 5 < legacy.length, compact.length + " vs " + legacy.length);
+    }
+
+    @Test
+    void deserialize_ShouldStillReadLegacyJsonValues() {
+        UserResponse user = new UserResponse(7L, "testuser", "test@example.com", Role.USER, true);
+
+        assertEquals(user, serializer.deserialize(json.serialize(user)));
+    }
+
+    @Test
+    void deserialize_WithUnknownFormatVersion_ShouldFail() {
+        byte[] bytes = serializer.serialize(new UserResponse(7L, "u", "e", Role.USER, true));
+        bytes[1] = (byte) (CompactRedisSerializer.FORMAT_VERSION + 1);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    private List<SeatResponse> seats(int count) {
+        List<SeatResponse> seats = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            seats.add(new SeatResponse((long) i, 1L, String.valueOf(i % 20 + 1), String.valueOf(i / 20 + 1), "A",
+                    SeatType.STANDARD, SeatStatus.AVAILABLE, new BigDecimal("50.00"), i % 20, i / 20));
+        }
+        return seats;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.controller.BookingController;
+import com.example.BookingApp.controller.PaymentController;
+import com.example.BookingApp.controller.ProfileController;
+import com.example.BookingApp.entityenums.Role;
+import com.example.BookingApp.exception.GlobalExceptionHandler;
+import com.example.BookingApp.security.CurrentUserArgumentResolver;
+import com.example.BookingApp.security.CustomUserDetails;
+import com.example.BookingApp.security.SessionAuthenticationToken;
+import com.example.BookingApp.service.AuthService;
+import com.example.BookingApp.service.BookingService;
+import com.example.BookingApp.service.PaymentService;
+import com.example.BookingApp.service.UserService;
+import com.example.BookingApp.util.SessionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CurrentUserResolutionTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private SessionService sessionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new BookingController(bookingService),
+                        new PaymentController(paymentService),
+                        new ProfileController(userService, authService, sessionService))
+                .setCustomArgumentResolvers(new CurrentUserArgumentResolver())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedRequests_ShouldUseSessionUserWithoutLookingItUp() throws Exception {
+        authenticate(new CustomUserDetails(7L, "alice", "alice@example.com", "hash", Role.USER, true));
+        when(bookingService.getUserBookings(7L)).thenReturn(List.of());
+        when(paymentService.getPaymentByReference(eq("PAY-1"), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/profile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.username").value("alice"));
+        mockMvc.perform(get("/api/bookings")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/payments/PAY-1")).andExpect(status().isNotFound());
+
+        verify(bookingService).getUserBookings(7L);
+        verify(paymentService).getPaymentByReference(eq("PAY-1"), argThat(user -> user.id() == 7L));
+        verify(authService, never()).getCurrentUser(any());
+        verify(userService, never()).getUserProfile(anyLong());
+    }
+
+    @Test
+    void requestWithoutAuthentication_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/bookings")).andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(bookingService, authService, userService);
+    }
+
+    @Test
+    void requestWithInactiveUser_ShouldReturnUnauthorized() throws Exception {
+        authenticate(new CustomUserDetails(7L, "alice", "alice@example.com", "hash", Role.USER, false));
+
+        mockMvc.perform(get("/api/profile")).andExpect(status().isUnauthorized());
+    }
+
+    private void authenticate(CustomUserDetails userDetails) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new SessionAuthenticationToken(userDetails, "session-1", userDetails.getAuthorities()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.cache.SeatMapCache;
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.dto.event.response.EventPageResponse;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entity.Profile;
+import com.example.BookingApp.entity.Seat;
+import com.example.BookingApp.entity.User;
+import com.example.BookingApp.entity.Venue;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.EventMapperImpl;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.mapper.VenueMapperImpl;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.EventSearchRepositoryImpl;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.search.EventAutocompleteService;
+import com.example.BookingApp.search.EventSearchService;
+import com.example.BookingApp.service.EventService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Counts the SQL statements Hibernate prepares for a listing page. There is no database in the test
+ * environment, so the JDBC layer is mocked: every query returns {@code rowsPerQuery} rows whose numeric
+ * columns (ids and foreign keys alike) hold the row number, which makes every event reference its own venue.
+ */
+class EventPageQueryCountTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final AtomicInteger rowsPerQuery = new AtomicInteger();
+    private static SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private EventService eventService;
+
+    @BeforeAll
+    static void buildSessionFactory() throws Exception {
+        Configuration configuration = new Configuration();
+        for (Class<?> entity : List.of(Event.class, Venue.class, Seat.class, Booking.class, Payment.class,
+                User.class, Profile.class, OutboxEvent.class)) {
+            configuration.addAnnotatedClass(entity);
+        }
+        configuration.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource());
+        configuration.setProperty(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName());
+        configuration.setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+        configuration.setProperty(AvailableSettings.HBM2DDL_AUTO, "none");
+        configuration.setProperty(AvailableSettings.GENERATE_STATISTICS, "true");
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        entityManager = sessionFactory.createEntityManager();
+
+        EventSearchRepositoryImpl searchRepository = new EventSearchRepositoryImpl();
+        ReflectionTestUtils.setField(searchRepository, "entityManager", entityManager);
+        // Creating the repository also parses every @Query on it
+        EventRepository eventRepository = new JpaRepositoryFactory(entityManager)
+                .getRepository(EventRepository.class, RepositoryFragments.just(searchRepository));
+
+        EventMapperImpl eventMapper = new EventMapperImpl();
+        ReflectionTestUtils.setField(eventMapper, "venueMapper", new VenueMapperImpl());
+        eventService = new EventService(eventRepository, mock(SeatRepository.class), eventMapper,
+                mock(SeatMapper.class), mock(SeatInventoryService.class), mock(EventSearchService.class),
+                mock(EventAutocompleteService.class), mock(SeatMapCache.class));
+        statistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+    }
+
+    @Test
+    void getActiveEventsPage_ShouldLoadEventsVenuesAndSeatCountsInOneStatement() {
+        rowsPerQuery.set(PAGE_SIZE + 1);
+
+        EventPageResponse page = eventService.getActiveEventsPage(null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.size());
+        assertTrue(page.hasMore());
+        assertNotNull(page.events().get(PAGE_SIZE - 1).venue());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void getEventsByCityPage_ShouldLoadEventsAndVenuesInOneStatement() {
+        rowsPerQuery.set(PAGE_SIZE);
+
+        EventPageResponse page = eventService.getEventsByCityPage("Istanbul", null, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, page.size());
+        assertFalse(page.hasMore());
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    @Test
+    void advancedSearch_ShouldLoadEventsAndVenuesInOneStatement() {
+        rowsPerQuery.set(PAGE_SIZE);
+
+        eventService.advancedSearch(new EventSearchCriteria("rock", null, "Istanbul", null, null), null, PAGE_SIZE);
+
+        assertEquals(1, statistics().getPrepareStatementCount());
+    }
+
+    private static Statistics statistics() {
+        return sessionFactory.getStatistics();
+    }
+
+    private static DataSource dataSource() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> statement());
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(invocation -> statement());
+        return dataSource;
+    }
+
+    private static PreparedStatement statement() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenAnswer(invocation -> resultSet(rowsPerQuery.get()));
+        return statement;
+    }
+
+    private static ResultSet resultSet(int rows) throws Exception {
+        AtomicInteger row = new AtomicInteger();
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() <= rows);
+        when(resultSet.getLong(anyInt())).thenAnswer(invocation -> (long) row.get());
+        return resultSet;
+    }
+}
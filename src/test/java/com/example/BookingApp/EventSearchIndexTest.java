@@ -0,0 +1,81 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.search.EventSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventSearchIndexTest {
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EventSearchIndex();
+        index.upsert(document(1L, 3, "Rock Konseri", "Zorlu PSM", "Live Nation", "Açık hava"));
+        index.upsert(document(2L, 1, "Caz Gecesi", "İstanbul Jazz Club", "IKSV", "Rock ve caz karışık bir akşam"));
+        index.upsert(document(3L, 2, "Şişli Tiyatro Festivali", "Cemal Reşit Rey", "İBB", null));
+    }
+
+    @Test
+    void search_ShouldMatchSubstringsThroughTrigrams() {
+        assertEquals(List.of(1L), ids(index.search("onser", 10)));
+    }
+
+    @Test
+    void search_ShouldFoldCaseAndTurkishCharacters() {
+        assertEquals(List.of(2L), ids(index.search("ISTANBUL", 10)));
+        assertEquals(List.of(3L), ids(index.search("sisli", 10)));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        assertEquals(List.of(1L, 2L), ids(index.search("rock", 10)));
+    }
+
+    @Test
+    void search_ShouldRequireEveryQueryTerm() {
+        assertEquals(List.of(2L), ids(index.search("rock caz", 10)));
+        assertTrue(index.search("rock opera", 10).isEmpty());
+    }
+
+    @Test
+    void upsert_ShouldReplacePreviouslyIndexedTerms() {
+        index.upsert(document(1L, 3, "Metal Konseri", "Zorlu PSM", "Live Nation", null));
+
+        assertEquals(List.of(2L), ids(index.search("rock", 10)));
+        assertEquals(List.of(1L), ids(index.search("metal", 10)));
+
+        index.remove(1L);
+
+        assertTrue(index.search("metal", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void replaceAll_ShouldSwapInImmutableSnapshot() {
+        index.replaceAll(List.of(
+                document(4L, 1, "Jazz Festivali", "Harbiye Açıkhava", "IKSV", null),
+                document(5L, 2, "Rock Festivali", "KüçükÇiftlik Park", "Pozitif", null)));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(5L), ids(index.search("rock", 10)));
+        assertEquals(List.of(4L, 5L), ids(index.search("festival", 10)));
+        assertTrue(index.search("tiyatro", 10).isEmpty());
+    }
+
+    private EventSearchIndex.Document document(Long id, int daysAhead, String title, String venue,
+                                               String organizer, String description) {
+        return new EventSearchIndex.Document(id, now.plusDays(daysAhead),
+                EventSearchIndex.fields(title, venue, organizer, description));
+    }
+
+    private List<Long> ids(List<EventSearchIndex.Hit> hits) {
+        return hits.stream().map(EventSearchIndex.Hit::eventId).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entity.Venue;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.search.EventSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSearchServiceTest {
+
+    private static final LocalDateTime INDEXED_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private EventSearchService eventSearchService;
+    private Venue venue;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        eventSearchService = new EventSearchService(eventRepository, true);
+        venue = new Venue();
+        venue.setName("Zorlu PSM");
+        venue.setUpdatedAt(INDEXED_AT.minusDays(1));
+        event = new Event();
+        event.setId(1L);
+        event.setTitle("Rock Konseri");
+        event.setStatus(EventStatus.ACTIVE);
+        event.setVenue(venue);
+        event.setUpdatedAt(INDEXED_AT);
+
+        when(eventRepository.findAllWithVenueByStatus(EventStatus.ACTIVE)).thenReturn(List.of(event));
+        eventSearchService.rebuild();
+    }
+
+    @Test
+    void refresh_WhenVenueIsRenamed_ShouldReindexItsEvents() {
+        LocalDateTime renamedAt = INDEXED_AT.plusMinutes(5);
+        venue.setName("Volkswagen Arena");
+        venue.setUpdatedAt(renamedAt);
+        when(eventRepository.findChangedSince(INDEXED_AT)).thenReturn(List.of());
+        when(eventRepository.findByVenueChangedSince(INDEXED_AT)).thenReturn(List.of(event));
+
+        eventSearchService.refresh();
+
+        assertEquals(List.of(1L), eventSearchService.search("arena", 10));
+        assertTrue(eventSearchService.search("zorlu", 10).isEmpty());
+
+        // The watermark advances to the rename, so the next refresh starts after it
+        when(eventRepository.findChangedSince(renamedAt)).thenReturn(List.of());
+        when(eventRepository.findByVenueChangedSince(renamedAt)).thenReturn(List.of());
+        eventSearchService.refresh();
+        verify(eventRepository).findByVenueChangedSince(renamedAt);
+    }
+}
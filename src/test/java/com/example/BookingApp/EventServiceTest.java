@@ -0,0 +1,205 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.dto.event.EventSearchCriteria;
+import com.example.BookingApp.dto.event.response.EventPageResponse;
+import com.example.BookingApp.dto.event.response.EventResponse;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entityenums.EventStatus;
+import com.example.BookingApp.entityenums.EventType;
+import com.example.BookingApp.exception.ValidationException;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.EventMapper;
+import com.example.BookingApp.mapper.EventMapperImpl;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.mapper.VenueMapperImpl;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.search.EventAutocompleteService;
+import com.example.BookingApp.search.EventSearchService;
+import com.example.BookingApp.service.EventService;
+import com.example.BookingApp.util.EventCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    // Real MapStruct mapper, so seat counts are read from the Event row exactly as in production
+    @Spy
+    private EventMapper eventMapper = new EventMapperImpl();
+
+    @Mock
+    private SeatMapper seatMapper;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private EventSearchService eventSearchService;
+
+    @Mock
+    private EventAutocompleteService eventAutocompleteService;
+
+    @InjectMocks
+    private EventService eventService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(eventMapper, "venueMapper", new VenueMapperImpl());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 200})
+    void getActiveEventsPage_ShouldIssueOneQueryAndNoSeatQueriesRegardlessOfResultSize(int eventCount) {
+        when(eventRepository.findPageByStatus(eq(EventStatus.ACTIVE), any(), any(), any(Pageable.class)))
+                .thenReturn(events(eventCount));
+
+        EventPageResponse page = eventService.getActiveEventsPage(null, 100);
+
+        assertEquals(Math.min(eventCount, 100), page.size());
+        assertEquals(eventCount > 100, page.hasMore());
+        verify(eventRepository, times(1)).findPageByStatus(eq(EventStatus.ACTIVE), any(), any(), any(Pageable.class));
+        verifyNoMoreInteractions(eventRepository);
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void getActiveEventsPage_ShouldCapPageSizeAndFetchOneExtraRow() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(eventRepository.findPageByStatus(eq(EventStatus.ACTIVE), any(), any(), pageable.capture()))
+                .thenReturn(List.of());
+
+        EventPageResponse page = eventService.getActiveEventsPage(null, 10_000);
+
+        assertEquals(101, pageable.getValue().getPageSize());
+        assertFalse(page.hasMore());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getActiveEventsPage_ShouldContinueFromNextCursor() {
+        List<Event> firstRows = events(3);
+        when(eventRepository.findPageByStatus(EventStatus.ACTIVE, EventCursor.FIRST_PAGE.eventDate(),
+                EventCursor.FIRST_PAGE.id(), PageRequest.ofSize(3))).thenReturn(firstRows);
+
+        EventPageResponse first = eventService.getActiveEventsPage(null, 2);
+
+        assertTrue(first.hasMore());
+        assertEquals(2, first.events().size());
+
+        Event last = firstRows.get(1);
+        when(eventRepository.findPageByStatus(EventStatus.ACTIVE, last.getEventDate(), last.getId(),
+                PageRequest.ofSize(3))).thenReturn(List.of(firstRows.get(2)));
+
+        EventPageResponse second = eventService.getActiveEventsPage(first.nextCursor(), 2);
+
+        assertFalse(second.hasMore());
+        assertEquals(3L, second.events().get(0).id());
+    }
+
+    @Test
+    void getActiveEventsPage_WithInvalidCursor_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> eventService.getActiveEventsPage("not-a-cursor", 20));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getEventsByTypePage_ShouldTakeSeatCountsFromEventRow() {
+        List<Event> events = events(2);
+        events.get(0).setAvailableSeatCount(40);
+        events.get(0).setReservedSeatCount(5);
+        events.get(0).setBookedSeatCount(15);
+        events.get(1).setBookedSeatCount(10);
+        when(eventRepository.findPageByEventTypeAndStatus(eq(EventType.CONCERT), eq(EventStatus.ACTIVE),
+                any(), any(), any(Pageable.class))).thenReturn(events);
+
+        List<EventResponse> responses = eventService.getEventsByTypePage(EventType.CONCERT, null, null).events();
+
+        assertEquals(40, responses.get(0).availableSeatCount());
+        assertEquals(60, responses.get(0).totalSeatCount());
+        assertEquals(0, responses.get(1).availableSeatCount());
+        assertEquals(10, responses.get(1).totalSeatCount());
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void advancedSearch_ShouldRunOneFilteredQueryWithNormalizedCriteria() {
+        LocalDateTime start = LocalDateTime.now();
+        EventSearchCriteria criteria = new EventSearchCriteria("  rock ", EventType.CONCERT, " ", start, null);
+        when(eventRepository.searchPage(criteria, EventStatus.ACTIVE, EventCursor.FIRST_PAGE.eventDate(),
+                EventCursor.FIRST_PAGE.id(), 21)).thenReturn(events(21));
+
+        EventPageResponse page = eventService.advancedSearch(criteria, null, null);
+
+        assertEquals("rock", criteria.keyword());
+        assertNull(criteria.city());
+        assertEquals(20, page.size());
+        assertTrue(page.hasMore());
+        verify(eventRepository, times(1)).searchPage(any(), any(), any(), any(), anyInt());
+        verifyNoMoreInteractions(eventRepository);
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void searchEvents_WithReadyIndex_ShouldKeepIndexRankingAndSkipLikeQuery() {
+        List<Event> events = events(3);
+        events.forEach(event -> event.setStatus(EventStatus.ACTIVE));
+        when(eventSearchService.isReady()).thenReturn(true);
+        when(eventSearchService.search(eq("rock"), anyInt())).thenReturn(List.of(3L, 1L));
+        when(eventRepository.findAllWithVenueByIdIn(List.of(3L, 1L))).thenReturn(List.of(events.get(0), events.get(2)));
+
+        List<EventResponse> responses = eventService.searchEvents("rock");
+
+        assertEquals(List.of(3L, 1L), responses.stream().map(EventResponse::id).toList());
+        verify(eventRepository, never()).findByKeywordAndStatus(any(), any());
+    }
+
+    @Test
+    void searchEvents_WithBlankKeyword_ShouldReturnEveryActiveEvent() {
+        when(eventRepository.findAllWithVenueByStatusOrderByEventDate(EventStatus.ACTIVE)).thenReturn(events(25));
+
+        List<EventResponse> responses = eventService.searchEvents("  ");
+
+        assertEquals(25, responses.size());
+        verify(eventRepository, never()).findPageByStatus(any(), any(), any(), any(Pageable.class));
+        verifyNoInteractions(eventSearchService);
+    }
+
+    private List<Event> events(int count) {
+        List<Event> events = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Event event = new Event();
+            event.setId(id);
+            event.setTitle("Event " + id);
+            event.setEventType(EventType.CONCERT);
+            event.setEventDate(LocalDateTime.now().plusDays(id));
+            events.add(event);
+        }
+        return events;
+    }
+}
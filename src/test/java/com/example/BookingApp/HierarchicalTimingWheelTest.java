@@ -0,0 +1,61 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.expiry.HierarchicalTimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void advance_ShouldNotReturnItemsBeforeTheirDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 2, START);
+        wheel.schedule("soon", START + 2500);
+        wheel.schedule("later", START + 30_000);
+
+        assertTrue(wheel.advance(START + 2000).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(START + 3000));
+        assertTrue(wheel.advance(START + 29_000).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(START + 30_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_WithPastDeadline_ShouldExpireOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 2, START);
+        wheel.schedule("lapsed", START - 60_000);
+
+        assertEquals(List.of("lapsed"), wheel.advance(START));
+    }
+
+    @Test
+    void advance_ShouldCascadeItemsBeyondTheTopLevelSpan() {
+        // 8 x 8 x 8 = 512 tick'lik çark, 2000 tick'e kadar son tarihler
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, START);
+        Random random = new Random(42);
+        long[] deadlines = new long[5000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = START + (long) (random.nextDouble() * 2_000_000);
+            wheel.schedule((long) i, deadlines[i]);
+        }
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = START; now <= START + 2_001_000; now += 3000) {
+            for (Long id : wheel.advance(now)) {
+                long deadline = deadlines[id.intValue()];
+                assertTrue(deadline <= now, "expired early");
+                assertTrue(now - deadline < 4000, "expired late");
+                expired.add(id);
+            }
+        }
+
+        assertEquals(deadlines.length, expired.size());
+        assertEquals(0, wheel.size());
+    }
+}
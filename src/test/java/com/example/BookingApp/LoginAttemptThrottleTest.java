@@ -0,0 +1,108 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.exception.LoginThrottledException;
+import com.example.BookingApp.security.LoginAttemptThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptThrottleTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginAttemptThrottle(redisTemplate, meterRegistry, 5, 50, 900);
+    }
+
+    @Test
+    void checkAllowed_BelowLimits_ShouldPass() {
+        stubCounts("4", "49");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("testuser", "10.0.0.1"));
+    }
+
+    @Test
+    void checkAllowed_WhenUserLimitReached_ShouldThrottleWithWindowAsRetryAfter() {
+        stubCounts("5", null);
+
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                () -> throttle.checkAllowed("testuser", "10.0.0.1"));
+        assertEquals(900, e.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("booking.auth.login.throttled", "scope", "user").count());
+    }
+
+    @Test
+    void checkAllowed_WhenIpLimitReached_ShouldThrottle() {
+        stubCounts(null, "50");
+
+        assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed("otheruser", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.counter("booking.auth.login.throttled", "scope", "ip").count());
+    }
+
+    @Test
+    void checkAllowed_WhenRedisIsUnavailable_ShouldFailOpen() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalStateException("redis down"));
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("testuser", "10.0.0.1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordFailure_ShouldIncrementUserAndIpCountersInOneScript() {
+        throttle.recordFailure("TestUser", "10.0.0.1");
+
+        ArgumentCaptor<RedisSerializer<Long>> resultSerializer = ArgumentCaptor.forClass(RedisSerializer.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), resultSerializer.capture(),
+                eq(List.of("login_attempts:user:testuser", "login_attempts:ip:10.0.0.1")), eq("900"));
+        // The script returns the user counter as an integer
+        assertEquals(3L, resultSerializer.getValue().deserialize("3".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordFailure_WithoutClientIp_ShouldOnlyCountUser() {
+        throttle.recordFailure("testuser", null);
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("login_attempts:user:testuser")), eq("900"));
+    }
+
+    @Test
+    void recordSuccess_ShouldResetUserCounter() {
+        throttle.recordSuccess("TestUser");
+
+        verify(redisTemplate).delete("login_attempts:user:testuser");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCounts(String userCount, String ipCount) {
+        List<byte[]> counts = Arrays.asList(bytes(userCount), bytes(ipCount));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(counts);
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
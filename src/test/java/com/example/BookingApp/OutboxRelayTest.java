@@ -0,0 +1,115 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.entity.OutboxEvent;
+import com.example.BookingApp.entityenums.OutboxEventType;
+import com.example.BookingApp.outbox.OutboxHandler;
+import com.example.BookingApp.outbox.OutboxRelay;
+import com.example.BookingApp.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> handled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void relay_ShouldDeliverBatchAndMarkItProcessedWithOneUpdate() {
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), eq(10), any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L), event(3L)))
+                .thenReturn(List.of());
+
+        relay(handler(null)).relay();
+
+        assertEquals(List.of(1L, 2L, 3L), handled);
+        verify(outboxEventRepository).lease(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, times(1)).markProcessed(eq(List.of(1L, 2L, 3L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any(), any());
+    }
+
+    @Test
+    void relay_WithFailingEvent_ShouldRetryOnlyThatEventLater() {
+        when(outboxEventRepository.lockPending(any(LocalDateTime.class), eq(10), any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay(handler(2L)).relay();
+
+        verify(outboxEventRepository).markProcessed(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markFailed(eq(2L), eq("boom"),
+                argThat(retryAt -> retryAt.isAfter(before.plusSeconds(1))));
+    }
+
+    @Test
+    void deleteProcessedEvents_ShouldAlsoPurgeDeadLettersPastTheirLongerRetention() {
+        LocalDateTime before = LocalDateTime.now();
+
+        relay(handler(null)).deleteProcessedEvents();
+
+        verify(outboxEventRepository).deleteProcessedBefore(argThat(cutoff -> !cutoff.isBefore(before.minusHours(24))
+                && cutoff.isBefore(before.minusHours(23))));
+        verify(outboxEventRepository).deleteDeadLettersBefore(eq(10), argThat(cutoff ->
+                !cutoff.isBefore(before.minusHours(168)) && cutoff.isBefore(before.minusHours(167))));
+    }
+
+    private OutboxRelay relay(OutboxHandler handler) {
+        return new OutboxRelay(outboxEventRepository, transactionManager, List.of(handler), 3, 10, 60_000, 24, 168);
+    }
+
+    private OutboxHandler handler(Long failingId) {
+        return new OutboxHandler() {
+            @Override
+            public Set<OutboxEventType> eventTypes() {
+                return EnumSet.of(OutboxEventType.BOOKING_CONFIRMED);
+            }
+
+            @Override
+            public void handle(OutboxEvent event) {
+                if (event.getId().equals(failingId)) {
+                    throw new IllegalStateException("boom");
+                }
+                handled.add(event.getId());
+            }
+        };
+    }
+
+    private OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType(OutboxEventType.BOOKING_CONFIRMED);
+        event.setAggregateType("Booking");
+        event.setAggregateId(id);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.exception.PasswordHashingBusyException;
+import com.example.BookingApp.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    void tearDown() {
+        if (hashingService != null) {
+            hashingService.shutdown();
+        }
+    }
+
+    @Test
+    void matches_ShouldVerifyOnHashingPool() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        hashingService = new PasswordHashingService(encoder, meterRegistry, 4, 1, 4, 2000);
+
+        String encoded = hashingService.encode("password123");
+
+        assertTrue(hashingService.matches("password123", encoded));
+        assertFalse(hashingService.matches("wrongpassword", encoded));
+    }
+
+    @Test
+    void matches_WhenQueueIsFull_ShouldRejectImmediately() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        hashingService = new PasswordHashingService(blockingEncoder(running, release), meterRegistry, 10, 1, 1, 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+
+        try {
+            // One verification occupies the only worker, the next one fills the queue
+            Future<Boolean> first = callers.submit(() -> hashingService.matches("a", "hash"));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<Boolean> queued = callers.submit(() -> hashingService.matches("b", "hash"));
+            waitForQueueDepth(1);
+
+            long start = System.nanoTime();
+            PasswordHashingBusyException e = assertThrows(PasswordHashingBusyException.class,
+                    () -> hashingService.matches("c", "hash"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+            assertEquals(1, e.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.counter("booking.auth.hashing.rejected",
+                    "operation", "matches", "reason", "queue_full").count());
+
+            release.countDown();
+            assertTrue(first.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void matches_WhenWaitExceedsTimeout_ShouldReject() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        hashingService = new PasswordHashingService(blockingEncoder(running, release), meterRegistry, 10, 1, 4, 100);
+
+        try {
+            assertThrows(PasswordHashingBusyException.class, () -> hashingService.matches("a", "hash"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void needsRehash_ShouldCompareCostWithConfiguredStrength() {
+        hashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry, 12, 1, 4, 2000);
+
+        assertTrue(hashingService.needsRehash(new BCryptPasswordEncoder(4).encode("password123")));
+        assertFalse(hashingService.needsRehash("$2a$12$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234"));
+        assertTrue(hashingService.needsRehash("$2a$14$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234"));
+        assertFalse(hashingService.needsRehash("{noop}plain"));
+        assertFalse(hashingService.needsRehash(null));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("booking.auth.hashing.queue_depth").gauge().value() < depth) {
+            assertTrue(System.currentTimeMillis() < deadline, "verification was not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch running, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                running.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.exception.PaymentGatewayUnavailableException;
+import com.example.BookingApp.payment.CircuitBreaker;
+import com.example.BookingApp.payment.PaymentGateway;
+import com.example.BookingApp.payment.PaymentGatewayClient;
+import com.example.BookingApp.payment.SimulatedPaymentGateway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentGatewayClientTest {
+
+    private static final PaymentGateway.AuthorizationRequest REQUEST = new PaymentGateway.AuthorizationRequest(
+            "PAY1", new BigDecimal("50.00"), "USD", "4111111111111111", "123");
+
+    @Test
+    void hangingGateway_ShouldTimeOutAndThenOpenTheCircuit() {
+        // Her çağrı asılı kalır; 50 ms'de zaman aşımı, 4 çağrıdan sonra devre açılır
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, 0, 0.0, 0.0, 1.0, 60_000);
+        PaymentGatewayClient client = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(), 10, 10, 50,
+                4, 4, 0.5, 60_000);
+        try {
+            for (int i = 0; i < 4; i++) {
+                PaymentGatewayUnavailableException e = assertThrows(PaymentGatewayUnavailableException.class,
+                        () -> client.authorize(REQUEST));
+                assertEquals(PaymentGatewayClient.TIMEOUT, e.getReason());
+            }
+
+            long start = System.nanoTime();
+            PaymentGatewayUnavailableException e = assertThrows(PaymentGatewayUnavailableException.class,
+                    () -> client.authorize(REQUEST));
+            assertEquals(PaymentGatewayClient.CIRCUIT_OPEN, e.getReason());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 50);
+            assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void saturatedBulkhead_ShouldRejectExtraCallersQuickly() throws InterruptedException {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(500, 500, 500, 0.0, 0.0, 0.0, 0);
+        PaymentGatewayClient client = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(), 2, 10, 5_000,
+                20, 10, 0.5, 60_000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch done = new CountDownLatch(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                callers.submit(() -> {
+                    client.authorize(REQUEST);
+                    done.countDown();
+                });
+            }
+            Thread.sleep(100);
+
+            PaymentGatewayUnavailableException e = assertThrows(PaymentGatewayUnavailableException.class,
+                    () -> client.authorize(REQUEST));
+            assertEquals(PaymentGatewayClient.BULKHEAD_FULL, e.getReason());
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            // Bulkhead reddi sağlayıcı hatası sayılmaz
+            assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+        } finally {
+            callers.shutdownNow();
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void circuitBreaker_ShouldAllowSingleProbeAfterOpenPeriodAndCloseOnSuccess() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, 1_000, now::get);
+
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+
+        now.set(1_000);
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.audit.AuditLogger;
+import com.example.BookingApp.dto.event.PaymentDto;
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.entity.Booking;
+import com.example.BookingApp.entity.Payment;
+import com.example.BookingApp.entity.User;
+import com.example.BookingApp.entityenums.BookingStatus;
+import com.example.BookingApp.entityenums.PaymentMethod;
+import com.example.BookingApp.entityenums.PaymentStatus;
+import com.example.BookingApp.entityenums.Role;
+import com.example.BookingApp.exception.BookingException;
+import com.example.BookingApp.outbox.OutboxService;
+import com.example.BookingApp.payment.PaymentGateway;
+import com.example.BookingApp.payment.PaymentGatewayClient;
+import com.example.BookingApp.payment.SimulatedPaymentGateway;
+import com.example.BookingApp.repository.BookingRepository;
+import com.example.BookingApp.repository.PaymentRepository;
+import com.example.BookingApp.service.BookingService;
+import com.example.BookingApp.service.PaymentService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PaymentServiceTest {
+
+    private static final int CHECKOUTS = 200;
+    private static final long GATEWAY_LATENCY_MS = 300;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private AuditLogger auditLogger;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Payment> payments = new ConcurrentHashMap<>();
+    private final AtomicLong paymentIds = new AtomicLong();
+    // En uzun transaction süresi; sağlayıcı gecikmesi transaction içinde olsaydı bunu aşardı
+    private final AtomicLong longestTransactionNanos = new AtomicLong();
+    private final ThreadLocal<Long> transactionStart = new ThreadLocal<>();
+
+    private ExecutorService gatewayExecutor;
+    private PaymentGatewayClient gatewayClient;
+    private PaymentService paymentService;
+    private final UserResponse currentUser = new UserResponse(1L, "buyer", "buyer@example.com", Role.USER, true);
+
+    @BeforeEach
+    void setUp() {
+        gatewayExecutor = Executors.newFixedThreadPool(CHECKOUTS);
+        // Sabit 300 ms gecikmeli, %10 ret veren simülatör
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(GATEWAY_LATENCY_MS, GATEWAY_LATENCY_MS,
+                GATEWAY_LATENCY_MS, 0.1, 0.0, 0.0, 0);
+        gatewayClient = new PaymentGatewayClient(gateway, new SimpleMeterRegistry(), CHECKOUTS, 100, 5_000,
+                20, 10, 0.5, 30_000);
+        paymentService = new PaymentService(paymentRepository, bookingRepository, bookingService, outboxService,
+                auditLogger, transactionManager, gatewayExecutor, gatewayClient, 300_000);
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactionStart.set(System.nanoTime());
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            longestTransactionNanos.accumulateAndGet(System.nanoTime() - transactionStart.get(), Math::max);
+            return null;
+        }).when(transactionManager).commit(any());
+
+        User user = new User();
+        user.setId(1L);
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> {
+            Booking booking = new Booking();
+            booking.setId(invocation.getArgument(0));
+            booking.setUser(user);
+            booking.setStatus(BookingStatus.RESERVED);
+            booking.setReservedUntil(LocalDateTime.now().plusMinutes(15));
+            booking.setTotalAmount(new BigDecimal("50.00"));
+            return Optional.of(booking);
+        });
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            Payment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(paymentIds.incrementAndGet());
+            }
+            payments.put(payment.getId(), payment);
+            return payment;
+        });
+        when(paymentRepository.findByIdForUpdate(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(payments.get(invocation.<Long>getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        gatewayExecutor.shutdownNow();
+        gatewayClient.shutdown();
+    }
+
+    @Test
+    void processPayment_UnderConcurrentCheckouts_ShouldNotHoldTransactionsDuringGatewayCalls() throws Exception {
+        ExecutorService requestThreads = Executors.newFixedThreadPool(50);
+        List<Future<PaymentDto>> accepted = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (long bookingId = 1; bookingId <= CHECKOUTS; bookingId++) {
+            PaymentDto request = request(bookingId);
+            accepted.add(requestThreads.submit(() -> paymentService.processPayment(request, currentUser)));
+        }
+        for (Future<PaymentDto> future : accepted) {
+            assertEquals(PaymentStatus.PENDING, future.get(10, TimeUnit.SECONDS).getStatus());
+        }
+        long acceptMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        requestThreads.shutdown();
+
+        gatewayExecutor.shutdown();
+        assertTrue(gatewayExecutor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // 200 ödeme x 300 ms sıralı işlense dakikalar sürerdi; istekler sağlayıcıyı beklemeden döner
+        assertTrue(acceptMillis < CHECKOUTS * GATEWAY_LATENCY_MS / 10, "accepted in " + acceptMillis + " ms");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(longestTransactionNanos.get()) < GATEWAY_LATENCY_MS,
+                "longest transaction " + TimeUnit.NANOSECONDS.toMillis(longestTransactionNanos.get()) + " ms");
+
+        long completed = payments.values().stream().filter(p -> p.getStatus() == PaymentStatus.COMPLETED).count();
+        long failed = payments.values().stream().filter(p -> p.getStatus() == PaymentStatus.FAILED).count();
+        assertEquals(CHECKOUTS, completed + failed);
+        verify(bookingService, times((int) completed)).confirmBooking(anyLong(), eq(1L));
+        verify(outboxService, times(CHECKOUTS)).publishPaymentEvent(any(), any(Payment.class));
+    }
+
+    @Test
+    void processPayment_WithFullGatewayQueue_ShouldFailImmediately() {
+        paymentService = new PaymentService(paymentRepository, bookingRepository, bookingService, outboxService,
+                auditLogger, transactionManager, task -> {
+                    throw new java.util.concurrent.RejectedExecutionException("full");
+                }, gatewayClient, 300_000);
+
+        PaymentDto result = paymentService.processPayment(request(1L), currentUser);
+
+        assertEquals(PaymentStatus.FAILED, result.getStatus());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void refundPayment_WhileAnotherRefundIsAtTheGateway_ShouldRejectTheSecondWithoutCallingGateway() {
+        Payment payment = completedPayment(7L);
+        PaymentGatewayClient refundingClient = mock(PaymentGatewayClient.class);
+        PaymentService service = serviceWith(refundingClient);
+        when(refundingClient.refund(any())).thenAnswer(invocation -> {
+            assertEquals(PaymentStatus.REFUND_PENDING, payment.getStatus());
+            RuntimeException e = assertThrows(RuntimeException.class, () -> service.refundPayment(7L, currentUser));
+            assertEquals("Only completed payments can be refunded", e.getMessage());
+            return PaymentGateway.GatewayResult.approved("tx-7", "REFUND_SUCCESS");
+        });
+
+        PaymentDto refunded = service.refundPayment(7L, currentUser);
+
+        assertEquals(PaymentStatus.REFUNDED, refunded.getStatus());
+        verify(refundingClient, times(1)).refund(any());
+        verify(bookingService).cancelBooking(payment.getBooking().getId(), 1L);
+    }
+
+    @Test
+    void refundPayment_WhenGatewayDeclines_ShouldReturnPaymentToCompleted() {
+        Payment payment = completedPayment(7L);
+        PaymentGatewayClient decliningClient = mock(PaymentGatewayClient.class);
+        when(decliningClient.refund(any())).thenReturn(PaymentGateway.GatewayResult.declined("REFUND_DECLINED"));
+
+        assertThrows(RuntimeException.class, () -> serviceWith(decliningClient).refundPayment(7L, currentUser));
+
+        assertEquals(PaymentStatus.COMPLETED, payment.getStatus());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void refundPayment_WhenBookingCannotBeCancelled_ShouldStillRecordTheRefund() {
+        Payment payment = completedPayment(7L);
+        PaymentGatewayClient refundingClient = mock(PaymentGatewayClient.class);
+        when(refundingClient.refund(any())).thenReturn(PaymentGateway.GatewayResult.approved("tx-7", "REFUND_SUCCESS"));
+        doThrow(new BookingException("Booking is already cancelled"))
+                .when(bookingService).cancelBooking(payment.getBooking().getId(), 1L);
+
+        PaymentDto refunded = serviceWith(refundingClient).refundPayment(7L, currentUser);
+
+        assertEquals(PaymentStatus.REFUNDED, refunded.getStatus());
+        verify(outboxService).publishPaymentEvent(any(), eq(payment));
+    }
+
+    @Test
+    void processPayment_WhenBookingCannotBeConfirmed_ShouldReleaseTheAuthorization() {
+        PaymentGatewayClient approvingClient = mock(PaymentGatewayClient.class);
+        when(approvingClient.authorize(any())).thenReturn(PaymentGateway.GatewayResult.approved("tx-1", "SUCCESS"));
+        when(approvingClient.refund(any())).thenReturn(PaymentGateway.GatewayResult.approved("tx-1", "REFUND_SUCCESS"));
+        doThrow(new BookingException("Reservation has expired")).when(bookingService).confirmBooking(anyLong(), anyLong());
+        PaymentService service = new PaymentService(paymentRepository, bookingRepository, bookingService,
+                outboxService, auditLogger, transactionManager, Runnable::run, approvingClient, 300_000);
+
+        service.processPayment(request(1L), currentUser);
+
+        Payment payment = payments.values().iterator().next();
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals("BOOKING_NOT_CONFIRMABLE", payment.getGatewayResponse());
+        verify(approvingClient).refund(new PaymentGateway.RefundRequest(payment.getPaymentReference(), "tx-1",
+                payment.getAmount()));
+    }
+
+    @Test
+    void processPayment_WhenApprovalArrivesAfterTimeoutSweep_ShouldReleaseTheAuthorization() {
+        PaymentGatewayClient approvingClient = mock(PaymentGatewayClient.class);
+        when(approvingClient.authorize(any())).thenReturn(PaymentGateway.GatewayResult.approved("tx-1", "SUCCESS"));
+        when(approvingClient.refund(any())).thenReturn(PaymentGateway.GatewayResult.approved("tx-1", "REFUND_SUCCESS"));
+        List<Runnable> queued = new ArrayList<>();
+        PaymentService service = new PaymentService(paymentRepository, bookingRepository, bookingService,
+                outboxService, auditLogger, transactionManager, queued::add, approvingClient, 0);
+
+        service.processPayment(request(1L), currentUser);
+        when(paymentRepository.findExpiredPayments(eq(PaymentStatus.PENDING), any()))
+                .thenReturn(List.copyOf(payments.values()));
+        service.failStalePendingPayments();
+        queued.forEach(Runnable::run);
+
+        Payment payment = payments.values().iterator().next();
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        assertEquals(PaymentGatewayClient.TIMEOUT, payment.getGatewayResponse());
+        verifyNoInteractions(bookingService);
+        verify(approvingClient).refund(any());
+    }
+
+    private PaymentService serviceWith(PaymentGatewayClient client) {
+        return new PaymentService(paymentRepository, bookingRepository, bookingService, outboxService,
+                auditLogger, transactionManager, gatewayExecutor, client, 300_000);
+    }
+
+    private Payment completedPayment(Long id) {
+        User user = new User();
+        user.setId(1L);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setUser(user);
+        booking.setStatus(BookingStatus.CONFIRMED);
+
+        Payment payment = new Payment();
+        payment.setId(id);
+        payment.setBooking(booking);
+        payment.setPaymentReference("PAY" + id);
+        payment.setTransactionId("tx-" + id);
+        payment.setAmount(new BigDecimal("50.0"));
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payments.put(id, payment);
+        return payment;
+    }
+
+    private PaymentDto request(Long bookingId) {
+        PaymentDto request = new PaymentDto();
+        request.setBookingId(bookingId);
+        request.setAmount(new BigDecimal("50.0"));
+        request.setPaymentMethod(PaymentMethod.values()[0]);
+        request.setCardNumber("4111111111111111");
+        request.setCvv("123");
+        return request;
+    }
+}
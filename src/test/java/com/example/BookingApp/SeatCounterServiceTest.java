@@ -0,0 +1,161 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.cache.SeatMapCache;
+import com.example.BookingApp.entity.Event;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.repository.EventRepository;
+import com.example.BookingApp.repository.SeatRepository;
+import com.example.BookingApp.repository.projection.SeatStatusCount;
+import com.example.BookingApp.service.SeatCounterService;
+import com.example.BookingApp.service.SeatCounterService.SeatCounterDrift;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatCounterServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatMapCache seatMapCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatCounterService seatCounterService;
+
+    @BeforeEach
+    void setUp() {
+        seatCounterService = new SeatCounterService(eventRepository, seatRepository, seatInventoryService,
+                seatMapCache, transactionManager);
+    }
+
+    @Test
+    void recordTransition_ShouldMoveOneSeatBetweenCountersAndPatchSeatMap() {
+        seatCounterService.recordTransition(1L, 10L, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+
+        verify(eventRepository).adjustSeatCounters(1L, -1, 1, 0);
+        verify(seatMapCache).seatsChanged(1L, List.of(10L), SeatStatus.RESERVED);
+    }
+
+    @Test
+    void recordTransitions_ToSameStatus_ShouldNotTouchCountersOrSeatMap() {
+        seatCounterService.recordTransitions(1L, List.of(10L, 11L), SeatStatus.BOOKED, SeatStatus.BOOKED);
+
+        verifyNoInteractions(eventRepository, seatMapCache);
+    }
+
+    @Test
+    void recordTransitions_ForNewSeats_ShouldReloadSeatMap() {
+        seatCounterService.recordTransitions(1L, List.of(10L, 11L), null, SeatStatus.AVAILABLE);
+
+        verify(eventRepository).adjustSeatCounters(1L, 2, 0, 0);
+        verify(seatMapCache).eventSeatsChanged(1L);
+        verify(seatMapCache, never()).seatsChanged(any(), any(), any());
+    }
+
+    @Test
+    void recordTransitions_WithOnlyACount_ShouldReloadSeatMap() {
+        seatCounterService.recordTransitions(1L, SeatStatus.RESERVED, SeatStatus.AVAILABLE, 3);
+
+        verify(eventRepository).adjustSeatCounters(1L, 3, -3, 0);
+        verify(seatMapCache).eventSeatsChanged(1L);
+    }
+
+    @Test
+    void reconcile_ShouldRepairOnlyDriftedEventsFromTableCounts() {
+        Event inSync = event(1L, 40, 5, 15);
+        Event drifted = event(2L, 10, 3, 0);
+        when(eventRepository.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(inSync, drifted), invocation.getArgument(0), 2));
+        when(seatRepository.countByEventIdsGroupedByStatus(List.of(1L, 2L))).thenReturn(List.of(
+                count(1L, SeatStatus.AVAILABLE, 40),
+                count(1L, SeatStatus.RESERVED, 5),
+                count(1L, SeatStatus.BOOKED, 15),
+                count(2L, SeatStatus.AVAILABLE, 12),
+                count(2L, SeatStatus.BOOKED, 1)));
+        when(eventRepository.replaceSeatCounters(2L, 12, 0, 1, 10, 3, 0)).thenReturn(1);
+
+        List<SeatCounterDrift> drifts = seatCounterService.reconcile();
+
+        assertEquals(List.of(new SeatCounterDrift(2L, 2, -3, 1)), drifts);
+        verify(eventRepository, never()).replaceSeatCounters(eq(1L), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong());
+        verify(seatInventoryService, never()).flushDirtySeats();
+    }
+
+    @Test
+    void reconcile_WhenCountersChangeConcurrently_ShouldSkipEventWithoutReportingDrift() {
+        Event event = event(1L, 10, 0, 0);
+        when(eventRepository.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(event), invocation.getArgument(0), 1));
+        when(seatRepository.countByEventIdsGroupedByStatus(List.of(1L)))
+                .thenReturn(List.of(count(1L, SeatStatus.AVAILABLE, 9), count(1L, SeatStatus.RESERVED, 1)));
+        // A booking moved the counters between the read and the conditional update
+        when(eventRepository.replaceSeatCounters(1L, 9, 1, 0, 10, 0, 0)).thenReturn(0);
+
+        assertTrue(seatCounterService.reconcile().isEmpty());
+    }
+
+    @Test
+    void reconcile_WithInventoryEnabled_ShouldFlushWrittenBehindSeatsBeforeCounting() {
+        when(seatInventoryService.isEnabled()).thenReturn(true);
+        when(eventRepository.findAll(any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(event(1L, 0, 0, 0)), invocation.getArgument(0), 1));
+
+        seatCounterService.reconcile();
+
+        InOrder inOrder = inOrder(seatInventoryService, seatRepository);
+        inOrder.verify(seatInventoryService).flushDirtySeats();
+        inOrder.verify(seatRepository).countByEventIdsGroupedByStatus(List.of(1L));
+    }
+
+    private static Event event(Long id, long available, long reserved, long booked) {
+        Event event = new Event();
+        event.setId(id);
+        event.setAvailableSeatCount(available);
+        event.setReservedSeatCount(reserved);
+        event.setBookedSeatCount(booked);
+        return event;
+    }
+
+    private static SeatStatusCount count(Long eventId, SeatStatus status, long seatCount) {
+        return new SeatStatusCount() {
+            @Override
+            public Long getEventId() {
+                return eventId;
+            }
+
+            @Override
+            public SeatStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getSeatCount() {
+                return seatCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+import com.example.BookingApp.inventory.SeatInventory;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.repository.SeatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatInventoryServiceTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatMapper seatMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatInventoryService seatInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        seatInventoryService = new SeatInventoryService(seatRepository, seatMapper, transactionManager, true);
+        when(seatMapper.toResponseList(any())).thenReturn(List.of(seat(10L), seat(11L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void getCommittedSeats_ShouldHideReservationUntilItsTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        seatInventoryService.tryReserve(EVENT_ID, 10L);
+
+        assertEquals(SeatStatus.RESERVED, seatInventoryService.findSeat(EVENT_ID, 10L).orElseThrow().status());
+        assertEquals(SeatStatus.AVAILABLE, committedStatus(10L));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(SeatStatus.RESERVED, committedStatus(10L));
+    }
+
+    @Test
+    void getCommittedSeats_AfterRollback_ShouldNeverHaveShownReservation() {
+        TransactionSynchronizationManager.initSynchronization();
+        seatInventoryService.apply(EVENT_ID, 11L, SeatStatus.BOOKED);
+        assertEquals(SeatStatus.AVAILABLE, committedStatus(11L));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(SeatStatus.AVAILABLE, seatInventoryService.findSeat(EVENT_ID, 11L).orElseThrow().status());
+        assertEquals(SeatStatus.AVAILABLE, committedStatus(11L));
+    }
+
+    @Test
+    void evict_ShouldWriteClaimsAndReloadOnNextRead() {
+        assertEquals(SeatInventory.ClaimResult.CLAIMED, seatInventoryService.tryReserve(EVENT_ID, 10L));
+
+        seatInventoryService.evict(EVENT_ID);
+
+        verify(seatRepository).updateSeatStatusIn(List.of(10L), SeatStatus.RESERVED);
+        seatInventoryService.getAvailableSeats(EVENT_ID);
+        verify(seatRepository, times(2)).findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(EVENT_ID);
+    }
+
+    @Test
+    void evict_WhenWriteFails_ShouldRetryOnScheduledFlushWithoutServingEvictedInventory() {
+        seatInventoryService.tryReserve(EVENT_ID, 10L);
+        when(seatRepository.updateSeatStatusIn(anyCollection(), any(SeatStatus.class)))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        seatInventoryService.evict(EVENT_ID);
+        seatInventoryService.flushDirtySeats();
+        seatInventoryService.flushDirtySeats();
+
+        // One failed write, one retry from the retired inventory, nothing afterwards
+        verify(seatRepository, times(2)).updateSeatStatusIn(List.of(10L), SeatStatus.RESERVED);
+        // The retired inventory no longer answers reads; the seat map is loaded again
+        assertEquals(SeatStatus.AVAILABLE, seatInventoryService.findSeat(EVENT_ID, 10L).orElseThrow().status());
+    }
+
+    private SeatStatus committedStatus(Long seatId) {
+        return seatInventoryService.getCommittedSeats(EVENT_ID).stream()
+                .filter(seat -> seat.id().equals(seatId))
+                .findFirst().orElseThrow().status();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static SeatResponse seat(Long id) {
+        return new SeatResponse(id, EVENT_ID, String.valueOf(id), "R1", "GENERAL", SeatType.STANDARD,
+                SeatStatus.AVAILABLE, new BigDecimal("50.00"), id.intValue(), 1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+import com.example.BookingApp.inventory.SeatInventory;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatInventoryTest {
+
+    private static final int STADIUM_SEATS = 50_000;
+
+    @Test
+    void transition_WithConcurrentClaims_ShouldLetExactlyOneWin() throws InterruptedException {
+        SeatInventory inventory = SeatInventory.of(1L, seats(STADIUM_SEATS));
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5000);
+        AtomicInteger winners = new AtomicInteger();
+
+        for (int i = 0; i < 5000; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    if (inventory.transition(777L, SeatStatus.AVAILABLE, SeatStatus.RESERVED)
+                            == SeatInventory.ClaimResult.CLAIMED) {
+                        winners.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        executor.shutdownNow();
+
+        assertEquals(1, winners.get());
+        assertEquals(SeatStatus.RESERVED, inventory.statusOf(777L));
+        assertEquals(STADIUM_SEATS - 1, inventory.count(SeatStatus.AVAILABLE));
+        assertEquals(1, inventory.count(SeatStatus.RESERVED));
+    }
+
+    @Test
+    void transition_WithUnknownSeat_ShouldReportUnknown() {
+        SeatInventory inventory = SeatInventory.of(1L, seats(10));
+
+        assertEquals(SeatInventory.ClaimResult.UNKNOWN_SEAT,
+                inventory.transition(99L, SeatStatus.AVAILABLE, SeatStatus.RESERVED));
+    }
+
+    @Test
+    void drainDirty_ShouldGroupChangedSeatsByCurrentStatusOnce() {
+        SeatInventory inventory = SeatInventory.of(1L, seats(200));
+
+        inventory.transition(5L, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        inventory.transition(130L, SeatStatus.AVAILABLE, SeatStatus.RESERVED);
+        inventory.apply(130L, SeatStatus.BOOKED);
+
+        Map<SeatStatus, List<Long>> changes = inventory.drainDirty();
+
+        assertEquals(List.of(5L), changes.get(SeatStatus.RESERVED));
+        assertEquals(List.of(130L), changes.get(SeatStatus.BOOKED));
+        assertTrue(inventory.drainDirty().isEmpty());
+        assertFalse(inventory.isAvailable(130L));
+        assertEquals(198, inventory.seatsWithStatus(SeatStatus.AVAILABLE).size());
+    }
+
+    private List<SeatResponse> seats(int count) {
+        List<SeatResponse> seats = new ArrayList<>(count);
+        for (long id = count; id >= 1; id--) {
+            seats.add(new SeatResponse(id, 1L, String.valueOf(id), "A", "GENERAL", SeatType.STANDARD,
+                    SeatStatus.AVAILABLE, new BigDecimal("10.00"), 0, 0));
+        }
+        return seats;
+    }
+}
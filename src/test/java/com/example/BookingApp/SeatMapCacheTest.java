@@ -0,0 +1,129 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.cache.SeatMapCache;
+import com.example.BookingApp.codec.CompactRedisSerializer;
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+import com.example.BookingApp.inventory.SeatInventoryService;
+import com.example.BookingApp.mapper.SeatMapper;
+import com.example.BookingApp.repository.SeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SeatMapCacheTest {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private CompactRedisSerializer layoutSerializer;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatMapper seatMapper;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    private SeatMapCache seatMapCache;
+
+    @BeforeEach
+    void setUp() {
+        seatMapCache = new SeatMapCache(redisTemplate, listenerContainer, layoutSerializer, seatRepository,
+                seatMapper, seatInventoryService, new SimpleMeterRegistry(), 10, 60_000, 1800);
+
+        // Reading the stored map fails, so the map is loaded from the table at version 0 and kept locally
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalStateException("redis down"));
+        when(seatMapper.toResponseList(any())).thenReturn(List.of(seat(10L), seat(11L)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seatsChanged_ShouldRunPatchScriptAndApplyReturnedVersionLocally() {
+        seatMapCache.getSeatMap(EVENT_ID);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(1L);
+
+        seatMapCache.seatsChanged(EVENT_ID, List.of(10L), SeatStatus.RESERVED);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                keys.capture(), args.capture());
+        assertEquals(List.of("seatmap:1", "seatmap:1:version"), keys.getValue());
+        assertArrayEquals(new Object[] {"seatmap:patch", "1", "RESERVED", "604800", "10"}, args.getValue());
+
+        SeatMapResponse seatMap = seatMapCache.getSeatMap(EVENT_ID);
+        assertEquals(1, seatMap.version());
+        assertEquals(SeatStatus.RESERVED, seatMap.seats().get(0).status());
+        assertEquals(SeatStatus.AVAILABLE, seatMap.seats().get(1).status());
+        // The map was patched in place, not reloaded
+        verify(seatRepository, times(1)).findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(EVENT_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seatsChanged_WhenPatchScriptFails_ShouldDropLocalMap() {
+        seatMapCache.getSeatMap(EVENT_ID);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenThrow(new IllegalStateException("redis down"));
+
+        seatMapCache.seatsChanged(EVENT_ID, List.of(10L), SeatStatus.RESERVED);
+        seatMapCache.getSeatMap(EVENT_ID);
+
+        verify(seatRepository, times(2)).findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(EVENT_ID);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventSeatsChanged_ShouldRunInvalidateScriptAndReloadOnNextRead() {
+        seatMapCache.getSeatMap(EVENT_ID);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(1L);
+
+        seatMapCache.eventSeatsChanged(EVENT_ID);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("seatmap:1", "seatmap:1:version")), args.capture());
+        assertArrayEquals(new Object[] {"seatmap:patch", "1", "604800"}, args.getValue());
+
+        seatMapCache.getSeatMap(EVENT_ID);
+        verify(seatRepository, times(2)).findByEventIdOrderBySectionAscRowNumberAscSeatNumberAsc(EVENT_ID);
+    }
+
+    private static SeatResponse seat(Long id) {
+        return new SeatResponse(id, EVENT_ID, String.valueOf(id), "R1", "GENERAL", SeatType.STANDARD,
+                SeatStatus.AVAILABLE, new BigDecimal("50.00"), id.intValue(), 1);
+    }
+}
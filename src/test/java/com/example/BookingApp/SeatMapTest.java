@@ -0,0 +1,67 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.cache.SeatMap;
+import com.example.BookingApp.dto.event.response.SeatMapResponse;
+import com.example.BookingApp.dto.event.response.SeatResponse;
+import com.example.BookingApp.entityenums.SeatStatus;
+import com.example.BookingApp.entityenums.SeatType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    private static final int SEATS = 40_000;
+
+    private SeatMap seatMap;
+
+    @BeforeEach
+    void setUp() {
+        List<SeatResponse> seats = new ArrayList<>(SEATS);
+        for (long id = 1; id <= SEATS; id++) {
+            seats.add(new SeatResponse(id, 1L, String.valueOf(id % 50), "R" + id / 50, "GENERAL",
+                    SeatType.STANDARD, SeatStatus.AVAILABLE, new BigDecimal("50.00"), (int) id % 50, (int) id / 50));
+        }
+        seatMap = SeatMap.of(1L, 7, seats);
+    }
+
+    @Test
+    void patch_ShouldUpdateSeatsInPlaceAndBumpVersion() {
+        SeatMapResponse before = seatMap.snapshot();
+
+        assertEquals(SeatMap.PatchResult.APPLIED, seatMap.patch(8, List.of(10L, 11L), SeatStatus.RESERVED));
+
+        SeatMapResponse after = seatMap.snapshot();
+        assertEquals(8, after.version());
+        assertEquals(SeatStatus.RESERVED, after.seats().get(9).status());
+        assertEquals(SeatStatus.RESERVED, after.seats().get(10).status());
+        assertEquals(SeatStatus.AVAILABLE, after.seats().get(11).status());
+        // Önceki görüntü değişmez
+        assertEquals(7, before.version());
+        assertEquals(SeatStatus.AVAILABLE, before.seats().get(9).status());
+    }
+
+    @Test
+    void patch_WithOldOrSkippedVersion_ShouldNotChangeMap() {
+        assertEquals(SeatMap.PatchResult.STALE, seatMap.patch(7, List.of(10L), SeatStatus.BOOKED));
+        assertEquals(SeatMap.PatchResult.GAP, seatMap.patch(9, List.of(10L), SeatStatus.BOOKED));
+
+        assertEquals(7, seatMap.getVersion());
+        assertEquals(SeatStatus.AVAILABLE, seatMap.snapshot().seats().get(9).status());
+    }
+
+    @Test
+    void snapshot_WithoutChanges_ShouldBeReused() {
+        assertSame(seatMap.snapshot(), seatMap.snapshot());
+
+        seatMap.patch(8, List.of(1L), SeatStatus.BOOKED);
+        SeatMapResponse patched = seatMap.snapshot();
+        assertSame(patched, seatMap.snapshot());
+        assertEquals(SEATS, patched.seats().size());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.codec.CompactRedisSerializer;
+import com.example.BookingApp.dto.user.UserResponse;
+import com.example.BookingApp.entityenums.Role;
+import com.example.BookingApp.util.SessionNearCache;
+import com.example.BookingApp.util.SessionService;
+import com.example.BookingApp.util.SessionTtlRefresher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private SessionNearCache nearCache;
+
+    @Mock
+    private SessionTtlRefresher ttlRefresher;
+
+    private SessionService sessionService;
+
+    private final UserResponse user = new UserResponse(7L, "testuser", "test@example.com", Role.USER, true);
+
+    @BeforeEach
+    void setUp() {
+        sessionService = new SessionService(redisTemplate, nearCache, ttlRefresher, new CompactRedisSerializer(1024));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void touchSession_ShouldReadAndSlideSessionTtlInOneRedisCallAndQueueUserSessionTtl() {
+        when(ttlRefresher.claimRefresh("abc")).thenReturn(true);
+        when(ttlRefresher.getTtlSeconds()).thenReturn(1800L);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("session:abc")), eq("1800"))).thenReturn(user);
+
+        UserResponse result = sessionService.touchSession("abc");
+
+        assertEquals(user, result);
+        // Önceden: GET + EXISTS + GET + EXPIRE + EXPIRE = 5 çağrı
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+        verifyNoMoreInteractions(redisTemplate);
+        // user_session: anahtarı başka bir slot'ta olabilir; betik yerine toplu yazımda kaydırılır
+        verify(ttlRefresher).scheduleRefresh("abc", 7L);
+        verify(nearCache).put("abc", user);
+    }
+
+    @Test
+    void touchSession_WithNearCacheHit_ShouldNotCallRedis() {
+        when(nearCache.get("abc")).thenReturn(user);
+
+        assertEquals(user, sessionService.touchSession("abc"));
+        verifyNoInteractions(redisTemplate);
+        // TTL kaydırması varsa toplu yazıma bırakılır
+        verify(ttlRefresher).requestRefresh("abc", 7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void touchSession_WithRecentRefresh_ShouldReadWithoutSlidingTtl() {
+        when(ttlRefresher.claimRefresh("abc")).thenReturn(false);
+
+        sessionService.touchSession("abc");
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+        verify(redisTemplate).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void invalidateUserSessions_ShouldBroadcastToNearCaches() {
+        sessionService.invalidateUserSessions(7L);
+
+        verify(nearCache).invalidateUser(7L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void touchSession_WithMissingSession_ShouldReturnNull() {
+        when(ttlRefresher.claimRefresh("missing")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any())).thenReturn(null);
+
+        assertNull(sessionService.touchSession("missing"));
+        assertNull(sessionService.touchSession(""));
+        verify(nearCache, never()).put(any(), any());
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+    }
+}
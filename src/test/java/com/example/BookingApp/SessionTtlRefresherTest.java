@@ -0,0 +1,72 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.util.SessionTtlRefresher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SessionTtlRefresherTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private SessionTtlRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new SessionTtlRefresher(redisTemplate, 0.5, 1000, 1000);
+    }
+
+    @Test
+    void ttl_ShouldCoverTimeoutPlusRefreshAndFlushIntervals() {
+        // 30 dk + 15 dk + 1 sn
+        assertEquals(2702, refresher.getTtlSeconds());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requestRefresh_ShouldCoalesceRepeatedTouchesIntoOnePipeline() {
+        for (int i = 0; i < 30; i++) {
+            refresher.requestRefresh("a", 1L);
+            refresher.requestRefresh("b", 2L);
+        }
+        assertEquals(2, refresher.pendingCount());
+
+        refresher.flush();
+        refresher.requestRefresh("a", 1L);
+        refresher.flush();
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertEquals(0, refresher.pendingCount());
+    }
+
+    @Test
+    void scheduleRefresh_AfterClaim_ShouldQueueTheSessionForTheNextPipeline() {
+        assertTrue(refresher.claimRefresh("a"));
+        refresher.requestRefresh("a", 1L);
+        assertEquals(0, refresher.pendingCount());
+
+        refresher.scheduleRefresh("a", 1L);
+
+        assertEquals(1, refresher.pendingCount());
+    }
+
+    @Test
+    void forget_ShouldAllowImmediateRefreshAfterLogin() {
+        assertTrue(refresher.claimRefresh("a"));
+        assertFalse(refresher.claimRefresh("a"));
+
+        refresher.forget("a");
+
+        assertTrue(refresher.claimRefresh("a"));
+    }
+}
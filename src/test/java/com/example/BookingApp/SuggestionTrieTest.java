@@ -0,0 +1,42 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.search.SuggestionTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+            new SuggestionTrie.Entry("Rock Konseri", 1.5),
+            new SuggestionTrie.Entry("Rock'n Roll Gecesi", 3.0),
+            new SuggestionTrie.Entry("Konya Halk Müziği", 0.5),
+            new SuggestionTrie.Entry("İstanbul Rock Festivali", 2.0)), 10);
+
+    @Test
+    void suggest_ShouldOrderMatchesByWeight() {
+        assertEquals(List.of("Rock'n Roll Gecesi", "İstanbul Rock Festivali", "Rock Konseri"),
+                trie.suggest("ro", 5));
+    }
+
+    @Test
+    void suggest_ShouldMatchFromAnyWordStartAndFoldCase() {
+        assertEquals(List.of("Rock Konseri", "Konya Halk Müziği"), trie.suggest("KON", 5));
+        assertEquals(List.of("İstanbul Rock Festivali"), trie.suggest("istanbul ro", 5));
+        assertTrue(trie.suggest("onseri", 5).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldKeepOnlyTopKPerPrefix() {
+        List<SuggestionTrie.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(new SuggestionTrie.Entry("Festival " + i, i));
+        }
+        SuggestionTrie small = SuggestionTrie.build(entries, 3);
+
+        assertEquals(List.of("Festival 49", "Festival 48", "Festival 47"), small.suggest("fest", 10));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.cache.TieredCache;
+import com.example.BookingApp.cache.TieredCacheManager;
+import com.example.BookingApp.cache.TieredCacheManager.LocalCacheSpec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TieredCacheManagerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private ConcurrentMapCacheManager remote;
+    private TieredCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager("venues", "seats");
+        cacheManager = new TieredCacheManager(remote,
+                Map.of("venues", new LocalCacheSpec(100, Duration.ofMinutes(5))),
+                redisTemplate, listenerContainer, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getCache_WithoutLocalSpec_ShouldReturnRemoteCacheAsIs() {
+        assertSame(remote.getCache("seats"), cacheManager.getCache("seats"));
+        assertInstanceOf(TieredCache.class, cacheManager.getCache("venues"));
+    }
+
+    @Test
+    void get_AfterFirstRead_ShouldBeServedFromLocalTier() {
+        remote.getCache("venues").put(1L, "Zorlu PSM");
+        Cache venues = cacheManager.getCache("venues");
+
+        assertEquals("Zorlu PSM", venues.get(1L).get());
+        // L2 boşaltılsa da L1 cevap verir
+        remote.getCache("venues").clear();
+        assertEquals("Zorlu PSM", venues.get(1L, String.class));
+    }
+
+    @Test
+    void evict_ShouldDropBothTiersAndPublishToOtherNodes() {
+        Cache venues = cacheManager.getCache("venues");
+        venues.put(1L, "Zorlu PSM");
+
+        venues.evict(1L);
+
+        assertNull(venues.get(1L));
+        assertNull(remote.getCache("venues").get(1L));
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onMessage_FromAnotherNode_ShouldEvictLocalCopyOnly() throws Exception {
+        Cache venues = cacheManager.getCache("venues");
+        venues.put(1L, "Zorlu PSM");
+        remote.getCache("venues").put(1L, "Zorlu PSM Turkcell Sahnesi");
+
+        // Bu düğümün kendi yayını L1'i düşürmemeli
+        cacheManager.onMessage(message(publishedPayload()), null);
+        assertEquals("Zorlu PSM", venues.get(1L).get());
+
+        cacheManager.onMessage(message("other-node|e|venues|1"), null);
+        assertEquals("Zorlu PSM Turkcell Sahnesi", venues.get(1L).get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String publishedPayload() {
+        ArgumentCaptor<RedisCallback<Long>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(callback.capture());
+        RedisConnection connection = mock(RedisConnection.class);
+        callback.getValue().doInRedis(connection);
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(any(byte[].class), payload.capture());
+        return RedisSerializer.string().deserialize(payload.getValue());
+    }
+
+    private static DefaultMessage message(String payload) {
+        RedisSerializer<String> string = RedisSerializer.string();
+        return new DefaultMessage(string.serialize("cache:invalidate"), string.serialize(payload));
+    }
+}
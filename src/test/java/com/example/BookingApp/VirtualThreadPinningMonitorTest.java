@@ -0,0 +1,71 @@
+package com.example.BookingApp;
+
+import com.example.BookingApp.concurrency.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pinningMonitor = new VirtualThreadPinningMonitor(meterRegistry, 10);
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    void onPinned_ShouldRecordPinningTaggedWithApplicationFrame() throws Exception {
+        String frame = VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor";
+
+        // JFR flushes the stream about once a second; keep pinning until an event comes through
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        Timer pinned = null;
+        while (pinned == null && System.nanoTime() < deadline) {
+            Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+            Thread.sleep(200);
+            pinned = meterRegistry.find("booking.threads.virtual.pinned").tag("frame", frame).timer();
+        }
+
+        assertNotNull(pinned, "no pinning recorded for " + frame);
+        assertTrue(pinned.totalTime(TimeUnit.MILLISECONDS) >= 10);
+    }
+
+    @Test
+    void onPinned_BelowThreshold_ShouldNotRecord() throws Exception {
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                Thread.yield();
+            }
+        }).join();
+        Thread.sleep(2_000);
+
+        assertNull(meterRegistry.find("booking.threads.virtual.pinned").timer());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                // Blocking inside synchronized keeps the carrier thread pinned on JDK 21
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}